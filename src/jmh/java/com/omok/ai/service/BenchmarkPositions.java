@@ -0,0 +1,148 @@
+package com.omok.ai.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 벤치마크용 고정 국면 모음
+ * 엔진끼리 둔 실제 대국에서 중반 국면을 추출한 것 (X: 흑, O: 백, 모두 백 차례)
+ */
+final class BenchmarkPositions {
+
+    static final int BOARD_SIZE = 15;
+
+    private static final Map<String, String[]> POSITIONS = new LinkedHashMap<>();
+
+    static {
+        POSITIONS.put("opening", new String[]{
+                "...............",
+                "...............",
+                "...............",
+                "...............",
+                ".........X.....",
+                ".......X.......",
+                "....O.XXO.O....",
+                ".......XXO.....",
+                ".......OO......",
+                ".......X.......",
+                "...............",
+                "...............",
+                "...............",
+                "...............",
+                "..............."
+        });
+        POSITIONS.put("early", new String[]{
+                "...............",
+                "...............",
+                "...............",
+                ".......O.......",
+                ".....XO.XX..X..",
+                ".....X.X...O...",
+                "....O.XXO.O....",
+                ".....O.XXO.....",
+                "......XOOO.....",
+                ".......X.......",
+                "...............",
+                "...............",
+                "...............",
+                "...............",
+                "..............."
+        });
+        POSITIONS.put("middle-a", new String[]{
+                "...............",
+                "...............",
+                "...............",
+                ".....O.........",
+                "......XO.......",
+                ".......X.......",
+                "......XXXO.....",
+                ".....X.XOX.....",
+                "....X.OXO.O....",
+                ".......OO......",
+                "........O......",
+                "........XO.....",
+                "..........X....",
+                "...............",
+                "..............."
+        });
+        POSITIONS.put("middle-b", new String[]{
+                "...............",
+                "...............",
+                "..........O....",
+                ".......O.X.....",
+                ".....XO.XXXOX..",
+                ".....XOXX..O...",
+                "....O.XXO.O....",
+                ".....O.XXO.....",
+                "......XOOOOX...",
+                ".......X...O...",
+                "............X..",
+                "...............",
+                "...............",
+                "...............",
+                "..............."
+        });
+        POSITIONS.put("middle-c", new String[]{
+                "...............",
+                "...............",
+                "...............",
+                "...............",
+                ".........XO....",
+                ".........X.....",
+                "..X...XOXO.....",
+                "...O.O.XO......",
+                "....OXXXOX.....",
+                "...OXOOX.X.....",
+                "..OO..OOX......",
+                ".X.....X.X.....",
+                "..........O....",
+                "...............",
+                "..............."
+        });
+        POSITIONS.put("late", new String[]{
+                "...............",
+                ".........O.....",
+                "........XXO....",
+                "...O...O.XO....",
+                "....XXO.XXXOX..",
+                ".....XOXXO.O...",
+                "....O.XXOXOX...",
+                ".....OOXXOO....",
+                "......XOOOOX...",
+                ".......X..XO...",
+                "............X..",
+                "...............",
+                "...............",
+                "...............",
+                "..............."
+        });
+    }
+
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * 국면 이름 목록 (@Param 값과 일치해야 함)
+     */
+    static String[] names() {
+        return POSITIONS.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * 국면을 새 보드 배열로 변환 (0: 빈칸, 1: 흑, 2: 백)
+     */
+    static int[][] board(String name) {
+        String[] rows = POSITIONS.get(name);
+        if (rows == null) {
+            throw new IllegalArgumentException("Unknown position: " + name);
+        }
+        int[][] board = new int[BOARD_SIZE][BOARD_SIZE];
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                char c = rows[i].charAt(j);
+                board[i][j] = c == 'X' ? 1 : c == 'O' ? 2 : 0;
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,43 @@
+package com.omok.ai.service;
+
+import com.omok.ai.metrics.AISearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 난이도별 getNextMove 전체 탐색 시간 벤치마크
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GetNextMoveBenchmark {
+
+    @Param({"0", "1", "2", "3"})
+    public int difficulty;
+
+    @Param({"opening", "middle-b", "late"})
+    public String position;
+
+    private OmokAIService aiService;
+    private int[][] board;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // 부하 조절이 측정에 끼어들지 않도록 한도를 사실상 무제한으로 설정
+        aiService = new OmokAIService(new AISearchMetrics(registry),
+                new AILoadGovernor(registry, Integer.MAX_VALUE, Integer.MAX_VALUE, 10_000), SolvedPositionStore.disabled(), false);
+        board = BenchmarkPositions.board(position);
+    }
+
+    @Benchmark
+    public int[] getNextMove() {
+        // 탐색 중 보드를 임시로 수정하지만 반환 전에 원상 복구됨
+        return aiService.getNextMove(board, 2, difficulty);
+    }
+}
@@ -0,0 +1,51 @@
+package com.omok.ai.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashedWheelTimer 등록/취소 벤치마크
+ *
+ * 방마다 차례 시계 하나를 걸어 둔 상태(rooms개)에서, 수를 둘 때처럼 임의의 방 시계를
+ * 취소하고 새로 거는 비용을 잰다. 등록/취소가 O(1)이면 rooms가 커져도 처리량이 거의 같아야 한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashedWheelTimerBenchmark {
+
+    @Param({"1000", "50000"})
+    public int rooms;
+
+    private HashedWheelTimer timer;
+    private HashedWheelTimer.Timeout[] clocks;
+    private final Runnable noop = () -> {};
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        timer = new HashedWheelTimer(100, 512, 1);
+        clocks = new HashedWheelTimer.Timeout[rooms];
+        for (int i = 0; i < rooms; i++) {
+            clocks[i] = timer.schedule(noop, 120, TimeUnit.SECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean rescheduleTurnClock() {
+        int room = ThreadLocalRandom.current().nextInt(rooms);
+        HashedWheelTimer.Timeout previous = clocks[room];
+        clocks[room] = timer.schedule(noop, 120, TimeUnit.SECONDS);
+        return previous.cancel();
+    }
+}
@@ -0,0 +1,77 @@
+package com.omok.ai.service;
+
+import com.omok.ai.metrics.AISearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OmokAIService 핫패스 벤치마크 (국면별 평가/후보 생성/승리 판정)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OmokAIServiceBenchmark {
+
+    @Param({"opening", "early", "middle-a", "middle-b", "middle-c", "late"})
+    public String position;
+
+    @Param({"false", "true"})
+    public boolean vectorEval;
+
+    private OmokAIService aiService;
+    private int[][] board;
+    private int probeRow;
+    private int probeCol;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        aiService = newService(registry, vectorEval);
+        board = BenchmarkPositions.board(position);
+
+        // 벡터 커널은 스칼라 경로와 같은 점수를 내야 비교가 의미 있음
+        if (vectorEval) {
+            OmokAIService scalar = newService(registry, false);
+            for (int player = 1; player <= 2; player++) {
+                int expected = scalar.evaluateBoard(board, player);
+                int actual = aiService.evaluateBoard(board, player);
+                if (expected != actual) {
+                    throw new IllegalStateException("Vector evaluation mismatch on " + position
+                            + ": scalar=" + expected + ", vector=" + actual);
+                }
+            }
+        }
+        // 승리 판정은 후보 중 첫 번째 빈칸에 백을 둔다고 가정하고 측정
+        int[] probe = aiService.getCandidateMoves(board).get(0);
+        probeRow = probe[0];
+        probeCol = probe[1];
+    }
+
+    private static OmokAIService newService(SimpleMeterRegistry registry, boolean vectorEval) {
+        // 부하 조절이 측정에 끼어들지 않도록 한도를 사실상 무제한으로 설정
+        return new OmokAIService(new AISearchMetrics(registry),
+                new AILoadGovernor(registry, Integer.MAX_VALUE, Integer.MAX_VALUE, 10_000),
+                SolvedPositionStore.disabled(), vectorEval);
+    }
+
+    @Benchmark
+    public int evaluateBoard() {
+        return aiService.evaluateBoard(board, 2);
+    }
+
+    @Benchmark
+    public List<int[]> getCandidateMoves() {
+        return aiService.getCandidateMoves(board);
+    }
+
+    @Benchmark
+    public boolean checkWinWithMove() {
+        return aiService.checkWinWithMove(board, probeRow, probeCol, 2);
+    }
+}
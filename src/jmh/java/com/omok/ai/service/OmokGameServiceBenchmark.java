@@ -0,0 +1,59 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OmokGameService 보드 판정 및 JSON / 압축 보드 변환 벤치마크
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OmokGameServiceBenchmark {
+
+    @Param({"opening", "middle-b", "late"})
+    public String position;
+
+    private OmokGameService gameService;
+    private int[][] board;
+    private String boardJson;
+    private byte[] boardData;
+
+    @Setup
+    public void setUp() {
+        gameService = new OmokGameService(new ObjectMapper());
+        board = BenchmarkPositions.board(position);
+        boardJson = gameService.boardToJson(board, "w");
+        boardData = BoardCodec.encode(board);
+    }
+
+    @Benchmark
+    public int checkWinner() {
+        return gameService.checkWinner(board);
+    }
+
+    @Benchmark
+    public int[][] parseBoard() {
+        return gameService.parseBoard(boardJson);
+    }
+
+    @Benchmark
+    public String boardToJson() {
+        return gameService.boardToJson(board, "w");
+    }
+
+    @Benchmark
+    public byte[] encodeBoard() {
+        return BoardCodec.encode(board);
+    }
+
+    @Benchmark
+    public int[][] decodeBoard() {
+        return BoardCodec.decode(boardData);
+    }
+}
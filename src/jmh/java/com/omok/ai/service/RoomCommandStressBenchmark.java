@@ -0,0 +1,107 @@
+package com.omok.ai.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RoomCommandExecutor 동시성 스트레스 벤치마크
+ *
+ * 수 두기 스레드 6개와 입장/퇴장 스레드 2개가 동시에 같은 방들에 명령을 보낸다.
+ * 방 상태는 일반 필드로만 두고 보호는 executor에 맡기며, 반복이 끝날 때마다
+ * 잃어버린 수나 중복 입장이 없는지 검증해 어긋나면 벤치마크를 실패시킨다.
+ * rooms=1은 한 방에 모든 스레드가 몰리는 경우, 값이 클수록 방 간 병렬성을 본다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class RoomCommandStressBenchmark {
+
+    @Param({"1", "16", "1024"})
+    public int rooms;
+
+    private RoomCommandExecutor executor;
+    private StressRoom[] state;
+
+    static final class StressRoom {
+        final int[][] board = new int[BoardCodec.BOARD_SIZE][BoardCodec.BOARD_SIZE];
+        String turn = "b";
+        int moveCount;
+        Long guestId;
+        int joins;
+        int leaves;
+        final LongAdder acceptedMoves = new LongAdder();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        executor = new RoomCommandExecutor(1024, 5000);
+        state = new StressRoom[rooms];
+        for (int i = 0; i < rooms; i++) {
+            state[i] = new StressRoom();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void verify() {
+        for (int i = 0; i < rooms; i++) {
+            StressRoom room = state[i];
+            if (room.moveCount != room.acceptedMoves.sum()) {
+                throw new IllegalStateException("Room " + i + " lost moves: applied " + room.moveCount
+                        + " of " + room.acceptedMoves.sum());
+            }
+            int seated = room.guestId != null ? 1 : 0;
+            if (room.joins - room.leaves != seated) {
+                throw new IllegalStateException("Room " + i + " guest seat corrupted: joins " + room.joins
+                        + ", leaves " + room.leaves + ", seated " + seated);
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("room")
+    @GroupThreads(6)
+    public int move() {
+        long roomId = ThreadLocalRandom.current().nextInt(rooms);
+        StressRoom room = state[(int) roomId];
+        int seq = executor.call(roomId, () -> {
+            // 수 두기와 같은 읽기-수정-쓰기 (직렬화되지 않으면 수를 잃어버림)
+            int count = room.moveCount;
+            int cell = count % BoardCodec.CELLS;
+            int player = "b".equals(room.turn) ? 1 : 2;
+            room.board[cell / BoardCodec.BOARD_SIZE][cell % BoardCodec.BOARD_SIZE] = player;
+            room.turn = player == 1 ? "w" : "b";
+            room.moveCount = count + 1;
+            return count + 1;
+        });
+        room.acceptedMoves.increment();
+        return seq;
+    }
+
+    @Benchmark
+    @Group("room")
+    @GroupThreads(2)
+    public boolean join() {
+        long roomId = ThreadLocalRandom.current().nextInt(rooms);
+        long userId = Thread.currentThread().getId();
+        StressRoom room = state[(int) roomId];
+        return executor.call(roomId, () -> {
+            // 입장: 빈 자리면 앉고, 이미 내 자리면 나감 (직렬화되지 않으면 두 명이 동시에 앉음)
+            if (room.guestId == null) {
+                room.guestId = userId;
+                room.joins++;
+                return true;
+            }
+            if (room.guestId == userId) {
+                room.guestId = null;
+                room.leaves++;
+            }
+            return false;
+        });
+    }
+}
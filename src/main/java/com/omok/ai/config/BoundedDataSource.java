@@ -0,0 +1,129 @@
+package com.omok.ai.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커넥션 풀 앞의 동시 사용 한도 (가상 스레드 모드)
+ *
+ * - 가상 스레드는 수천 개가 한꺼번에 DB를 요청할 수 있으므로, 한도만큼만 커넥션을 빌리고 나머지는 공정한 세마포어에서 순서대로 기다린다.
+ * - 허가는 커넥션을 닫을 때 돌려준다 (close가 여러 번 불려도 한 번만).
+ * - 대기가 permit-timeout-ms를 넘으면 풀 타임아웃과 같은 SQLTransientConnectionException.
+ * - 대기 시간/타임아웃 수는 VirtualThreadMetrics가 omok.db.permit.* 지표로 노출한다.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int limit;
+    private final long timeoutMs;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public BoundedDataSource(DataSource target, int limit, long timeoutMs) {
+        super(target);
+        if (limit <= 0) {
+            throw new IllegalArgumentException("omok.db.permits must be positive: " + limit);
+        }
+        this.permits = new Semaphore(limit, true);
+        this.limit = limit;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a DB permit");
+        }
+        waitNanos.add(System.nanoTime() - start);
+        if (!ok) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException("No DB permit within " + timeoutMs + "ms ("
+                    + limit + " in use, " + permits.getQueueLength() + " waiting)");
+        }
+        acquired.increment();
+    }
+
+    // close에서 허가를 돌려주는 커넥션 (나머지 호출은 그대로 위임)
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getActive() {
+        return limit - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    public double getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+}
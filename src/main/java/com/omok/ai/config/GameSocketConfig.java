@@ -0,0 +1,75 @@
+package com.omok.ai.config;
+
+import com.omok.ai.controller.GameSocketHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * 바이너리 게임 프로토콜 엔드포인트 (/ws-game, SockJS 없는 순수 WebSocket)
+ *
+ * - 게임 중 메시지(수, 재촉, 음성, 상태 해시)를 GameFrameCodec 형식으로 주고받는다. 로비/빠른 대전/관전은 기존 /ws STOMP.
+ * - permessage-deflate는 서블릿 컨테이너(Tomcat)가 클라이언트 요청 시 협상한다.
+ * - 사용자는 접속 URL의 userId로 정한다 (STOMP CONNECT의 userId 헤더와 같은 방식).
+ * - 세션은 /ws와 같이 OutboundQueueManager 송신 대기열로 감싼다.
+ * - omok.ws.binary.enabled=false면 등록하지 않으며, 클라이언트는 연결 실패 시 /ws STOMP로 돌아간다.
+ */
+@Configuration
+@EnableWebSocket
+public class GameSocketConfig implements WebSocketConfigurer {
+
+    public static final String ENDPOINT = "/ws-game";
+
+    private final GameSocketHandler gameSocketHandler;
+    private final OutboundQueueManager outboundQueueManager;
+    private final boolean enabled;
+
+    public GameSocketConfig(GameSocketHandler gameSocketHandler, OutboundQueueManager outboundQueueManager,
+                            @Value("${omok.ws.binary.enabled:true}") boolean enabled) {
+        this.gameSocketHandler = gameSocketHandler;
+        this.outboundQueueManager = outboundQueueManager;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        if (!enabled) return;
+        registry.addHandler(outboundQueueManager.decorate(gameSocketHandler), ENDPOINT)
+                .addInterceptors(new UserIdHandshakeInterceptor())
+                .setAllowedOriginPatterns("*");
+    }
+
+    /**
+     * ?userId=...가 숫자가 아니면 업그레이드 거부 (400)
+     */
+    private static class UserIdHandshakeInterceptor implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            String userId = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("userId");
+            try {
+                attributes.put(GameSocketHandler.USER_ID_ATTRIBUTE, Long.parseLong(userId));
+                return true;
+            } catch (NumberFormatException e) {
+                response.setStatusCode(HttpStatus.BAD_REQUEST);
+                return false;
+            }
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
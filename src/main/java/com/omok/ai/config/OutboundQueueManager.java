@@ -0,0 +1,214 @@
+package com.omok.ai.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocket 송신 역압 (느린 클라이언트 한 명이 다른 게임의 전송을 막지 않도록)
+ *
+ * - 모든 세션을 OutboundQueueSession으로 감싸 세션별 대기열에 넣고, 전송은 쓰기 스레드 풀(omok.ws.writer-threads)에서 한다.
+ * - 세션별 한도: 대기 프레임 수(omok.ws.queue-limit), 대기 바이트(omok.ws.buffer-size-limit), 전송 하나의 시간(omok.ws.send-time-limit-ms).
+ *   넘으면 세션을 닫고, 클라이언트는 다시 접속하여 전체 상태를 받는다.
+ * - omok.ws.coalesce-destinations로 시작하는 목적지(기본 관전 토픽)는 전체 상태이므로 대기 중인 이전 프레임을 새 프레임으로 대체한다.
+ * - 지표: omok.ws.outbound.* (전체 합계), 세션별 대기열은 /actuator/wsoutbound
+ */
+@Component
+public class OutboundQueueManager {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundQueueManager.class);
+
+    /**
+     * 세션 하나의 송신 상태 (sendingMs: 진행 중인 전송의 경과 시간, 없으면 0)
+     */
+    public record SessionStats(String sessionId, int queuedFrames, long queuedBytes,
+                               long coalesced, long dropped, long sendingMs) {}
+
+    private final int queueLimit;
+    private final long bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final List<String> coalescePrefixes;
+    private final Map<String, OutboundQueueSession> sessions = new ConcurrentHashMap<>();
+    private final Executor writers;
+    private final ExecutorService closer;
+    private final ScheduledExecutorService checker;
+    private final Counter coalescedFrames;
+    private final Counter droppedFrames;
+    private final MeterRegistry registry;
+
+    public OutboundQueueManager(MeterRegistry registry,
+                                @Value("${omok.ws.queue-limit:1000}") int queueLimit,
+                                @Value("${omok.ws.buffer-size-limit:524288}") long bufferSizeLimit,
+                                @Value("${omok.ws.send-time-limit-ms:5000}") long sendTimeLimitMs,
+                                @Value("${omok.ws.coalesce-destinations:/topic/spectate/}") String coalesceDestinations,
+                                @Value("${omok.ws.writer-threads:16}") int writerThreads,
+                                @Value("${omok.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (queueLimit <= 0 || bufferSizeLimit <= 0 || sendTimeLimitMs <= 0) {
+            throw new IllegalArgumentException("omok.ws queue-limit, buffer-size-limit and send-time-limit-ms must be positive");
+        }
+        this.registry = registry;
+        this.queueLimit = queueLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.coalescePrefixes = Arrays.stream(coalesceDestinations.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toList();
+        // 가상 스레드 모드면 막힌 전송이 스레드를 점유해도 부담이 없으므로 전송 작업마다 가상 스레드
+        this.writers = VirtualThreadConfig.isActive(virtualThreads)
+                ? new VirtualThreadTaskExecutor("ws-writer-vt-")
+                : Executors.newFixedThreadPool(Math.max(1, writerThreads), daemonThreads("ws-writer-"));
+        this.closer = Executors.newCachedThreadPool(daemonThreads("ws-closer-"));
+        this.checker = Executors.newSingleThreadScheduledExecutor(daemonThreads("ws-send-checker-"));
+        long checkMs = Math.max(100, sendTimeLimitMs / 4);
+        checker.scheduleWithFixedDelay(this::closeStuckSessions, checkMs, checkMs, TimeUnit.MILLISECONDS);
+
+        this.coalescedFrames = Counter.builder("omok.ws.outbound.coalesced")
+                .description("새 전체 상태로 대체되어 버린 대기 프레임 수")
+                .register(registry);
+        this.droppedFrames = Counter.builder("omok.ws.outbound.dropped")
+                .description("느린 세션을 닫을 때 버린 대기 프레임 수")
+                .register(registry);
+        Gauge.builder("omok.ws.outbound.sessions", sessions, Map::size)
+                .description("송신 대기열이 있는 세션 수")
+                .register(registry);
+        Gauge.builder("omok.ws.outbound.queued.frames", this,
+                        manager -> manager.sessions.values().stream().mapToLong(OutboundQueueSession::getQueuedFrames).sum())
+                .description("모든 세션의 대기 프레임 수")
+                .register(registry);
+        Gauge.builder("omok.ws.outbound.queued.bytes", this,
+                        manager -> manager.sessions.values().stream().mapToLong(OutboundQueueSession::getQueuedBytes).sum())
+                .description("모든 세션의 대기 바이트")
+                .register(registry);
+        Gauge.builder("omok.ws.outbound.queue.max", this,
+                        manager -> manager.sessions.values().stream().mapToInt(OutboundQueueSession::getQueuedFrames).max().orElse(0))
+                .description("가장 긴 세션 대기열의 프레임 수")
+                .register(registry);
+    }
+
+    /**
+     * WebSocketTransportRegistration.addDecoratorFactory에 등록
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                OutboundQueueSession queued = new OutboundQueueSession(session, OutboundQueueManager.this);
+                sessions.put(session.getId(), queued);
+                super.afterConnectionEstablished(queued);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 대기 바이트가 많은 순서로 세션별 상태
+     */
+    public List<SessionStats> sessionStats(int limit) {
+        long now = System.nanoTime();
+        return sessions.values().stream()
+                .map(session -> session.stats(now))
+                .sorted(Comparator.comparingLong(SessionStats::queuedBytes).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private void closeStuckSessions() {
+        long now = System.nanoTime();
+        for (OutboundQueueSession session : sessions.values()) {
+            if (session.isSendTimeExceeded(now)) {
+                session.terminate("send-time");
+            }
+        }
+    }
+
+    void execute(Runnable task) {
+        writers.execute(task);
+    }
+
+    void close(WebSocketSession session, CloseStatus status) {
+        closer.execute(() -> {
+            try {
+                session.close(status);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to close WebSocket session {}: {}", session.getId(), e.getMessage());
+            }
+        });
+    }
+
+    void recordCoalesced() {
+        coalescedFrames.increment();
+    }
+
+    void recordDisconnect(String reason, int droppedCount) {
+        droppedFrames.increment(droppedCount);
+        Counter.builder("omok.ws.outbound.disconnects")
+                .description("송신 한도를 넘어 닫은 세션 수")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    int getQueueLimit() {
+        return queueLimit;
+    }
+
+    long getBufferSizeLimit() {
+        return bufferSizeLimit;
+    }
+
+    long getSendTimeLimitNanos() {
+        return sendTimeLimitNanos;
+    }
+
+    List<String> getCoalescePrefixes() {
+        return coalescePrefixes;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNo = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checker.shutdownNow();
+        closer.shutdownNow();
+        if (writers instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+}
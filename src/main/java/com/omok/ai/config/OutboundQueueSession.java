@@ -0,0 +1,184 @@
+package com.omok.ai.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 세션 하나의 송신 대기열 (OutboundQueueManager가 생성)
+ *
+ * - sendMessage는 대기열에 넣고 바로 돌아가므로 clientOutboundChannel 스레드가 느린 클라이언트 때문에 막히지 않는다.
+ * - 실제 전송은 쓰기 스레드에서 세션마다 하나씩 순서대로 하며, 한 번에 최대 DRAIN_BATCH개만 보내고 다른 세션에 양보한다.
+ * - 같은 목적지의 전체 상태 프레임(관전 토픽 등)은 새 프레임이 오면 대기 중인 이전 프레임을 버린다.
+ * - 대기열 한도를 넘거나 전송 하나가 시간 한도를 넘으면 세션을 닫는다 (SESSION_NOT_RELIABLE).
+ */
+class OutboundQueueSession extends WebSocketSessionDecorator {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundQueueSession.class);
+    private static final int DRAIN_BATCH = 64;
+
+    private record Frame(WebSocketMessage<?> message, String coalesceKey, int size) {}
+
+    private final OutboundQueueManager manager;
+    private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private long queuedBytes;
+    private boolean draining;
+    private long coalesced;
+    private long dropped;
+    private volatile long sendStartedNanos;
+
+    OutboundQueueSession(WebSocketSession delegate, OutboundQueueManager manager) {
+        super(delegate);
+        this.manager = manager;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (terminated.get()) return;
+        if (isSendTimeExceeded(System.nanoTime())) {
+            terminate("send-time");
+            return;
+        }
+        String key = coalesceKeyOf(message);
+        Frame frame = new Frame(message, key, message.getPayloadLength());
+        boolean overflow;
+        boolean startDrain = false;
+        synchronized (this) {
+            if (key != null) {
+                dropSuperseded(key);
+            }
+            queue.add(frame);
+            queuedBytes += frame.size();
+            overflow = queue.size() > manager.getQueueLimit() || queuedBytes > manager.getBufferSizeLimit();
+            if (!overflow && !draining) {
+                draining = true;
+                startDrain = true;
+            }
+        }
+        if (overflow) {
+            terminate("buffer-size");
+        } else if (startDrain) {
+            manager.execute(this::drain);
+        }
+    }
+
+    // 같은 목적지의 대기 중인 전체 상태 프레임은 새 프레임으로 대체됨
+    private void dropSuperseded(String key) {
+        Iterator<Frame> it = queue.iterator();
+        while (it.hasNext()) {
+            Frame queued = it.next();
+            if (key.equals(queued.coalesceKey())) {
+                it.remove();
+                queuedBytes -= queued.size();
+                coalesced++;
+                manager.recordCoalesced();
+            }
+        }
+    }
+
+    private void drain() {
+        for (int sent = 0; sent < DRAIN_BATCH; sent++) {
+            Frame frame;
+            synchronized (this) {
+                frame = queue.poll();
+                if (frame == null || terminated.get()) {
+                    draining = false;
+                    return;
+                }
+                queuedBytes -= frame.size();
+            }
+            sendStartedNanos = System.nanoTime();
+            try {
+                getDelegate().sendMessage(frame.message());
+            } catch (IOException | RuntimeException e) {
+                log.debug("Send to WebSocket session {} failed: {}", getId(), e.getMessage());
+                terminate("send-error");
+                return;
+            } finally {
+                sendStartedNanos = 0;
+            }
+        }
+        // 남은 프레임은 다른 세션 뒤에서 이어서 보냄
+        manager.execute(this::drain);
+    }
+
+    /**
+     * 진행 중인 전송 하나가 시간 한도를 넘었는지 (관리자가 주기적으로 확인)
+     */
+    boolean isSendTimeExceeded(long now) {
+        long started = sendStartedNanos;
+        return started != 0 && now - started > manager.getSendTimeLimitNanos();
+    }
+
+    void terminate(String reason) {
+        if (!terminated.compareAndSet(false, true)) return;
+        int frames;
+        long bytes;
+        synchronized (this) {
+            frames = queue.size();
+            bytes = queuedBytes;
+            dropped += frames;
+            queue.clear();
+            queuedBytes = 0;
+        }
+        log.info("Closing slow WebSocket session {} ({}): {} frames / {} bytes queued", getId(), reason, frames, bytes);
+        manager.recordDisconnect(reason, frames);
+        // 막힌 전송과 겹칠 수 있으므로 닫기는 별도 스레드에서
+        manager.close(getDelegate(), CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        terminated.set(true);
+        synchronized (this) {
+            queue.clear();
+            queuedBytes = 0;
+        }
+        super.close(status);
+    }
+
+    synchronized OutboundQueueManager.SessionStats stats(long now) {
+        long started = sendStartedNanos;
+        return new OutboundQueueManager.SessionStats(getId(), queue.size(), queuedBytes, coalesced, dropped,
+                started != 0 ? (now - started) / 1_000_000 : 0);
+    }
+
+    synchronized int getQueuedFrames() {
+        return queue.size();
+    }
+
+    synchronized long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    // STOMP MESSAGE 프레임의 destination 헤더가 설정된 접두사로 시작하면 그 목적지가 대체 키
+    private String coalesceKeyOf(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage text) || manager.getCoalescePrefixes().isEmpty()) return null;
+        String payload = text.getPayload();
+        if (!payload.startsWith("MESSAGE\n")) return null;
+        int lineStart = "MESSAGE\n".length();
+        while (lineStart < payload.length()) {
+            int lineEnd = payload.indexOf('\n', lineStart);
+            if (lineEnd < 0 || lineEnd == lineStart) return null; // 헤더 끝
+            if (payload.startsWith("destination:", lineStart)) {
+                String destination = payload.substring(lineStart + "destination:".length(), lineEnd);
+                for (String prefix : manager.getCoalescePrefixes()) {
+                    if (destination.startsWith(prefix)) return destination;
+                }
+                return null;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return null;
+    }
+}
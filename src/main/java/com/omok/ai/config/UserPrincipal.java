@@ -0,0 +1,14 @@
+package com.omok.ai.config;
+
+import java.security.Principal;
+
+/**
+ * STOMP 세션 사용자 (이름은 userId), /user/queue/** 개인 메시지 전달용
+ */
+public record UserPrincipal(String name) implements Principal {
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
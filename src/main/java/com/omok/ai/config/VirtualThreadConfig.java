@@ -0,0 +1,89 @@
+package com.omok.ai.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import javax.sql.DataSource;
+
+/**
+ * 가상 스레드 실행 모드 (omok.threads.virtual.enabled, Java 21 이상에서만 적용)
+ *
+ * - Tomcat 요청 처리, STOMP clientInboundChannel/clientOutboundChannel을 가상 스레드에서 실행한다.
+ *   JDBC, OpenAI 호출처럼 막히는 작업이 플랫폼 스레드 풀을 다 쓰지 않게 하기 위함이다.
+ * - DB 커넥션 풀 앞에 세마포어(BoundedDataSource)를 두어 동시에 커넥션을 빌리는 스레드 수를 제한한다.
+ * - 런타임이 가상 스레드를 지원하지 않으면 경고만 남기고 기존 스레드 풀을 그대로 쓴다.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    static final String ENABLED_PROPERTY = "omok.threads.virtual.enabled";
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * 설정이 켜져 있고 런타임이 지원할 때만 true
+     */
+    public static boolean isActive(boolean requested) {
+        return requested && isSupported();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(Environment environment) {
+        boolean active = isActive(environment.getProperty(ENABLED_PROPERTY, Boolean.class, false));
+        return protocolHandler -> {
+            if (active) {
+                protocolHandler.setExecutor(new VirtualThreadTaskExecutor("tomcat-vt-"));
+            }
+        };
+    }
+
+    /**
+     * STOMP 채널 실행기 교체와 DataSource 감싸기 (빈 초기화 전에 바꿔야 하므로 후처리기로 등록)
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadBeanPostProcessor(Environment environment) {
+        boolean requested = environment.getProperty(ENABLED_PROPERTY, Boolean.class, false);
+        if (requested && !isSupported()) {
+            log.warn("{} is set but Java {} has no virtual threads; keeping platform thread pools",
+                    ENABLED_PROPERTY, Runtime.version().feature());
+        }
+        boolean active = isActive(requested);
+        int permits = environment.getProperty("omok.db.permits", Integer.class, 0);
+        long permitTimeoutMs = environment.getProperty("omok.db.permit-timeout-ms", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (!active) return bean;
+                // ThreadPoolTaskExecutor가 스레드를 만들기 전에 가상 스레드 실행기로 바꿈 (주입 타입은 TaskExecutor)
+                return switch (beanName) {
+                    case "clientInboundChannelExecutor" -> new VirtualThreadTaskExecutor("ws-inbound-vt-");
+                    case "clientOutboundChannelExecutor" -> new VirtualThreadTaskExecutor("ws-outbound-vt-");
+                    default -> bean;
+                };
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!active || !(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+                    return bean;
+                }
+                int limit = permits > 0 ? permits
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                log.info("Virtual threads enabled; DataSource '{}' limited to {} concurrent connections", beanName, limit);
+                return new BoundedDataSource(dataSource, limit, permitTimeoutMs);
+            }
+        };
+    }
+}
@@ -1,19 +1,96 @@
 package com.omok.ai.config;
 
+import com.omok.ai.service.ClusterBus;
+import com.omok.ai.service.GameSocketRegistry;
+import com.omok.ai.service.SpectatorRegistry;
+import com.omok.ai.service.UserRoomIndex;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.security.Principal;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String GAME_TOPIC_PREFIX = "/topic/game/";
+    private static final String MODE_SIMPLE = "simple";
+    private static final String MODE_RELAY = "relay";
+
+    private final SpectatorRegistry spectatorRegistry;
+    private final UserRoomIndex userRoomIndex;
+    private final ClusterBus clusterBus;
+    private final OutboundQueueManager outboundQueueManager;
+    private final GameSocketRegistry gameSocketRegistry;
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String login;
+    private final String passcode;
+    private final String virtualHost;
+
+    public WebSocketConfig(SpectatorRegistry spectatorRegistry, UserRoomIndex userRoomIndex, ClusterBus clusterBus,
+                           OutboundQueueManager outboundQueueManager, GameSocketRegistry gameSocketRegistry,
+                           @Value("${omok.broker.mode:simple}") String brokerMode,
+                           @Value("${omok.broker.relay-host:localhost}") String relayHost,
+                           @Value("${omok.broker.relay-port:61613}") int relayPort,
+                           @Value("${omok.broker.login:guest}") String login,
+                           @Value("${omok.broker.passcode:guest}") String passcode,
+                           @Value("${omok.broker.virtual-host:}") String virtualHost) {
+        if (!MODE_SIMPLE.equals(brokerMode) && !MODE_RELAY.equals(brokerMode)) {
+            throw new IllegalArgumentException("omok.broker.mode must be simple or relay: " + brokerMode);
+        }
+        this.spectatorRegistry = spectatorRegistry;
+        this.userRoomIndex = userRoomIndex;
+        this.clusterBus = clusterBus;
+        this.outboundQueueManager = outboundQueueManager;
+        this.gameSocketRegistry = gameSocketRegistry;
+        this.brokerMode = brokerMode;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.login = login;
+        this.passcode = passcode;
+        this.virtualHost = virtualHost;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        // /topic: 방/로비 브로드캐스트, /queue: 사용자별 메시지 (/user/queue/match)
+        if (MODE_RELAY.equals(brokerMode)) {
+            // 외부 STOMP 브로커로 중계: 다른 노드에 붙은 구독자와 사용자에게도 전달됨
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(login)
+                    .setClientPasscode(passcode)
+                    .setSystemLogin(login)
+                    .setSystemPasscode(passcode)
+                    .setUserDestinationBroadcast("/topic/omok-unresolved-user")
+                    .setUserRegistryBroadcast("/topic/omok-user-registry");
+            if (!virtualHost.isBlank()) {
+                relay.setVirtualHost(virtualHost);
+            }
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
+        // 로비/게임 증분 메시지가 세션별로 보낸 순서대로 전달되도록 함 (version/seq 순서 보장)
+        config.setPreservePublishOrder(true);
+        // 게임 토픽 메시지를 /ws-game 바이너리 세션에도 전달 (GameSocketRegistry)
+        config.configureBrokerChannel().interceptors(gameSocketRegistry.brokerTap());
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
     }
 
     @Override
@@ -22,5 +99,71 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 세션별 송신 대기열과 느린 세션 정리 (OutboundQueueManager)
+        registration.addDecoratorFactory(outboundQueueManager::decorate);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                // CONNECT 헤더의 userId를 세션 사용자로 지정 (convertAndSendToUser 대상)
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor == null || accessor.getCommand() == null) {
+                    return message;
+                }
+                switch (accessor.getCommand()) {
+                    case CONNECT -> {
+                        String userId = accessor.getFirstNativeHeader("userId");
+                        if (userId != null && !userId.isBlank()) {
+                            accessor.setUser(new UserPrincipal(userId));
+                        }
+                    }
+                    case SUBSCRIBE -> checkSubscription(accessor);
+                    case SEND -> {
+                        // 다른 노드 소유 방의 명령은 소유 노드로 넘기고 여기서는 처리하지 않음
+                        if (clusterBus.forwardIfRemote(message, accessor)) {
+                            return null;
+                        }
+                    }
+                    case UNSUBSCRIBE -> spectatorRegistry.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+                    default -> { }
+                }
+                return message;
+            }
+        });
+    }
+
+    /**
+     * 게임 토픽은 참여자만, 관전 토픽은 방별 인원 한도까지만 구독 허용 (거부 시 ERROR 프레임)
+     */
+    private void checkSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null) return;
+        if (destination.startsWith(SpectatorRegistry.TOPIC_PREFIX)) {
+            Long roomId = roomIdOf(destination, SpectatorRegistry.TOPIC_PREFIX);
+            if (!spectatorRegistry.subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), roomId)) {
+                throw new IllegalStateException("Spectator limit reached for room " + roomId);
+            }
+        } else if (destination.startsWith(GAME_TOPIC_PREFIX)) {
+            Long roomId = roomIdOf(destination, GAME_TOPIC_PREFIX);
+            Principal user = accessor.getUser();
+            if (user == null || !userRoomIndex.isParticipant(Long.parseLong(user.getName()), roomId)) {
+                throw new IllegalStateException("Only players can subscribe to room " + roomId + ", use "
+                        + SpectatorRegistry.TOPIC_PREFIX + roomId + " to watch");
+            }
+        }
+    }
+
+    private static Long roomIdOf(String destination, String prefix) {
+        try {
+            return Long.parseLong(destination.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid room destination: " + destination);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.omok.ai.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.omok.ai.service.GameArchiveService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api/archive")
+@CrossOrigin(origins = "*")
+public class ArchiveController {
+
+    private final GameArchiveService gameArchiveService;
+    private final ObjectMapper objectMapper;
+
+    public ArchiveController(GameArchiveService gameArchiveService, ObjectMapper objectMapper) {
+        this.gameArchiveService = gameArchiveService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 보관된 게임을 한 줄에 하나씩 JSON으로 스트리밍 (NDJSON, 오프라인 분석용)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "0") long fromRoomId,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long toRoomId) {
+        if (!gameArchiveService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                gameArchiveService.export(fromRoomId, toRoomId, record -> {
+                    try {
+                        writer.write(record);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+}
@@ -1,9 +1,13 @@
 package com.omok.ai.controller;
 
+import com.omok.ai.dto.GameMoveDto;
 import com.omok.ai.dto.GameStateDto;
+import com.omok.ai.dto.LobbySnapshotDto;
 import com.omok.ai.dto.RoomDto;
 import com.omok.ai.entity.GameRoom;
 import com.omok.ai.service.GameRoomService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -39,12 +43,33 @@ public class GameRoomController {
         return ResponseEntity.ok(gameRoomService.getWaitingRooms());
     }
 
+    /**
+     * 대기방 목록 스냅샷과 버전 (이후 변경은 /topic/lobby 구독으로 받음)
+     */
+    @GetMapping("/lobby")
+    public ResponseEntity<LobbySnapshotDto> getLobby() {
+        return ResponseEntity.ok(gameRoomService.getLobbySnapshot());
+    }
+
+    /**
+     * 관전할 수 있는 진행 중인 방 목록 (관전은 /topic/spectate/{roomId} 구독)
+     */
+    @GetMapping("/playing")
+    public ResponseEntity<List<RoomDto>> getPlayingRooms() {
+        return ResponseEntity.ok(gameRoomService.getPlayingRooms());
+    }
+
     @PostMapping("/{roomId}/join")
     public ResponseEntity<GameStateDto> joinRoom(
             @PathVariable Long roomId,
             @RequestBody Map<String, Long> request) {
         Long guestId = request.get("guestId");
-        gameRoomService.joinRoom(roomId, guestId);
+        try {
+            gameRoomService.joinRoom(roomId, guestId);
+        } catch (OptimisticLockingFailureException e) {
+            // 다른 변경이 먼저 반영됨: 현재 상태를 함께 돌려줌
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(gameRoomService.getChangedState(roomId));
+        }
         GameStateDto state = gameRoomService.getGameState(roomId);
         return ResponseEntity.ok(state);
     }
@@ -54,12 +79,21 @@ public class GameRoomController {
         return ResponseEntity.ok(gameRoomService.getGameState(roomId));
     }
 
+    @GetMapping("/{roomId}/moves")
+    public ResponseEntity<List<GameMoveDto>> getMoves(@PathVariable Long roomId) {
+        return ResponseEntity.ok(gameRoomService.getMoves(roomId));
+    }
+
     @DeleteMapping("/{roomId}")
     public ResponseEntity<Void> deleteRoom(
             @PathVariable Long roomId,
             @RequestBody Map<String, Long> request) {
         Long hostId = request.get("hostId");
-        gameRoomService.deleteRoomByHost(roomId, hostId);
+        try {
+            gameRoomService.deleteRoomByHost(roomId, hostId);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         return ResponseEntity.noContent().build();
     }
 }
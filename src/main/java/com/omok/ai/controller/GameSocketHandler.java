@@ -0,0 +1,247 @@
+package com.omok.ai.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omok.ai.dto.ClusterCommandDto;
+import com.omok.ai.dto.GameDeltaDto;
+import com.omok.ai.dto.GameStateDto;
+import com.omok.ai.service.ChatRateLimiter;
+import com.omok.ai.service.ClusterBus;
+import com.omok.ai.service.GameBroadcaster;
+import com.omok.ai.service.GameFrameCodec;
+import com.omok.ai.service.GameRoomService;
+import com.omok.ai.service.GameSocketRegistry;
+import com.omok.ai.service.RoomOwnership;
+import com.omok.ai.service.UserRoomIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.util.Map;
+
+/**
+ * /ws-game 바이너리 게임 프로토콜 처리 (프레임 형식은 GameFrameCodec)
+ *
+ * - STOMP 컨트롤러(GameWebSocketController)와 같은 GameRoomService를 호출하고, 결과는 GameBroadcaster로
+ *   STOMP 구독자(/topic/game/{roomId})와 바이너리 세션(GameSocketRegistry) 모두에게 전달한다.
+ * - 거부된 수와 동기화 응답은 요청한 세션에만 보낸다.
+ * - 여러 노드일 때 다른 노드 소유 방의 명령은 STOMP /app 메시지로 바꿔 소유 노드로 넘긴다 (ClusterBus).
+ * - 접속/종료는 STOMP 세션과 같이 재접속 유예와 참여 방 색인을 갱신한다.
+ */
+@Component
+public class GameSocketHandler extends BinaryWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSocketHandler.class);
+    public static final String USER_ID_ATTRIBUTE = "userId";
+
+    private final GameRoomService gameRoomService;
+    private final GameSocketRegistry gameSockets;
+    private final UserRoomIndex userRoomIndex;
+    private final ChatRateLimiter chatRateLimiter;
+    private final GameBroadcaster gameBroadcaster;
+    private final RoomOwnership roomOwnership;
+    private final ClusterBus clusterBus;
+    private final ObjectMapper objectMapper;
+
+    public GameSocketHandler(GameRoomService gameRoomService, GameSocketRegistry gameSockets, UserRoomIndex userRoomIndex,
+                             ChatRateLimiter chatRateLimiter, GameBroadcaster gameBroadcaster,
+                             RoomOwnership roomOwnership, ClusterBus clusterBus, ObjectMapper objectMapper) {
+        this.gameRoomService = gameRoomService;
+        this.gameSockets = gameSockets;
+        this.userRoomIndex = userRoomIndex;
+        this.chatRateLimiter = chatRateLimiter;
+        this.gameBroadcaster = gameBroadcaster;
+        this.roomOwnership = roomOwnership;
+        this.clusterBus = clusterBus;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        Long userId = userIdOf(session);
+        gameSockets.add(session, userId);
+        // 유예 시간 안에 다시 접속했으면 이탈 처리 취소
+        gameRoomService.handleUserReconnect(userId);
+        userRoomIndex.register(userId);
+        log.info("Game socket {} connected for userId: {}", session.getId(), userId);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Long userId = userIdOf(session);
+        log.info("Game socket {} disconnected for userId: {} ({})", session.getId(), userId, status.getCode());
+        if (gameSockets.remove(session.getId(), userId)) {
+            chatRateLimiter.release(userId);
+            try {
+                // 방 이탈은 재접속 유예 시간 뒤에 처리
+                gameRoomService.handleUserDisconnect(userId);
+            } catch (IllegalStateException e) {
+                // 서버 종료 중 (컨테이너가 남은 세션을 닫을 때 타이머는 이미 멈춤)
+                log.debug("Skipping disconnect handling for userId {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        GameFrameCodec.ClientFrame frame;
+        try {
+            byte[] payload = new byte[message.getPayloadLength()];
+            message.getPayload().get(payload);
+            frame = GameFrameCodec.decode(payload);
+        } catch (IllegalArgumentException e) {
+            gameSockets.send(session, GameFrameCodec.error(e.getMessage()));
+            return;
+        }
+        Long userId = userIdOf(session);
+        if (frame.type() == GameFrameCodec.JOIN) {
+            join(session, userId, frame.roomId());
+            return;
+        }
+        Long roomId = gameSockets.roomOf(session.getId());
+        if (roomId == null) {
+            gameSockets.send(session, GameFrameCodec.error("Join a room first"));
+            return;
+        }
+        if (frame.type() == GameFrameCodec.SYNC) {
+            // 상태 읽기는 REST /api/rooms/{roomId}/state와 같이 소유 노드가 아니어도 이 노드에서 처리
+            sync(session, roomId, frame.seq(), frame.hash());
+            return;
+        }
+        if (!roomOwnership.isLocal(roomId)) {
+            forward(roomId, userId, frame);
+            return;
+        }
+        switch (frame.type()) {
+            case GameFrameCodec.MOVE -> move(session, roomId, userId, frame.row(), frame.col());
+            case GameFrameCodec.NUDGE -> nudge(roomId, userId);
+            case GameFrameCodec.VOICE -> voice(roomId, userId, frame.text());
+            case GameFrameCodec.STATUS -> status(session, roomId, frame.text());
+            default -> gameSockets.send(session, GameFrameCodec.error("Unsupported frame " + frame.type()));
+        }
+    }
+
+    /**
+     * 방 메시지 받기 시작 (게임 토픽 구독과 같이 참여자만), 응답은 현재 전체 상태
+     */
+    private void join(WebSocketSession session, Long userId, long roomId) {
+        if (!userRoomIndex.isParticipant(userId, roomId)) {
+            gameSockets.send(session, GameFrameCodec.error("Only players can join room " + roomId));
+            return;
+        }
+        gameSockets.attach(session, roomId);
+        sendState(session, gameRoomService.getGameState(roomId));
+    }
+
+    private void move(WebSocketSession session, Long roomId, Long userId, int row, int col) {
+        GameDeltaDto delta;
+        try {
+            delta = gameRoomService.makeMove(roomId, row, col, userId);
+        } catch (Exception e) {
+            log.warn("Rejected move in room {} from {}: {}", roomId, userId, e.getMessage());
+            // 거부는 보낸 세션에만 현재 seq/해시로 알림
+            try {
+                gameSockets.send(session, GameFrameCodec.encodeDelta(gameRoomService.getRejection(roomId, e.getMessage())));
+            } catch (RuntimeException ex) {
+                gameSockets.send(session, GameFrameCodec.error(e.getMessage()));
+            }
+            return;
+        }
+        gameBroadcaster.broadcast(roomId, delta);
+    }
+
+    private void nudge(Long roomId, Long userId) {
+        try {
+            gameBroadcaster.broadcast(roomId, gameRoomService.sendNudgeMessage(roomId, userId));
+        } catch (Exception e) {
+            log.error("Error handling nudge", e);
+        }
+    }
+
+    private void voice(Long roomId, Long userId, String message) {
+        if (message == null || message.trim().isEmpty()) {
+            log.warn("Empty voice message received");
+            return;
+        }
+        try {
+            gameBroadcaster.broadcast(roomId, gameRoomService.sendVoiceMessage(roomId, userId, message.trim()));
+        } catch (Exception e) {
+            log.error("Error handling voice message", e);
+        }
+    }
+
+    /**
+     * 클라이언트 seq/해시가 서버와 같으면 SYNCED, 다르면 전체 상태
+     */
+    private void sync(WebSocketSession session, Long roomId, int seq, long hash) {
+        GameStateDto state = gameRoomService.getGameState(roomId);
+        if (state.getSeq() != null && state.getSeq() == seq && GameFrameCodec.parseHash(state.getHash()) == hash) {
+            gameSockets.send(session, GameFrameCodec.synced(seq));
+        } else {
+            sendState(session, state);
+        }
+    }
+
+    /**
+     * 새 게임/재경기 (STOMP /app/game/{roomId}/state와 같음)
+     */
+    private void status(WebSocketSession session, Long roomId, String status) {
+        GameStateDto state;
+        try {
+            gameRoomService.updateGameState(roomId, status);
+            state = gameRoomService.getGameState(roomId);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("State update for room {} conflicted with another change", roomId);
+            state = gameRoomService.getChangedState(roomId);
+        } catch (Exception e) {
+            log.error("Error handling state update", e);
+            gameSockets.send(session, GameFrameCodec.error(e.getMessage()));
+            return;
+        }
+        gameBroadcaster.broadcast(roomId, state);
+    }
+
+    /**
+     * 다른 노드 소유 방: STOMP 클라이언트가 보냈을 /app 메시지로 바꿔 소유 노드로 넘김
+     */
+    private void forward(Long roomId, Long userId, GameFrameCodec.ClientFrame frame) {
+        String prefix = "/app/game/" + roomId;
+        String principal = String.valueOf(userId);
+        ClusterCommandDto command = switch (frame.type()) {
+            case GameFrameCodec.MOVE -> ClusterCommandDto.send(prefix + "/move",
+                    json(Map.of("roomId", roomId, "row", frame.row(), "col", frame.col())), userId, principal);
+            case GameFrameCodec.NUDGE -> ClusterCommandDto.send(prefix + "/nudge", "{}", userId, principal);
+            case GameFrameCodec.VOICE -> ClusterCommandDto.send(prefix + "/voice-message",
+                    json(Map.of("message", frame.text())), userId, principal);
+            case GameFrameCodec.STATUS -> ClusterCommandDto.send(prefix + "/state",
+                    json(Map.of("status", frame.text())), userId, principal);
+            default -> throw new IllegalStateException("Unexpected frame " + frame.type());
+        };
+        clusterBus.send(roomOwnership.ownerOf(roomId), command);
+    }
+
+    private void sendState(WebSocketSession session, GameStateDto state) {
+        try {
+            gameSockets.send(session, GameFrameCodec.state(objectMapper.writeValueAsBytes(state)));
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot serialize game state: {}", e.getMessage());
+        }
+    }
+
+    private String json(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize forwarded command", e);
+        }
+    }
+
+    private static Long userIdOf(WebSocketSession session) {
+        return (Long) session.getAttributes().get(USER_ID_ATTRIBUTE);
+    }
+}
@@ -1,12 +1,14 @@
 package com.omok.ai.controller;
 
+import com.omok.ai.dto.GameDeltaDto;
 import com.omok.ai.dto.GameStateDto;
 import com.omok.ai.dto.MoveDto;
+import com.omok.ai.service.GameBroadcaster;
 import com.omok.ai.service.GameRoomService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.slf4j.Logger;
@@ -20,17 +22,22 @@ public class GameWebSocketController {
     private static final Logger log = LoggerFactory.getLogger(GameWebSocketController.class);
 
     private final GameRoomService gameRoomService;
+    private final GameBroadcaster gameBroadcaster;
 
-    public GameWebSocketController(GameRoomService gameRoomService) {
+    public GameWebSocketController(GameRoomService gameRoomService, GameBroadcaster gameBroadcaster) {
         this.gameRoomService = gameRoomService;
+        this.gameBroadcaster = gameBroadcaster;
     }
 
     @MessageMapping("/game/{roomId}/move")
-    @SendTo("/topic/game/{roomId}")
-    public GameStateDto handleMove(
+    public void handleMove(
             @DestinationVariable Long roomId,
             @Payload MoveDto moveDto,
             SimpMessageHeaderAccessor headerAccessor) {
+        gameBroadcaster.broadcast(roomId, move(roomId, moveDto, headerAccessor));
+    }
+
+    private GameDeltaDto move(Long roomId, MoveDto moveDto, SimpMessageHeaderAccessor headerAccessor) {
         try {
             // 헤더에서 userId 추출
             String userIdStr = headerAccessor.getFirstNativeHeader("userId");
@@ -45,22 +52,17 @@ public class GameWebSocketController {
                 return null;
             }
 
-            // 차례 확인 및 업데이트 수행
-            GameStateDto state = gameRoomService.makeMove(
+            // 차례 확인 및 업데이트 수행, 방금 둔 수만 브로드캐스트
+            return gameRoomService.makeMove(
                     roomId,
                     moveDto.getRow(),
                     moveDto.getCol(),
-                    moveDto.getBoardState(),
-                    moveDto.getTurn(),
                     userId);
-
-            // makeMove 후 최신 상태 반환
-            return state;
         } catch (Exception e) {
             log.error("Error handling move", e);
-            // 에러 발생 시(예: 차례가 아님) 현재 최신 게임 상태를 브로드캐스트하여 동기화 유도
+            // 에러 발생 시(예: 차례가 아님) 현재 seq/해시를 브로드캐스트하여 동기화 유도
             try {
-                return gameRoomService.getGameState(roomId);
+                return gameRoomService.getRejection(roomId, e.getMessage());
             } catch (Exception ex) {
                 return null;
             }
@@ -68,11 +70,14 @@ public class GameWebSocketController {
     }
 
     @MessageMapping("/game/{roomId}/state")
-    @SendTo("/topic/game/{roomId}")
-    public GameStateDto handleStateUpdate(
+    public void handleStateUpdate(
             @DestinationVariable Long roomId,
             @Payload GameStateDto stateDto,
             SimpMessageHeaderAccessor headerAccessor) {
+        gameBroadcaster.broadcast(roomId, updateState(roomId, stateDto, headerAccessor));
+    }
+
+    private GameStateDto updateState(Long roomId, GameStateDto stateDto, SimpMessageHeaderAccessor headerAccessor) {
         try {
             // 헤더에서 userId 추출
             String userIdStr = headerAccessor.getFirstNativeHeader("userId");
@@ -87,20 +92,22 @@ public class GameWebSocketController {
                 return null;
             }
 
-            // 게임 상태 업데이트 (클라이언트에서 검증된 상태를 받아서 저장)
-            gameRoomService.updateGameState(
-                    roomId,
-                    stateDto.getBoardState(),
-                    stateDto.getTurn(),
-                    stateDto.getIsGameOver() != null ? stateDto.getIsGameOver() : false,
-                    stateDto.getWinner(),
-                    stateDto.getStatus());
+            // 방 상태 전환 (새 게임/재경기). 보드와 승패는 서버가 관리함
+            gameRoomService.updateGameState(roomId, stateDto.getStatus());
 
             // 업데이트된 상태를 모든 클라이언트에 브로드캐스트
             GameStateDto updatedState = gameRoomService.getGameState(roomId);
-            log.info("Broadcasting game state update for room {}: BoardState={}, Turn={}", roomId, updatedState.getBoardState(),
+            log.info("Broadcasting game state update for room {}: Seq={}, Turn={}", roomId, updatedState.getSeq(),
                     updatedState.getTurn());
             return updatedState;
+        } catch (OptimisticLockingFailureException e) {
+            // 재시도 후에도 충돌: 현재 상태 전체를 브로드캐스트하여 동기화
+            log.warn("State update for room {} conflicted with another change", roomId);
+            try {
+                return gameRoomService.getChangedState(roomId);
+            } catch (Exception ex) {
+                return null;
+            }
         } catch (Exception e) {
             log.error("Error handling state update", e);
             return null;
@@ -108,10 +115,13 @@ public class GameWebSocketController {
     }
 
     @MessageMapping("/game/{roomId}/nudge")
-    @SendTo("/topic/game/{roomId}")
-    public GameStateDto handleNudge(
+    public void handleNudge(
             @DestinationVariable Long roomId,
             SimpMessageHeaderAccessor headerAccessor) {
+        gameBroadcaster.broadcast(roomId, nudge(roomId, headerAccessor));
+    }
+
+    private GameDeltaDto nudge(Long roomId, SimpMessageHeaderAccessor headerAccessor) {
         try {
             // 헤더에서 userId 추출
             String userIdStr = headerAccessor.getFirstNativeHeader("userId");
@@ -126,7 +136,7 @@ public class GameWebSocketController {
                 return null;
             }
 
-            // 재촉 메시지 전송 및 반환 (메시지가 포함된 GameStateDto)
+            // 재촉 메시지 전송 및 반환 (메시지만 담은 증분 메시지)
             return gameRoomService.sendNudgeMessage(roomId, userId);
         } catch (Exception e) {
             log.error("Error handling nudge", e);
@@ -135,11 +145,14 @@ public class GameWebSocketController {
     }
 
     @MessageMapping("/game/{roomId}/voice-message")
-    @SendTo("/topic/game/{roomId}")
-    public GameStateDto handleVoiceMessage(
+    public void handleVoiceMessage(
             @DestinationVariable Long roomId,
             @Payload Map<String, String> payload,
             SimpMessageHeaderAccessor headerAccessor) {
+        gameBroadcaster.broadcast(roomId, voiceMessage(roomId, payload, headerAccessor));
+    }
+
+    private GameDeltaDto voiceMessage(Long roomId, Map<String, String> payload, SimpMessageHeaderAccessor headerAccessor) {
         try {
             // 헤더에서 userId 추출
             String userIdStr = headerAccessor.getFirstNativeHeader("userId");
@@ -157,10 +170,10 @@ public class GameWebSocketController {
             String message = payload.get("message");
             if (message == null || message.trim().isEmpty()) {
                 log.warn("Empty voice message received");
-                return gameRoomService.getGameState(roomId);
+                return null;
             }
 
-            // 음성 메시지 전송 및 반환 (메시지가 포함된 GameStateDto)
+            // 음성 메시지 전송 및 반환 (메시지만 담은 증분 메시지)
             return gameRoomService.sendVoiceMessage(roomId, userId, message.trim());
         } catch (Exception e) {
             log.error("Error handling voice message", e);
@@ -0,0 +1,58 @@
+package com.omok.ai.controller;
+
+import com.omok.ai.dto.MatchEventDto;
+import com.omok.ai.service.MatchmakingService;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.Principal;
+
+@Controller
+public class MatchWebSocketController {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchWebSocketController.class);
+
+    private final MatchmakingService matchmakingService;
+
+    public MatchWebSocketController(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+
+    /**
+     * 빠른 대전 대기열 등록 (CONNECT 헤더에 userId가 있어야 /user/queue/match로 결과를 받을 수 있음)
+     */
+    @MessageMapping("/match/join")
+    @SendToUser("/queue/match")
+    public MatchEventDto handleJoin(Principal principal) {
+        Long userId = userIdOf(principal);
+        if (userId == null) {
+            log.warn("Quick match requested without userId in connect headers");
+            return null;
+        }
+        return MatchEventDto.queued(matchmakingService.enqueue(userId));
+    }
+
+    @MessageMapping("/match/cancel")
+    @SendToUser("/queue/match")
+    public MatchEventDto handleCancel(Principal principal) {
+        Long userId = userIdOf(principal);
+        if (userId == null) {
+            return null;
+        }
+        matchmakingService.cancel(userId);
+        return MatchEventDto.cancelled();
+    }
+
+    private static Long userIdOf(Principal principal) {
+        if (principal == null) return null;
+        try {
+            return Long.parseLong(principal.getName());
+        } catch (NumberFormatException e) {
+            log.error("Invalid userId in session principal: {}", principal.getName());
+            return null;
+        }
+    }
+}
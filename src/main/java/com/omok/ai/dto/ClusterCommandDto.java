@@ -0,0 +1,97 @@
+package com.omok.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 노드 간 명령 (브로커의 /queue/omok-node.{nodeId}로 전달)
+ * - type: 받는 노드에 등록된 처리기 이름 (send, join, leave, lobby-open 등)
+ * - requestId가 있으면 요청/응답이며, 받는 노드는 type=reply로 결과(result) 또는 오류(error, message)를 돌려준다.
+ * - send는 다른 노드가 받은 STOMP /app 메시지 원본(destination, payload, userId)이다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClusterCommandDto {
+    public static final String TYPE_REPLY = "reply";
+    public static final String TYPE_SEND = "send";
+
+    private String type;
+    private String origin; // 보낸 노드
+    private String requestId;
+    private Long roomId;
+    private Long userId;
+    private Integer gameNo;
+    private Integer moveCount;
+    private String destination;
+    private String payload;
+    private String principal;
+    private RoomDto room;
+    private JsonNode result;
+    private String error; // invalid, state, conflict
+    private String message;
+
+    public ClusterCommandDto() {}
+
+    public static ClusterCommandDto of(String type, Long roomId, Long userId) {
+        ClusterCommandDto command = new ClusterCommandDto();
+        command.type = type;
+        command.roomId = roomId;
+        command.userId = userId;
+        return command;
+    }
+
+    public static ClusterCommandDto send(String destination, String payload, Long userId, String principal) {
+        ClusterCommandDto command = new ClusterCommandDto();
+        command.type = TYPE_SEND;
+        command.destination = destination;
+        command.payload = payload;
+        command.userId = userId;
+        command.principal = principal;
+        return command;
+    }
+
+    public static ClusterCommandDto reply(String requestId, JsonNode result) {
+        ClusterCommandDto command = new ClusterCommandDto();
+        command.type = TYPE_REPLY;
+        command.requestId = requestId;
+        command.result = result;
+        return command;
+    }
+
+    public static ClusterCommandDto failure(String requestId, String error, String message) {
+        ClusterCommandDto command = new ClusterCommandDto();
+        command.type = TYPE_REPLY;
+        command.requestId = requestId;
+        command.error = error;
+        command.message = message;
+        return command;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+    public String getRequestId() { return requestId; }
+    public void setRequestId(String requestId) { this.requestId = requestId; }
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Integer getGameNo() { return gameNo; }
+    public void setGameNo(Integer gameNo) { this.gameNo = gameNo; }
+    public Integer getMoveCount() { return moveCount; }
+    public void setMoveCount(Integer moveCount) { this.moveCount = moveCount; }
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public String getPrincipal() { return principal; }
+    public void setPrincipal(String principal) { this.principal = principal; }
+    public RoomDto getRoom() { return room; }
+    public void setRoom(RoomDto room) { this.room = room; }
+    public JsonNode getResult() { return result; }
+    public void setResult(JsonNode result) { this.result = result; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
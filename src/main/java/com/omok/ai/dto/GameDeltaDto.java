@@ -0,0 +1,97 @@
+package com.omok.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * /topic/game/{roomId}로 보내는 증분 메시지
+ * - move: 방금 둔 수와 다음 차례, 수 번호(seq), 64비트 보드 해시
+ * - reject: 수가 거부됨 (현재 seq/해시만 포함)
+ * - message: 재촉/음성 메시지 (보드 정보 없음)
+ * 클라이언트는 seq가 건너뛰거나 해시가 다를 때만 전체 상태(/api/rooms/{roomId}/state)를 다시 요청한다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameDeltaDto {
+    public static final String TYPE_MOVE = "move";
+    public static final String TYPE_REJECT = "reject";
+    public static final String TYPE_MESSAGE = "message";
+
+    private String type;
+    private Integer seq; // 현재 게임에서 둔 수의 개수 (수마다 1씩 증가)
+    private String hash; // 보드 Zobrist 해시 (16자리 16진수)
+    private Integer row;
+    private Integer col;
+    private String player; // 방금 둔 돌 'b' 또는 'w'
+    private String turn; // 다음 차례
+    private String status; // 게임이 끝났을 때만 FINISHED
+    private Boolean isGameOver;
+    private String winner;
+    private String kind; // message 종류: nudge, voice
+    private String from; // message 보낸 사람 이름
+    private String message;
+
+    public GameDeltaDto() {}
+
+    public static GameDeltaDto move(int seq, String hash, int row, int col, String player, String turn,
+                                    boolean gameOver, String winner) {
+        GameDeltaDto delta = new GameDeltaDto();
+        delta.type = TYPE_MOVE;
+        delta.seq = seq;
+        delta.hash = hash;
+        delta.row = row;
+        delta.col = col;
+        delta.player = player;
+        delta.turn = turn;
+        if (gameOver) {
+            delta.status = "FINISHED";
+            delta.isGameOver = true;
+            delta.winner = winner;
+        }
+        return delta;
+    }
+
+    public static GameDeltaDto reject(Integer seq, String hash, String turn, String message) {
+        GameDeltaDto delta = new GameDeltaDto();
+        delta.type = TYPE_REJECT;
+        delta.seq = seq;
+        delta.hash = hash;
+        delta.turn = turn;
+        delta.message = message;
+        return delta;
+    }
+
+    public static GameDeltaDto message(String kind, String from, String message) {
+        GameDeltaDto delta = new GameDeltaDto();
+        delta.type = TYPE_MESSAGE;
+        delta.kind = kind;
+        delta.from = from;
+        delta.message = message;
+        return delta;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public Integer getSeq() { return seq; }
+    public void setSeq(Integer seq) { this.seq = seq; }
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+    public Integer getRow() { return row; }
+    public void setRow(Integer row) { this.row = row; }
+    public Integer getCol() { return col; }
+    public void setCol(Integer col) { this.col = col; }
+    public String getPlayer() { return player; }
+    public void setPlayer(String player) { this.player = player; }
+    public String getTurn() { return turn; }
+    public void setTurn(String turn) { this.turn = turn; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Boolean getIsGameOver() { return isGameOver; }
+    public void setIsGameOver(Boolean isGameOver) { this.isGameOver = isGameOver; }
+    public String getWinner() { return winner; }
+    public void setWinner(String winner) { this.winner = winner; }
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+    public String getFrom() { return from; }
+    public void setFrom(String from) { this.from = from; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
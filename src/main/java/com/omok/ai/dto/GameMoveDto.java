@@ -0,0 +1,35 @@
+package com.omok.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+
+public class GameMoveDto {
+    private int seq;
+    private int row;
+    private int col;
+    private String player; // 'b' 또는 'w'
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime playedAt;
+
+    public GameMoveDto() {}
+
+    public GameMoveDto(int seq, int row, int col, String player, LocalDateTime playedAt) {
+        this.seq = seq;
+        this.row = row;
+        this.col = col;
+        this.player = player;
+        this.playedAt = playedAt;
+    }
+
+    public int getSeq() { return seq; }
+    public void setSeq(int seq) { this.seq = seq; }
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+    public int getCol() { return col; }
+    public void setCol(int col) { this.col = col; }
+    public String getPlayer() { return player; }
+    public void setPlayer(String player) { this.player = player; }
+    public LocalDateTime getPlayedAt() { return playedAt; }
+    public void setPlayedAt(LocalDateTime playedAt) { this.playedAt = playedAt; }
+}
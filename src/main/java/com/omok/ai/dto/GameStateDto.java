@@ -9,6 +9,8 @@ public class GameStateDto {
     private String hostName;
     private String guestName;
     private String message; // 선택적 메시지 전달용
+    private Integer seq; // 현재 게임에서 둔 수의 개수 (증분 메시지의 seq와 같은 기준)
+    private String hash; // 보드 Zobrist 해시 (16자리 16진수)
 
     public GameStateDto() {}
 
@@ -50,5 +52,9 @@ public class GameStateDto {
     public void setGuestName(String guestName) { this.guestName = guestName; }
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
+    public Integer getSeq() { return seq; }
+    public void setSeq(Integer seq) { this.seq = seq; }
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
 }
 
@@ -0,0 +1,49 @@
+package com.omok.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * /topic/lobby로 보내는 대기방 목록 증분 이벤트
+ * - added/updated: 대기방이 생기거나 바뀜 (room 포함)
+ * - removed: 대기방이 사라짐 (roomId만 포함)
+ * version은 변경마다 1씩 증가하며, 클라이언트는 건너뛴 번호가 있으면 스냅샷(/api/rooms/lobby)을 다시 받는다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LobbyEventDto {
+    public static final String TYPE_ADDED = "added";
+    public static final String TYPE_UPDATED = "updated";
+    public static final String TYPE_REMOVED = "removed";
+
+    private String type;
+    private long version;
+    private Long roomId;
+    private RoomDto room;
+
+    public LobbyEventDto() {}
+
+    public static LobbyEventDto upsert(long version, RoomDto room, boolean added) {
+        LobbyEventDto event = new LobbyEventDto();
+        event.type = added ? TYPE_ADDED : TYPE_UPDATED;
+        event.version = version;
+        event.roomId = room.getId();
+        event.room = room;
+        return event;
+    }
+
+    public static LobbyEventDto removed(long version, Long roomId) {
+        LobbyEventDto event = new LobbyEventDto();
+        event.type = TYPE_REMOVED;
+        event.version = version;
+        event.roomId = roomId;
+        return event;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+    public RoomDto getRoom() { return room; }
+    public void setRoom(RoomDto room) { this.room = room; }
+}
@@ -0,0 +1,23 @@
+package com.omok.ai.dto;
+
+import java.util.List;
+
+/**
+ * 대기방 목록 스냅샷 (version 이후의 변경은 /topic/lobby 이벤트로 받음)
+ */
+public class LobbySnapshotDto {
+    private long version;
+    private List<RoomDto> rooms;
+
+    public LobbySnapshotDto() {}
+
+    public LobbySnapshotDto(long version, List<RoomDto> rooms) {
+        this.version = version;
+        this.rooms = rooms;
+    }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public List<RoomDto> getRooms() { return rooms; }
+    public void setRooms(List<RoomDto> rooms) { this.rooms = rooms; }
+}
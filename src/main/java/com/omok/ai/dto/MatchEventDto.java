@@ -0,0 +1,57 @@
+package com.omok.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * /user/queue/match로 보내는 빠른 대전 알림
+ * - queued: 대기열에 들어감 (rating 포함)
+ * - matched: 상대가 정해지고 방이 만들어짐 (roomId, color, opponentName 포함)
+ * - cancelled: 대기열에서 빠짐
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MatchEventDto {
+    public static final String TYPE_QUEUED = "queued";
+    public static final String TYPE_MATCHED = "matched";
+    public static final String TYPE_CANCELLED = "cancelled";
+
+    private String type;
+    private Integer rating;
+    private Long roomId;
+    private String color;
+    private String opponentName;
+
+    public MatchEventDto() {}
+
+    public static MatchEventDto queued(int rating) {
+        MatchEventDto event = new MatchEventDto();
+        event.type = TYPE_QUEUED;
+        event.rating = rating;
+        return event;
+    }
+
+    public static MatchEventDto matched(Long roomId, String color, String opponentName) {
+        MatchEventDto event = new MatchEventDto();
+        event.type = TYPE_MATCHED;
+        event.roomId = roomId;
+        event.color = color;
+        event.opponentName = opponentName;
+        return event;
+    }
+
+    public static MatchEventDto cancelled() {
+        MatchEventDto event = new MatchEventDto();
+        event.type = TYPE_CANCELLED;
+        return event;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+    public String getColor() { return color; }
+    public void setColor(String color) { this.color = color; }
+    public String getOpponentName() { return opponentName; }
+    public void setOpponentName(String opponentName) { this.opponentName = opponentName; }
+}
@@ -0,0 +1,62 @@
+package com.omok.ai.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 착수 기록 (추가만 하고 수정하지 않음)
+ * 같은 방에서 새 게임이 시작되면 gameNo가 증가한다.
+ */
+@Entity
+@Table(name = "game_moves",
+        uniqueConstraints = @UniqueConstraint(name = "uk_game_moves_room_game_seq",
+                columnNames = {"room_id", "game_no", "seq"}))
+public class GameMove {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private GameRoom room;
+
+    @Column(name = "game_no", nullable = false)
+    private int gameNo;
+
+    @Column(nullable = false)
+    private int seq; // 1부터 시작하는 수 번호
+
+    @Column(name = "row_idx", nullable = false)
+    private int row;
+
+    @Column(name = "col_idx", nullable = false)
+    private int col;
+
+    @Column(nullable = false)
+    private int player; // 1 (흑) 또는 2 (백)
+
+    @CreationTimestamp
+    private LocalDateTime playedAt;
+
+    public GameMove() {}
+
+    public GameMove(GameRoom room, int gameNo, int seq, int row, int col, int player) {
+        this.room = room;
+        this.gameNo = gameNo;
+        this.seq = seq;
+        this.row = row;
+        this.col = col;
+        this.player = player;
+    }
+
+    public Long getId() { return id; }
+    public GameRoom getRoom() { return room; }
+    public int getGameNo() { return gameNo; }
+    public int getSeq() { return seq; }
+    public int getRow() { return row; }
+    public int getCol() { return col; }
+    public int getPlayer() { return player; }
+    public LocalDateTime getPlayedAt() { return playedAt; }
+}
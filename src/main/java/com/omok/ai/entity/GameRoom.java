@@ -1,11 +1,20 @@
 package com.omok.ai.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "game_rooms")
+@Table(name = "game_rooms",
+        indexes = {
+                @Index(name = "idx_game_rooms_host", columnList = "host_id"),
+                @Index(name = "idx_game_rooms_guest", columnList = "guest_id"),
+                // 정리 작업용: 상태별로 오래된 방 id를 인덱스만 읽어 찾음
+                @Index(name = "idx_game_rooms_status_created", columnList = "status, created_at"),
+                @Index(name = "idx_game_rooms_status_started", columnList = "status, started_at"),
+                @Index(name = "idx_game_rooms_status_finished", columnList = "status, finished_at")
+        })
 public class GameRoom {
 
     @Id
@@ -33,6 +42,13 @@ public class GameRoom {
 
     private LocalDateTime startedAt;
 
+    private LocalDateTime finishedAt; // 종료된 시각 (FINISHED 방 정리 기준)
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version; // 낙관적 잠금 (기존 행은 0부터 시작)
+
     public GameRoom() {}
 
     public Long getId() { return id; }
@@ -42,13 +58,26 @@ public class GameRoom {
     public User getGuest() { return guest; }
     public void setGuest(User guest) { this.guest = guest; }
     public RoomStatus getStatus() { return status; }
-    public void setStatus(RoomStatus status) { this.status = status; }
+    public void setStatus(RoomStatus status) {
+        // FINISHED로 바뀔 때 종료 시각 기록, 새 게임/대기로 바뀌면 지움
+        if (status == RoomStatus.FINISHED) {
+            if (this.status != RoomStatus.FINISHED || finishedAt == null) {
+                finishedAt = LocalDateTime.now();
+            }
+        } else {
+            finishedAt = null;
+        }
+        this.status = status;
+    }
     public GameType getGameType() { return gameType; }
     public void setGameType(GameType gameType) { this.gameType = gameType; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getStartedAt() { return startedAt; }
     public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    public Long getVersion() { return version; }
 
     public enum RoomStatus {
         WAITING,    // 대기 중
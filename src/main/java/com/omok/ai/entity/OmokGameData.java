@@ -1,6 +1,7 @@
 package com.omok.ai.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "omok_game_data")
@@ -14,8 +15,11 @@ public class OmokGameData {
     @JoinColumn(name = "room_id", nullable = false, unique = true)
     private GameRoom room;
 
+    @Column(name = "board_data", columnDefinition = "VARBINARY(64)")
+    private byte[] boardData; // snapshotSeq 시점의 보드 스냅샷 (BoardCodec, 57바이트)
+
     @Column(columnDefinition = "TEXT")
-    private String boardState; // JSON 문자열: {"board":[[0,0,0,...],...], "turn":"b"}
+    private String boardState; // 레거시 JSON 보드. board_data로 변환되면 null
 
     @Column(length = 10)
     private String turn; // 'b' (흑) 또는 'w' (백)
@@ -23,23 +27,49 @@ public class OmokGameData {
     @Column(length = 10)
     private String winner; // 'b', 'w', 'draw' 또는 null
 
+    @Column(name = "move_count")
+    private Integer moveCount; // 놓인 돌 개수 (무승부 판정용, 기존 데이터는 null)
+
+    @Column(name = "game_no")
+    private Integer gameNo; // 방 안에서의 게임 번호 (새 게임마다 증가)
+
+    @Column(name = "snapshot_seq")
+    private Integer snapshotSeq; // board_data가 반영한 마지막 수 번호 (null이면 board_data가 현재 보드)
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version; // 낙관적 잠금 (기존 행은 0부터 시작)
+
     public OmokGameData() {}
 
-    public OmokGameData(GameRoom room, String boardState, String turn) {
+    public OmokGameData(GameRoom room, byte[] boardData, String turn) {
         this.room = room;
-        this.boardState = boardState;
+        this.boardData = boardData;
         this.turn = turn;
+        this.moveCount = 0;
+        this.gameNo = 0;
+        this.snapshotSeq = 0;
     }
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public GameRoom getRoom() { return room; }
     public void setRoom(GameRoom room) { this.room = room; }
+    public byte[] getBoardData() { return boardData; }
+    public void setBoardData(byte[] boardData) { this.boardData = boardData; }
     public String getBoardState() { return boardState; }
     public void setBoardState(String boardState) { this.boardState = boardState; }
     public String getTurn() { return turn; }
     public void setTurn(String turn) { this.turn = turn; }
     public String getWinner() { return winner; }
     public void setWinner(String winner) { this.winner = winner; }
+    public Integer getMoveCount() { return moveCount; }
+    public void setMoveCount(Integer moveCount) { this.moveCount = moveCount; }
+    public Integer getGameNo() { return gameNo; }
+    public void setGameNo(Integer gameNo) { this.gameNo = gameNo; }
+    public Integer getSnapshotSeq() { return snapshotSeq; }
+    public void setSnapshotSeq(Integer snapshotSeq) { this.snapshotSeq = snapshotSeq; }
+    public Long getVersion() { return version; }
 }
 
@@ -1,6 +1,10 @@
 package com.omok.ai.listener;
 
+import com.omok.ai.service.ChatRateLimiter;
 import com.omok.ai.service.GameRoomService;
+import com.omok.ai.service.MatchmakingService;
+import com.omok.ai.service.SpectatorRegistry;
+import com.omok.ai.service.UserRoomIndex;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
@@ -14,9 +18,19 @@ public class WebSocketEventListener {
 
     private static final Logger log = LoggerFactory.getLogger(WebSocketEventListener.class);
     private final GameRoomService gameRoomService;
+    private final UserRoomIndex userRoomIndex;
+    private final MatchmakingService matchmakingService;
+    private final SpectatorRegistry spectatorRegistry;
+    private final ChatRateLimiter chatRateLimiter;
 
-    public WebSocketEventListener(GameRoomService gameRoomService) {
+    public WebSocketEventListener(GameRoomService gameRoomService, UserRoomIndex userRoomIndex,
+                                  MatchmakingService matchmakingService, SpectatorRegistry spectatorRegistry,
+                                  ChatRateLimiter chatRateLimiter) {
         this.gameRoomService = gameRoomService;
+        this.userRoomIndex = userRoomIndex;
+        this.matchmakingService = matchmakingService;
+        this.spectatorRegistry = spectatorRegistry;
+        this.chatRateLimiter = chatRateLimiter;
     }
 
     @EventListener
@@ -26,11 +40,23 @@ public class WebSocketEventListener {
         if (userId != null) {
             headerAccessor.getSessionAttributes().put("userId", userId);
             log.info("WebSocket Session Connected for userId: {}", userId);
+            try {
+                Long id = Long.parseLong(userId);
+                // 유예 시간 안에 다시 접속했으면 이탈 처리 취소
+                gameRoomService.handleUserReconnect(id);
+                // 접속 종료 시 전체 방을 훑지 않도록 참여 방을 미리 색인
+                userRoomIndex.register(id);
+            } catch (NumberFormatException e) {
+                log.error("Invalid userId in connect headers: {}", userId);
+            }
         }
     }
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
+        // 관전 구독은 로그인 여부와 관계없이 해제
+        spectatorRegistry.removeSession(event.getSessionId());
+
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String userIdStr = (String) headerAccessor.getSessionAttributes().get("userId");
         
@@ -38,6 +64,10 @@ public class WebSocketEventListener {
             try {
                 Long userId = Long.parseLong(userIdStr);
                 log.info("WebSocket Session Disconnected for userId: {}", userId);
+                // 빠른 대전 대기 중이었으면 대기열에서 제거
+                matchmakingService.cancel(userId);
+                chatRateLimiter.release(userId);
+                // 방 이탈은 재접속 유예 시간 뒤에 처리
                 gameRoomService.handleUserDisconnect(userId);
             } catch (NumberFormatException e) {
                 log.error("Invalid userId in session: {}", userIdStr);
@@ -0,0 +1,29 @@
+package com.omok.ai.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 최근 AI 탐색 내역 조회용 Actuator 엔드포인트 (/actuator/aisearch)
+ */
+@Component
+@Endpoint(id = "aisearch")
+public class AISearchEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final AISearchMetrics searchMetrics;
+
+    public AISearchEndpoint(AISearchMetrics searchMetrics) {
+        this.searchMetrics = searchMetrics;
+    }
+
+    @ReadOperation
+    public List<AISearchMetrics.SearchRecord> recentSearches(@Nullable Integer limit) {
+        return searchMetrics.recentSearches(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
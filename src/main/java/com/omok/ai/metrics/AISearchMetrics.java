@@ -0,0 +1,117 @@
+package com.omok.ai.metrics;
+
+import com.omok.ai.service.SearchStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 탐색 통계를 Micrometer 지표로 기록하고 최근 탐색 내역을 보관
+ */
+@Component
+public class AISearchMetrics {
+
+    private static final int RECENT_LIMIT = 100;
+
+    private final MeterRegistry registry;
+    private final Deque<SearchRecord> recent = new ArrayDeque<>(RECENT_LIMIT);
+
+    public AISearchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 탐색 1회 결과 기록
+     */
+    public void record(SearchStats stats, int[] move) {
+        String difficulty = String.valueOf(stats.getDifficulty());
+        String path = stats.getPath().name();
+
+        Timer.builder("omok.ai.search")
+                .description("AI 탐색 소요 시간")
+                .tag("difficulty", difficulty)
+                .tag("path", path)
+                .tag("degraded", String.valueOf(stats.getDegradeLevel() > 0))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getNodes() > 0) {
+            summary("omok.ai.search.nodes", "탐색 노드 수", difficulty).record(stats.getNodes());
+            summary("omok.ai.search.nps", "초당 탐색 노드 수", difficulty).record(stats.getNodesPerSecond());
+            summary("omok.ai.search.depth", "도달 탐색 깊이", difficulty).record(stats.getMaxDepth());
+            ratio("omok.ai.search.cutoff.rate", "내부 노드 대비 컷오프 비율", difficulty).record(stats.getCutoffRate());
+            summary("omok.ai.search.candidates", "내부 노드당 평균 후보 수", difficulty).record(stats.getAverageCandidates());
+        }
+
+        if (stats.getCacheLookups() > 0) {
+            Counter.builder("omok.ai.cache.lookups").tag("difficulty", difficulty).register(registry)
+                    .increment(stats.getCacheLookups());
+            Counter.builder("omok.ai.cache.hits").tag("difficulty", difficulty).register(registry)
+                    .increment(stats.getCacheHits());
+        }
+
+        SearchRecord searchRecord = new SearchRecord(Instant.now(), stats.getDifficulty(), path,
+                stats.getDegradeLevel(), move[0], move[1],
+                stats.getElapsedNanos() / 1_000_000.0, stats.getNodes(), Math.round(stats.getNodesPerSecond()),
+                stats.getMaxDepth(), stats.getBetaCutoffs(), stats.getCutoffRate(), stats.getAverageCandidates(),
+                stats.getCacheLookups(), stats.getCacheHits());
+        synchronized (recent) {
+            if (recent.size() == RECENT_LIMIT) {
+                recent.removeLast();
+            }
+            recent.addFirst(searchRecord);
+        }
+    }
+
+    /**
+     * 최근 탐색 내역 (최신순)
+     */
+    public List<SearchRecord> recentSearches(int limit) {
+        synchronized (recent) {
+            List<SearchRecord> result = new ArrayList<>(Math.min(limit, recent.size()));
+            for (SearchRecord searchRecord : recent) {
+                if (result.size() >= limit) break;
+                result.add(searchRecord);
+            }
+            return result;
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String difficulty) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("difficulty", difficulty)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * 0..1 비율용: 기본 히스토그램 버킷은 1 이상이라 모두 첫 버킷에 들어가므로 고정 구간을 씀
+     */
+    private DistributionSummary ratio(String name, String description, String difficulty) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("difficulty", difficulty)
+                .serviceLevelObjectives(0.1, 0.25, 0.5, 0.75, 0.9)
+                .register(registry);
+    }
+
+    /**
+     * 최근 탐색 1건 요약
+     */
+    public record SearchRecord(Instant at, int difficulty, String path, int degradeLevel, int row, int col,
+                               double elapsedMs,
+                               long nodes, long nodesPerSecond, int depth, long cutoffs, double cutoffRate,
+                               double averageCandidates, long cacheLookups, long cacheHits) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.omok.ai.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 정리 작업 지표 (정리 대상 종류별 삭제 행 수와 소요 시간)
+ * kind: waiting, playing, finished, archived
+ */
+@Component
+public class RoomCleanupMetrics {
+
+    private final MeterRegistry registry;
+
+    public RoomCleanupMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 정리 대상 한 종류를 처리한 결과 기록
+     */
+    public void record(String kind, int deleted, long elapsedNanos) {
+        DistributionSummary.builder("omok.cleanup.rooms.deleted")
+                .description("정리 1회에 삭제된 방 수")
+                .tag("kind", kind)
+                .register(registry)
+                .record(deleted);
+        Timer.builder("omok.cleanup.duration")
+                .description("정리 소요 시간")
+                .tag("kind", kind)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,113 @@
+package com.omok.ai.metrics;
+
+import com.omok.ai.config.BoundedDataSource;
+import com.omok.ai.config.VirtualThreadConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 스레드 모드 지표
+ *
+ * - omok.threads.virtual.pinned: 캐리어 스레드에 고정(pinned)된 가상 스레드 수 (JFR jdk.VirtualThreadPinned,
+ *   omok.threads.virtual.pinned-threshold-ms 이상만), omok.threads.virtual.pinned.duration: 고정 시간
+ * - omok.db.permit.wait: DB 허가 대기 시간, omok.db.permit.active/waiting: 사용 중/대기 중 수, omok.db.permit.timeouts: 대기 초과 수
+ * - 가상 스레드 모드가 아니면 아무것도 등록하지 않는다.
+ */
+@Component
+public class VirtualThreadMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadMetrics.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final MeterRegistry registry;
+    private final ObjectProvider<DataSource> dataSource;
+    private final boolean active;
+    private final long pinnedThresholdMs;
+    private RecordingStream pinnedEvents;
+
+    public VirtualThreadMetrics(MeterRegistry registry, ObjectProvider<DataSource> dataSource,
+                                @Value("${omok.threads.virtual.enabled:false}") boolean enabled,
+                                @Value("${omok.threads.virtual.pinned-threshold-ms:20}") long pinnedThresholdMs) {
+        this.registry = registry;
+        this.dataSource = dataSource;
+        this.active = VirtualThreadConfig.isActive(enabled);
+        this.pinnedThresholdMs = pinnedThresholdMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!active) return;
+        if (dataSource.getIfAvailable() instanceof BoundedDataSource bounded) {
+            bindPermits(bounded);
+        }
+        startPinnedEvents();
+    }
+
+    private void bindPermits(BoundedDataSource bounded) {
+        FunctionTimer.builder("omok.db.permit.wait", bounded,
+                        BoundedDataSource::getAcquiredCount, BoundedDataSource::getTotalWaitNanos, TimeUnit.NANOSECONDS)
+                .description("DB 커넥션 허가 대기 시간")
+                .register(registry);
+        Gauge.builder("omok.db.permit.active", bounded, BoundedDataSource::getActive)
+                .description("허가를 받아 커넥션을 쓰는 중인 수")
+                .register(registry);
+        Gauge.builder("omok.db.permit.waiting", bounded, BoundedDataSource::getWaiting)
+                .description("허가를 기다리는 스레드 수")
+                .register(registry);
+        FunctionCounter.builder("omok.db.permit.timeouts", bounded, BoundedDataSource::getTimeoutCount)
+                .description("허가 대기 시간 초과 수")
+                .register(registry);
+    }
+
+    private void startPinnedEvents() {
+        Counter pinned = Counter.builder("omok.threads.virtual.pinned")
+                .description("캐리어 스레드에 고정된 가상 스레드 수")
+                .register(registry);
+        Timer pinnedDuration = Timer.builder("omok.threads.virtual.pinned.duration")
+                .description("가상 스레드 고정 시간")
+                .register(registry);
+        try {
+            pinnedEvents = new RecordingStream();
+            pinnedEvents.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMs)).withStackTrace();
+            pinnedEvents.onEvent(PINNED_EVENT, event -> {
+                pinned.increment();
+                pinnedDuration.record(event.getDuration());
+                if (log.isDebugEnabled() && event.getStackTrace() != null) {
+                    List<RecordedFrame> frames = event.getStackTrace().getFrames();
+                    log.debug("Virtual thread pinned for {}ms at {}", event.getDuration().toMillis(),
+                            frames.isEmpty() ? "?" : frames.get(0).getMethod().getType().getName() + "." + frames.get(0).getMethod().getName());
+                }
+            });
+            pinnedEvents.startAsync();
+        } catch (RuntimeException e) {
+            // JFR을 쓸 수 없는 런타임에서는 고정 지표 없이 계속 실행
+            log.warn("Virtual thread pinning metrics are unavailable: {}", e.getMessage());
+            pinnedEvents = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pinnedEvents != null) {
+            pinnedEvents.close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.omok.ai.metrics;
+
+import com.omok.ai.config.OutboundQueueManager;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 세션별 WebSocket 송신 대기열 조회용 Actuator 엔드포인트 (/actuator/wsoutbound, 대기 바이트가 많은 순)
+ */
+@Component
+@Endpoint(id = "wsoutbound")
+public class WebSocketOutboundEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final OutboundQueueManager outboundQueueManager;
+
+    public WebSocketOutboundEndpoint(OutboundQueueManager outboundQueueManager) {
+        this.outboundQueueManager = outboundQueueManager;
+    }
+
+    @ReadOperation
+    public List<OutboundQueueManager.SessionStats> sessions(@Nullable Integer limit) {
+        return outboundQueueManager.sessionStats(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -3,10 +3,17 @@ package com.omok.ai.repository;
 import com.omok.ai.entity.GameHistory;
 import com.omok.ai.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface GameHistoryRepository extends JpaRepository<GameHistory, Long> {
     List<GameHistory> findByUserOrderByPlayedAtDesc(User user);
     List<GameHistory> findByUserAndGameTypeOrderByPlayedAtDesc(User user, GameHistory.GameType gameType);
-}
 
+    /**
+     * 결과별 판 수 ([GameResult, count]), 빠른 대전 실력 구간 계산용
+     */
+    @Query("select h.result, count(h) from GameHistory h where h.user.id = :userId and h.gameType = :gameType group by h.result")
+    List<Object[]> countResultsByUserId(@Param("userId") Long userId, @Param("gameType") GameHistory.GameType gameType);
+}
@@ -0,0 +1,24 @@
+package com.omok.ai.repository;
+
+import com.omok.ai.entity.GameMove;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GameMoveRepository extends JpaRepository<GameMove, Long> {
+    List<GameMove> findByRoomIdAndGameNoAndSeqGreaterThanOrderBySeqAsc(Long roomId, int gameNo, int seq);
+    List<GameMove> findByRoomIdAndGameNoOrderBySeqAsc(Long roomId, int gameNo);
+    List<GameMove> findByRoomIdInOrderByRoomIdAscGameNoAscSeqAsc(Collection<Long> roomIds);
+
+    @Modifying
+    @Query("delete from GameMove m where m.room.id = :roomId")
+    int deleteByRoomId(@Param("roomId") Long roomId);
+
+    @Modifying
+    @Query("delete from GameMove m where m.room.id in :roomIds")
+    int deleteByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
+}
@@ -1,16 +1,65 @@
 package com.omok.ai.repository;
 
 import com.omok.ai.entity.GameRoom;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface GameRoomRepository extends JpaRepository<GameRoom, Long> {
     List<GameRoom> findByStatusOrderByCreatedAtDesc(GameRoom.RoomStatus status);
     List<GameRoom> findByStatus(GameRoom.RoomStatus status);
     List<GameRoom> findByStatusAndGameTypeOrderByCreatedAtDesc(GameRoom.RoomStatus status, GameRoom.GameType gameType);
-    List<GameRoom> findByStatusAndCreatedAtBefore(GameRoom.RoomStatus status, LocalDateTime dateTime);
-    List<GameRoom> findByStatusAndStartedAtBefore(GameRoom.RoomStatus status, LocalDateTime dateTime);
+
+    // 대기방 목록용: 호스트를 함께 로드 (방마다 호스트를 따로 읽지 않도록)
+    @Query("select r from GameRoom r join fetch r.host where r.status = :status and r.gameType = :gameType order by r.createdAt desc")
+    List<GameRoom> findWithHostByStatusAndGameType(@Param("status") GameRoom.RoomStatus status,
+                                                   @Param("gameType") GameRoom.GameType gameType);
+
+    // 사용자가 방장 또는 게스트인 방 id (host_id/guest_id 인덱스 사용)
+    @Query("select r.id from GameRoom r where r.gameType = :gameType and (r.host.id = :userId or r.guest.id = :userId)")
+    List<Long> findIdsByParticipant(@Param("userId") Long userId, @Param("gameType") GameRoom.GameType gameType);
+
+    // 보관 대상 방을 id 순 키셋 방식으로 조회 (호스트/게스트 함께 로드)
+    @Query("select r from GameRoom r join fetch r.host left join fetch r.guest " +
+            "where r.status = :status and r.finishedAt < :before and r.id > :afterId order by r.id")
+    List<GameRoom> findBatchForArchive(@Param("status") GameRoom.RoomStatus status,
+                                       @Param("before") LocalDateTime before,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    // 정리 대상 방 id (상태+시각 인덱스만 읽음, 오래된 순으로 청크 크기만큼)
+    @Query("select r.id from GameRoom r where r.status = :status and r.createdAt < :before order by r.createdAt")
+    List<Long> findIdsByStatusAndCreatedAtBefore(@Param("status") GameRoom.RoomStatus status,
+                                                 @Param("before") LocalDateTime before, Pageable pageable);
+
+    @Query("select r.id from GameRoom r where r.status = :status and r.startedAt < :before order by r.startedAt")
+    List<Long> findIdsByStatusAndStartedAtBefore(@Param("status") GameRoom.RoomStatus status,
+                                                 @Param("before") LocalDateTime before, Pageable pageable);
+
+    @Query("select r.id from GameRoom r where r.status = :status and r.finishedAt < :before order by r.finishedAt")
+    List<Long> findIdsByStatusAndFinishedAtBefore(@Param("status") GameRoom.RoomStatus status,
+                                                  @Param("before") LocalDateTime before, Pageable pageable);
+
+    // finished_at 추가 전에 종료된 방: 시작(없으면 생성) 시각으로 채움
+    @Modifying
+    @Query("update GameRoom r set r.finishedAt = coalesce(r.startedAt, r.createdAt) " +
+            "where r.status = :status and r.finishedAt is null")
+    int backfillFinishedAt(@Param("status") GameRoom.RoomStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id from GameRoom r where r.id in :ids and r.status = :status")
+    List<Long> lockIdsByStatus(@Param("ids") Collection<Long> ids, @Param("status") GameRoom.RoomStatus status);
+
+    @Modifying
+    @Query("delete from GameRoom r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
 
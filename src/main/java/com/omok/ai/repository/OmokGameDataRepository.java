@@ -3,11 +3,26 @@ package com.omok.ai.repository;
 import com.omok.ai.entity.OmokGameData;
 import com.omok.ai.entity.GameRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OmokGameDataRepository extends JpaRepository<OmokGameData, Long> {
     Optional<OmokGameData> findByRoom(GameRoom room);
     Optional<OmokGameData> findByRoomId(Long roomId);
+    List<OmokGameData> findTop200ByBoardDataIsNullAndIdGreaterThanOrderByIdAsc(Long id);
+    List<OmokGameData> findByRoomIdIn(Collection<Long> roomIds);
+
+    // 상태 조회용: 방과 호스트/게스트를 한 번에 로드
+    @Query("select d from OmokGameData d join fetch d.room r join fetch r.host left join fetch r.guest where r.id = :roomId")
+    Optional<OmokGameData> findForStateByRoomId(@Param("roomId") Long roomId);
+
+    @Modifying
+    @Query("delete from OmokGameData d where d.room.id in :roomIds")
+    int deleteByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
 }
 
@@ -0,0 +1,150 @@
+package com.omok.ai.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * 서버 부하에 따라 AI 탐색 예산을 조절
+ * 동시 탐색 수와 최근 탐색 지연(EWMA)을 기준으로 단계별로 탐색을 축소한다.
+ * 지연 평균은 새 Minimax 탐색이 없으면 시간에 따라 줄어들어 (반감기 omok.ai.load.latency-half-life-ms),
+ * 축소로 Minimax 표본이 끊겨도 부하가 내려가면 원래 예산으로 돌아온다.
+ */
+@Component
+public class AILoadGovernor {
+
+    private static final Logger log = LoggerFactory.getLogger(AILoadGovernor.class);
+
+    // 최근 지연 평균의 반영 비율 (새 값 20%)
+    private static final double EWMA_ALPHA = 0.2;
+
+    // 지연 평균과 마지막 갱신 시각
+    private record Latency(double ewmaNanos, long atNanos) {}
+
+    private final MeterRegistry registry;
+    private final int maxConcurrentSearches;
+    private final long latencyThresholdNanos;
+    private final double halfLifeNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Latency> latency;
+
+    @Autowired
+    public AILoadGovernor(MeterRegistry registry,
+                          @Value("${omok.ai.load.max-concurrent-searches:0}") int maxConcurrentSearches,
+                          @Value("${omok.ai.load.latency-threshold-ms:1000}") long latencyThresholdMs,
+                          @Value("${omok.ai.load.latency-half-life-ms:10000}") long latencyHalfLifeMs) {
+        this(registry, maxConcurrentSearches, latencyThresholdMs, latencyHalfLifeMs, System::nanoTime);
+    }
+
+    // 테스트용: 시계 지정
+    AILoadGovernor(MeterRegistry registry, int maxConcurrentSearches, long latencyThresholdMs,
+                   long latencyHalfLifeMs, LongSupplier clock) {
+        if (latencyHalfLifeMs <= 0) {
+            throw new IllegalArgumentException("omok.ai.load.latency-half-life-ms must be positive: " + latencyHalfLifeMs);
+        }
+        this.registry = registry;
+        this.clock = clock;
+        this.halfLifeNanos = latencyHalfLifeMs * 1_000_000.0;
+        this.latency = new AtomicReference<>(new Latency(0, clock.getAsLong()));
+        // 0 이하이면 CPU 코어 수를 기준으로 사용
+        this.maxConcurrentSearches = maxConcurrentSearches > 0
+                ? maxConcurrentSearches : Runtime.getRuntime().availableProcessors();
+        this.latencyThresholdNanos = latencyThresholdMs * 1_000_000L;
+
+        Gauge.builder("omok.ai.inflight", inFlight, AtomicInteger::get)
+                .description("진행 중인 AI 탐색 수")
+                .register(registry);
+        Gauge.builder("omok.ai.latency.ewma", this, governor -> governor.currentLatencyNanos() / 1_000_000.0)
+                .description("최근 AI 탐색 지연 평균 (ms)")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    /**
+     * 탐색 시작: 현재 부하에 맞는 예산을 반환 (반드시 release 호출 필요)
+     */
+    public SearchBudget acquire(int difficulty) {
+        int concurrent = inFlight.incrementAndGet();
+        SearchBudget budget = SearchBudget.full(difficulty);
+        if (budget.scoreOnly()) {
+            return budget;
+        }
+
+        long latency = currentLatencyNanos();
+        int level = 0;
+        if (concurrent > 2L * maxConcurrentSearches || latency > 2 * latencyThresholdNanos) {
+            level = 2;
+        } else if (concurrent > maxConcurrentSearches || latency > latencyThresholdNanos) {
+            level = 1;
+        }
+        if (level == 0) {
+            return budget;
+        }
+        String reason = concurrent > maxConcurrentSearches ? "concurrency" : "latency";
+
+        SearchBudget degraded = degrade(difficulty, level);
+        Counter.builder("omok.ai.degraded")
+                .description("부하로 인해 축소된 AI 탐색 수")
+                .tag("difficulty", String.valueOf(difficulty))
+                .tag("level", String.valueOf(level))
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+        log.debug("AI search degraded to level {} (difficulty {}, inFlight {}, ewma {} ms)",
+                level, difficulty, concurrent, latency / 1_000_000);
+        return degraded;
+    }
+
+    /**
+     * 탐색 종료: 동시 탐색 수 감소 및 지연 평균 갱신 (Minimax 탐색만 평균에 반영)
+     */
+    public void release(SearchStats stats) {
+        inFlight.decrementAndGet();
+        if (stats.getPath() == SearchStats.Path.MINIMAX) {
+            recordLatency(stats.getElapsedNanos());
+        }
+    }
+
+    void recordLatency(long elapsedNanos) {
+        long now = clock.getAsLong();
+        latency.getAndUpdate(prev -> {
+            double decayed = decay(prev, now);
+            return new Latency(decayed == 0 ? elapsedNanos : decayed + EWMA_ALPHA * (elapsedNanos - decayed), now);
+        });
+    }
+
+    /**
+     * 마지막 갱신 이후 경과 시간만큼 줄어든 지연 평균
+     */
+    long currentLatencyNanos() {
+        return (long) decay(latency.get(), clock.getAsLong());
+    }
+
+    private double decay(Latency value, long now) {
+        long idle = now - value.atNanos();
+        if (idle <= 0 || value.ewmaNanos() == 0) return value.ewmaNanos();
+        return value.ewmaNanos() * Math.pow(0.5, idle / halfLifeNanos);
+    }
+
+    private SearchBudget degrade(int difficulty, int level) {
+        if (difficulty >= 3) {
+            // 마스터: 깊이를 줄이고 후보 수를 제한
+            return level == 1
+                    ? new SearchBudget(2, 12, false, level)
+                    : new SearchBudget(2, 8, false, level);
+        }
+        // 어려움: 단순 가치 평가로 전환
+        return new SearchBudget(0, SearchBudget.FULL_CANDIDATES, true, level);
+    }
+}
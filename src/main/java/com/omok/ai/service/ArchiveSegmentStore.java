@@ -0,0 +1,248 @@
+package com.omok.ai.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 종료된 게임 보관용 추가 전용(append-only) 세그먼트 파일
+ *
+ * - segment-NNNNNN.gz: 배치 하나가 gzip 멤버 하나 (버전 1바이트 + 레코드들)
+ * - segment-NNNNNN.idx: 배치마다 32바이트 (첫 방 id, 마지막 방 id, 오프셋, 길이, 레코드 수)
+ * 세그먼트를 먼저 쓰고 fsync한 뒤 인덱스를 기록하므로, 쓰다가 중단된 배치는 인덱스에 없어 읽히지 않는다.
+ */
+@Component
+public class ArchiveSegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveSegmentStore.class);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int INDEX_ENTRY_SIZE = 32;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{6})\\.gz");
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final boolean enabled;
+    private int currentSegment;
+
+    public ArchiveSegmentStore(@Value("${omok.archive.enabled:true}") boolean enabled,
+                               @Value("${omok.archive.path:data/archive}") String path,
+                               @Value("${omok.archive.segment-max-bytes:67108864}") long maxSegmentBytes) {
+        this.directory = Path.of(path);
+        this.maxSegmentBytes = maxSegmentBytes;
+        boolean ready = false;
+        if (enabled) {
+            try {
+                Files.createDirectories(directory);
+                currentSegment = Math.max(1, segmentNumbers().stream().mapToInt(Integer::intValue).max().orElse(1));
+                ready = true;
+                log.info("Game archive opened: {} (current segment {})", directory, currentSegment);
+            } catch (IOException e) {
+                log.error("Game archive disabled: cannot open {}", directory, e);
+            }
+        }
+        this.enabled = ready;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 배치를 gzip 멤버 하나로 압축해 현재 세그먼트 끝에 추가 (fsync 후 반환)
+     */
+    public synchronized void append(List<GameArchiveRecord> batch) throws IOException {
+        if (!enabled || batch.isEmpty()) return;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(FORMAT_VERSION);
+            for (GameArchiveRecord record : batch) {
+                writeRecord(out, record);
+            }
+        }
+        byte[] member = bytes.toByteArray();
+
+        Path segment = segmentPath(currentSegment);
+        if (Files.exists(segment) && Files.size(segment) >= maxSegmentBytes) {
+            currentSegment++;
+            segment = segmentPath(currentSegment);
+        }
+
+        long offset;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            offset = channel.size();
+            channel.position(offset);
+            writeFully(channel, ByteBuffer.wrap(member));
+            channel.force(true);
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+        entry.putLong(batch.get(0).roomId());
+        entry.putLong(batch.get(batch.size() - 1).roomId());
+        entry.putLong(offset);
+        entry.putInt(member.length);
+        entry.putInt(batch.size());
+        entry.flip();
+        try (FileChannel channel = FileChannel.open(indexPath(currentSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeFully(channel, entry);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * 방 id 범위의 레코드를 세그먼트 순서대로 하나씩 전달 (배치 단위로만 메모리에 올림)
+     */
+    public void scan(long fromRoomId, long toRoomId, Consumer<GameArchiveRecord> sink) throws IOException {
+        if (!enabled) return;
+        for (int number : segmentNumbers()) {
+            Path index = indexPath(number);
+            if (!Files.exists(index)) continue;
+            byte[] entries = Files.readAllBytes(index);
+            try (FileChannel segment = FileChannel.open(segmentPath(number), StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.wrap(entries);
+                while (buffer.remaining() >= INDEX_ENTRY_SIZE) {
+                    long firstRoomId = buffer.getLong();
+                    long lastRoomId = buffer.getLong();
+                    long offset = buffer.getLong();
+                    int length = buffer.getInt();
+                    int count = buffer.getInt();
+                    if (lastRoomId < fromRoomId || firstRoomId > toRoomId) continue;
+
+                    byte[] member = new byte[length];
+                    readFully(segment, ByteBuffer.wrap(member), offset);
+                    try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(member)))) {
+                        int version = in.readUnsignedByte();
+                        if (version != FORMAT_VERSION) {
+                            throw new IOException("Unsupported archive format version " + version + " in " + segmentPath(number));
+                        }
+                        for (int i = 0; i < count; i++) {
+                            GameArchiveRecord record = readRecord(in);
+                            if (record.roomId() >= fromRoomId && record.roomId() <= toRoomId) {
+                                sink.accept(record);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, GameArchiveRecord record) throws IOException {
+        out.writeLong(record.roomId());
+        out.writeLong(record.hostId());
+        out.writeUTF(nullToEmpty(record.hostName()));
+        out.writeLong(record.guestId() != null ? record.guestId() : -1);
+        out.writeUTF(nullToEmpty(record.guestName()));
+        out.writeLong(toMillis(record.createdAt()));
+        out.writeLong(toMillis(record.startedAt()));
+        out.writeLong(toMillis(record.archivedAt()));
+        out.writeUTF(nullToEmpty(record.winner()));
+        out.writeInt(record.gameNo());
+        out.writeInt(record.moveCount());
+        out.write(BoardCodec.encode(record.board()));
+        out.writeInt(record.moves().size());
+        for (GameArchiveRecord.Move move : record.moves()) {
+            out.writeInt(move.gameNo());
+            out.writeShort(move.seq());
+            out.writeByte(move.row());
+            out.writeByte(move.col());
+            out.writeByte(move.player());
+            out.writeLong(toMillis(move.playedAt()));
+        }
+    }
+
+    private static GameArchiveRecord readRecord(DataInputStream in) throws IOException {
+        long roomId = in.readLong();
+        long hostId = in.readLong();
+        String hostName = emptyToNull(in.readUTF());
+        long guestId = in.readLong();
+        String guestName = emptyToNull(in.readUTF());
+        LocalDateTime createdAt = fromMillis(in.readLong());
+        LocalDateTime startedAt = fromMillis(in.readLong());
+        LocalDateTime archivedAt = fromMillis(in.readLong());
+        String winner = emptyToNull(in.readUTF());
+        int gameNo = in.readInt();
+        int moveCount = in.readInt();
+        byte[] boardData = new byte[BoardCodec.ENCODED_LENGTH];
+        in.readFully(boardData);
+        int moveTotal = in.readInt();
+        List<GameArchiveRecord.Move> moves = new ArrayList<>(moveTotal);
+        for (int i = 0; i < moveTotal; i++) {
+            moves.add(new GameArchiveRecord.Move(in.readInt(), in.readUnsignedShort(),
+                    in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte(), fromMillis(in.readLong())));
+        }
+        return new GameArchiveRecord(roomId, hostId, hostName, guestId >= 0 ? guestId : null, guestName,
+                createdAt, startedAt, archivedAt, winner, gameNo, moveCount, BoardCodec.decode(boardData), moves);
+    }
+
+    private List<Integer> segmentNumbers() throws IOException {
+        List<Integer> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) numbers.add(Integer.parseInt(matcher.group(1)));
+            });
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("segment-%06d.gz", number));
+    }
+
+    private Path indexPath(int number) {
+        return directory.resolve(String.format("segment-%06d.idx", number));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Archive segment is shorter than its index");
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return millis >= 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()) : null;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
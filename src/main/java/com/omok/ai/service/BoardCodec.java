@@ -0,0 +1,51 @@
+package com.omok.ai.service;
+
+/**
+ * 보드를 칸당 2비트로 압축하는 코덱 (225칸 -> 57바이트)
+ * 칸 번호 i = row * 15 + col 은 (i / 4)번째 바이트의 (i % 4) * 2 비트 위치에 저장된다.
+ * 값: 0 빈칸, 1 흑, 2 백
+ */
+public final class BoardCodec {
+
+    public static final int BOARD_SIZE = 15;
+    public static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+    public static final int ENCODED_LENGTH = (CELLS * 2 + 7) / 8;
+
+    private BoardCodec() {
+    }
+
+    public static byte[] encode(int[][] board) {
+        byte[] data = new byte[ENCODED_LENGTH];
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                int cell = board[i][j];
+                if (cell == 0) continue;
+                if (cell != 1 && cell != 2) {
+                    throw new IllegalArgumentException("Invalid cell value " + cell + " at " + i + "," + j);
+                }
+                int index = i * BOARD_SIZE + j;
+                data[index >> 2] |= (byte) (cell << ((index & 3) << 1));
+            }
+        }
+        return data;
+    }
+
+    public static int[][] decode(byte[] data) {
+        if (data == null || data.length != ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Encoded board must be " + ENCODED_LENGTH + " bytes");
+        }
+        int[][] board = new int[BOARD_SIZE][BOARD_SIZE];
+        for (int index = 0; index < CELLS; index++) {
+            int cell = (data[index >> 2] >> ((index & 3) << 1)) & 3;
+            if (cell == 3) {
+                throw new IllegalArgumentException("Invalid cell value 3 at index " + index);
+            }
+            board[index / BOARD_SIZE][index % BOARD_SIZE] = cell;
+        }
+        return board;
+    }
+
+    public static byte[] empty() {
+        return new byte[ENCODED_LENGTH];
+    }
+}
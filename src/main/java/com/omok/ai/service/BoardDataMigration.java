@@ -0,0 +1,82 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.OmokGameData;
+import com.omok.ai.repository.OmokGameDataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 레거시 JSON 보드(board_state)를 압축 보드(board_data)로 변환하는 시작 시 마이그레이션
+ * id 순으로 배치 단위로 처리하며, 변환되지 않은 행은 조회 시 JSON으로 읽힌다.
+ * 여러 노드면 코디네이터에서만 실행하고, 진행 중인 게임과 버전이 충돌한 배치는 건너뛴다 (다음 시작 때 다시 변환).
+ */
+@Component
+public class BoardDataMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardDataMigration.class);
+
+    private final OmokGameDataRepository omokGameDataRepository;
+    private final OmokGameService omokGameService;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomOwnership roomOwnership;
+    private final boolean enabled;
+
+    public BoardDataMigration(OmokGameDataRepository omokGameDataRepository, OmokGameService omokGameService,
+                              TransactionTemplate transactionTemplate, RoomOwnership roomOwnership,
+                              @Value("${omok.migration.board-data.enabled:true}") boolean enabled) {
+        this.omokGameDataRepository = omokGameDataRepository;
+        this.omokGameService = omokGameService;
+        this.transactionTemplate = transactionTemplate;
+        this.roomOwnership = roomOwnership;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !roomOwnership.isCoordinator()) return;
+
+        long lastId = 0;
+        int migrated = 0;
+        int skipped = 0;
+        while (true) {
+            long afterId = lastId;
+            long[] batchLastId = {afterId};
+            List<OmokGameData> batch;
+            try {
+                batch = transactionTemplate.execute(status -> {
+                    List<OmokGameData> rows = omokGameDataRepository
+                            .findTop200ByBoardDataIsNullAndIdGreaterThanOrderByIdAsc(afterId);
+                    if (!rows.isEmpty()) {
+                        batchLastId[0] = rows.get(rows.size() - 1).getId();
+                    }
+                    for (OmokGameData omokData : rows) {
+                        omokGameService.writeBoard(omokData, omokGameService.readBoard(omokData));
+                    }
+                    return omokGameDataRepository.saveAll(rows);
+                });
+            } catch (OptimisticLockingFailureException e) {
+                // 그 사이 게임이 같은 행을 갱신함: 이 배치는 JSON으로 남겨 두고 다음 배치로
+                log.warn("Board data migration skipped rows {}..{} after a concurrent update", afterId + 1, batchLastId[0]);
+                if (batchLastId[0] == afterId) break;
+                skipped++;
+                lastId = batchLastId[0];
+                continue;
+            }
+            if (batch == null || batch.isEmpty()) break;
+            migrated += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        if (migrated > 0 || skipped > 0) {
+            log.info("Board data migration completed: {} rows converted to binary board, {} batches skipped", migrated, skipped);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.omok.ai.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별 재촉/음성 메시지 속도 제한 (토큰 버킷, 메모리)
+ *
+ * - 사용자마다 burst개까지 연달아 보낼 수 있고, 이후에는 초당 refill-per-second개씩 다시 채워진다.
+ * - 버킷은 처음 메시지를 보낼 때 만들고 접속 종료 시 release로 지운다.
+ */
+@Component
+public class ChatRateLimiter {
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+    }
+
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    private final double burst;
+    private final double tokensPerNano;
+    private final LongSupplier clock;
+
+    @Autowired
+    public ChatRateLimiter(@Value("${omok.chat.burst:5}") int burst,
+                           @Value("${omok.chat.refill-per-second:1}") double refillPerSecond) {
+        this(burst, refillPerSecond, System::nanoTime);
+    }
+
+    // 테스트용: 시계 지정
+    ChatRateLimiter(int burst, double refillPerSecond, LongSupplier clock) {
+        if (burst <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("omok.chat.burst and omok.chat.refill-per-second must be positive");
+        }
+        this.burst = burst;
+        this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.clock = clock;
+    }
+
+    /**
+     * 토큰 하나를 쓸 수 있으면 true (제한에 걸리면 false)
+     */
+    public boolean tryAcquire(Long userId) {
+        long now = clock.getAsLong();
+        Bucket bucket = buckets.computeIfAbsent(userId, id -> new Bucket(burst, now));
+        synchronized (bucket) {
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.refilledAt) * tokensPerNano);
+            bucket.refilledAt = Math.max(bucket.refilledAt, now);
+            if (bucket.tokens < 1) return false;
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    /**
+     * 접속 종료 시 버킷 제거
+     */
+    public void release(Long userId) {
+        buckets.remove(userId);
+    }
+}
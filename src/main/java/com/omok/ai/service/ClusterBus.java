@@ -0,0 +1,451 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omok.ai.config.UserPrincipal;
+import com.omok.ai.dto.ClusterCommandDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompReactorNettyCodec;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.tcp.FixedIntervalReconnectStrategy;
+import org.springframework.messaging.tcp.TcpConnection;
+import org.springframework.messaging.tcp.TcpConnectionHandler;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpClient;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 노드 간 명령 버스 (브로커 릴레이 모드에서 여러 노드로 실행할 때만 연결)
+ *
+ * - 노드마다 브로커에 시스템 연결 하나를 열고 /queue/omok-node.{nodeId}를 구독한다.
+ * - 다른 노드 소유 방의 STOMP /app/game/{roomId}/** 메시지는 원본 그대로 소유 노드로 넘기고,
+ *   소유 노드는 자신의 clientInboundChannel에 다시 넣어 같은 컨트롤러가 처리하게 한다 (응답은 브로커로 모든 노드에 전달).
+ * - 입장/삭제처럼 결과가 필요한 명령은 call로 보내고 응답(reply)을 기다린다.
+ * - 처리기는 각 서비스가 생성자에서 register로 등록한다 (서비스 간 순환 의존 없음).
+ * - 단일 노드면 연결하지 않으며, 호출하는 쪽은 RoomOwnership.isLocal이면 바로 실행한다.
+ * - 연결은 Spring의 ReactorNettyTcpClient를 쓰고, STOMP heart-beat로 끊긴 연결을 감지해 다시 연결한다.
+ */
+@Service
+public class ClusterBus implements TcpConnectionHandler<byte[]> {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterBus.class);
+    private static final String NODE_QUEUE_PREFIX = "/queue/omok-node.";
+    private static final String APP_GAME_PREFIX = "/app/game/";
+    private static final String FORWARDED_HEADER = "x-omok-forwarded";
+    // 브로커 응답이 약속한 간격의 이 배수만큼 없으면 연결을 끊음 (Spring 릴레이와 같음)
+    private static final long HEARTBEAT_MULTIPLIER = 3;
+
+    private final RoomOwnership ownership;
+    private final ObjectMapper objectMapper;
+    private final MessageChannel clientInboundChannel;
+    private final ReactorNettyTcpClient<byte[]> tcpClient;
+    private final String login;
+    private final String passcode;
+    private final String virtualHost;
+    private final long callTimeoutMs;
+    private final long heartbeatMs;
+
+    private final Map<String, Function<ClusterCommandDto, Object>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<byte[]>> topicListeners = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<JsonNode>> pendingCalls = new ConcurrentHashMap<>();
+    private final AtomicLong requestIds = new AtomicLong();
+    private final ExecutorService workers;
+    private final ExecutorService topicDispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-bus-topics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile TcpConnection<byte[]> connection;
+    private volatile boolean ready;
+
+    public ClusterBus(RoomOwnership ownership, ObjectMapper objectMapper,
+                      @Lazy @Qualifier("clientInboundChannel") MessageChannel clientInboundChannel,
+                      @Value("${omok.broker.mode:simple}") String brokerMode,
+                      @Value("${omok.broker.relay-host:localhost}") String relayHost,
+                      @Value("${omok.broker.relay-port:61613}") int relayPort,
+                      @Value("${omok.broker.login:guest}") String login,
+                      @Value("${omok.broker.passcode:guest}") String passcode,
+                      @Value("${omok.broker.virtual-host:}") String virtualHost,
+                      @Value("${omok.cluster.call-timeout-ms:5000}") long callTimeoutMs,
+                      @Value("${omok.cluster.workers:4}") int workers,
+                      @Value("${omok.cluster.heartbeat-ms:10000}") long heartbeatMs) {
+        if (ownership.isClustered() && !"relay".equals(brokerMode)) {
+            throw new IllegalArgumentException("omok.cluster.nodes requires omok.broker.mode=relay");
+        }
+        this.ownership = ownership;
+        this.objectMapper = objectMapper;
+        this.clientInboundChannel = clientInboundChannel;
+        this.tcpClient = ownership.isClustered()
+                ? new ReactorNettyTcpClient<>(relayHost, relayPort, new StompReactorNettyCodec()) : null;
+        this.login = login;
+        this.passcode = passcode;
+        this.virtualHost = virtualHost;
+        this.callTimeoutMs = callTimeoutMs;
+        this.heartbeatMs = Math.max(0, heartbeatMs);
+        AtomicInteger workerNo = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "cluster-bus-" + workerNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (tcpClient == null) return;
+        tcpClient.connectAsync(this, new FixedIntervalReconnectStrategy(2000));
+        log.info("Cluster node {} connecting to broker (coordinator {})", ownership.getNodeId(), ownership.getCoordinator());
+    }
+
+    /**
+     * 명령 처리기 등록 (반환값은 요청/응답일 때 result로 전달)
+     */
+    public void register(String type, Function<ClusterCommandDto, Object> handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * 브로커 토픽 구독 (메시지는 받은 순서대로 전용 스레드 하나에서 처리)
+     */
+    public void subscribe(String destination, Consumer<byte[]> listener) {
+        if (tcpClient == null) return;
+        topicListeners.put(destination, listener);
+        if (ready) {
+            subscribeFrame(destination);
+        }
+    }
+
+    /**
+     * 브로커 토픽 구독 해제
+     */
+    public void unsubscribe(String destination) {
+        if (tcpClient == null || topicListeners.remove(destination) == null) return;
+        if (ready) {
+            StompHeaderAccessor unsubscribe = StompHeaderAccessor.create(StompCommand.UNSUBSCRIBE);
+            unsubscribe.setSubscriptionId(destination);
+            write(unsubscribe, new byte[0]);
+        }
+    }
+
+    /**
+     * 응답을 기다리지 않는 명령
+     */
+    public void send(String node, ClusterCommandDto command) {
+        command.setOrigin(ownership.getNodeId());
+        if (node.equals(ownership.getNodeId())) {
+            workers.execute(() -> handle(command));
+            return;
+        }
+        publish(NODE_QUEUE_PREFIX + node, toJson(command));
+    }
+
+    /**
+     * 요청/응답 명령. 받는 노드에서 난 예외는 같은 종류(IllegalArgumentException/IllegalStateException/충돌)로 다시 던짐
+     */
+    public JsonNode call(String node, ClusterCommandDto command) {
+        command.setOrigin(ownership.getNodeId());
+        if (node.equals(ownership.getNodeId())) {
+            return objectMapper.valueToTree(execute(command));
+        }
+        String requestId = ownership.getNodeId() + "-" + requestIds.incrementAndGet();
+        command.setRequestId(requestId);
+        CompletableFuture<JsonNode> reply = new CompletableFuture<>();
+        pendingCalls.put(requestId, reply);
+        try {
+            publish(NODE_QUEUE_PREFIX + node, toJson(command));
+            return reply.get(callTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Node " + node + " did not answer " + command.getType());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for node " + node);
+        } finally {
+            pendingCalls.remove(requestId);
+        }
+    }
+
+    /**
+     * 다른 노드 소유 방의 /app/game 메시지면 소유 노드로 넘기고 true (이 노드에서는 버림)
+     */
+    public boolean forwardIfRemote(Message<?> message, StompHeaderAccessor accessor) {
+        if (!ownership.isClustered()) return false;
+        Long roomId = gameRoomOf(accessor.getDestination());
+        if (roomId == null || ownership.isLocal(roomId)) return false;
+        if (accessor.getFirstNativeHeader(FORWARDED_HEADER) != null) return false; // 두 번 넘기지 않음
+
+        String userId = accessor.getFirstNativeHeader("userId");
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (userId == null && attributes != null) {
+            userId = (String) attributes.get("userId");
+        }
+        Principal user = accessor.getUser();
+        String payload = message.getPayload() instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : "";
+        send(ownership.ownerOf(roomId), ClusterCommandDto.send(accessor.getDestination(), payload,
+                parseId(userId), user != null ? user.getName() : null));
+        return true;
+    }
+
+    private void handle(ClusterCommandDto command) {
+        if (ClusterCommandDto.TYPE_REPLY.equals(command.getType())) {
+            CompletableFuture<JsonNode> reply = pendingCalls.get(command.getRequestId());
+            if (reply == null) return; // 이미 시간 초과
+            if (command.getError() != null) {
+                reply.completeExceptionally(toException(command.getError(), command.getMessage()));
+            } else {
+                reply.complete(command.getResult());
+            }
+            return;
+        }
+        if (command.getRequestId() == null) {
+            try {
+                execute(command);
+            } catch (RuntimeException e) {
+                log.warn("Cluster command {} from {} failed: {}", command.getType(), command.getOrigin(), e.getMessage());
+            }
+            return;
+        }
+        ClusterCommandDto reply;
+        try {
+            reply = ClusterCommandDto.reply(command.getRequestId(), objectMapper.valueToTree(execute(command)));
+        } catch (OptimisticLockingFailureException e) {
+            reply = ClusterCommandDto.failure(command.getRequestId(), "conflict", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            reply = ClusterCommandDto.failure(command.getRequestId(), "invalid", e.getMessage());
+        } catch (RuntimeException e) {
+            reply = ClusterCommandDto.failure(command.getRequestId(), "state", e.getMessage());
+        }
+        send(command.getOrigin(), reply);
+    }
+
+    private Object execute(ClusterCommandDto command) {
+        if (ClusterCommandDto.TYPE_SEND.equals(command.getType())) {
+            injectSend(command);
+            return null;
+        }
+        Function<ClusterCommandDto, Object> handler = handlers.get(command.getType());
+        if (handler == null) {
+            throw new IllegalStateException("Unknown cluster command: " + command.getType());
+        }
+        return handler.apply(command);
+    }
+
+    /**
+     * 넘겨받은 /app 메시지를 이 노드에서 받은 것처럼 처리
+     */
+    private void injectSend(ClusterCommandDto command) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination(command.getDestination());
+        // 릴레이는 세션별 브로커 연결로 @SendTo 응답을 보내므로 시스템 연결 세션 id를 사용 (없는 세션이면 응답이 버려짐)
+        accessor.setSessionId(StompBrokerRelayMessageHandler.SYSTEM_SESSION_ID);
+        accessor.setNativeHeader(FORWARDED_HEADER, command.getOrigin());
+        Map<String, Object> attributes = new HashMap<>();
+        if (command.getUserId() != null) {
+            String userId = String.valueOf(command.getUserId());
+            accessor.setNativeHeader("userId", userId);
+            attributes.put("userId", userId);
+        }
+        accessor.setSessionAttributes(attributes);
+        if (command.getPrincipal() != null) {
+            accessor.setUser(new UserPrincipal(command.getPrincipal()));
+        }
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        byte[] payload = command.getPayload() != null ? command.getPayload().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        clientInboundChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    // TcpConnectionHandler: 브로커 시스템 연결
+
+    @Override
+    public void afterConnected(TcpConnection<byte[]> connection) {
+        this.connection = connection;
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setAcceptVersion("1.2");
+        connect.setHeartbeat(heartbeatMs, heartbeatMs);
+        connect.setLogin(login);
+        connect.setPasscode(passcode);
+        if (!virtualHost.isBlank()) {
+            connect.setHost(virtualHost);
+        }
+        write(connect, new byte[0]);
+    }
+
+    @Override
+    public void afterConnectFailure(Throwable ex) {
+        log.warn("Cluster bus could not connect to broker: {}", ex.getMessage());
+    }
+
+    @Override
+    public void handleMessage(Message<byte[]> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        StompCommand command = accessor.getCommand();
+        if (command == null) return; // heart-beat
+        switch (command) {
+            case CONNECTED -> {
+                startHeartbeats(accessor.getHeartbeat());
+                ready = true;
+                subscribeFrame(NODE_QUEUE_PREFIX + ownership.getNodeId());
+                topicListeners.keySet().forEach(this::subscribeFrame);
+                log.info("Cluster node {} connected to broker", ownership.getNodeId());
+            }
+            case MESSAGE -> dispatch(accessor.getDestination(), message.getPayload());
+            case ERROR -> log.warn("Broker error on cluster bus: {}", accessor.getMessage());
+            default -> { }
+        }
+    }
+
+    @Override
+    public void handleFailure(Throwable ex) {
+        log.warn("Cluster bus connection failed: {}", ex.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed() {
+        ready = false;
+        connection = null;
+        log.warn("Cluster node {} disconnected from broker; reconnecting", ownership.getNodeId());
+    }
+
+    /**
+     * CONNECTED에서 브로커와 합의한 간격으로 heart-beat 전송과 수신 감시 시작 (STOMP 1.2 규칙)
+     */
+    private void startHeartbeats(long[] serverHeartbeat) {
+        TcpConnection<byte[]> current = connection;
+        if (current == null || heartbeatMs == 0) return;
+        long sendInterval = serverHeartbeat[1] > 0 ? Math.max(heartbeatMs, serverHeartbeat[1]) : 0;
+        long receiveInterval = serverHeartbeat[0] > 0 ? Math.max(heartbeatMs, serverHeartbeat[0]) : 0;
+        if (sendInterval > 0) {
+            current.onWriteInactivity(() -> current.sendAsync(MessageBuilder.createMessage(new byte[0],
+                    StompHeaderAccessor.createForHeartbeat().getMessageHeaders())), sendInterval);
+        }
+        if (receiveInterval > 0) {
+            current.onReadInactivity(() -> {
+                log.warn("No heart-beat from broker for {} ms; closing cluster bus connection",
+                        receiveInterval * HEARTBEAT_MULTIPLIER);
+                current.close();
+            }, receiveInterval * HEARTBEAT_MULTIPLIER);
+        }
+    }
+
+    private void dispatch(String destination, byte[] payload) {
+        if (destination == null) return;
+        if (destination.equals(NODE_QUEUE_PREFIX + ownership.getNodeId())) {
+            ClusterCommandDto command;
+            try {
+                command = objectMapper.readValue(payload, ClusterCommandDto.class);
+            } catch (IOException e) {
+                log.warn("Ignoring malformed cluster command: {}", e.getMessage());
+                return;
+            }
+            workers.execute(() -> handle(command));
+            return;
+        }
+        Consumer<byte[]> listener = topicListeners.get(destination);
+        if (listener == null) return;
+        // 수신 스레드는 응답(reply)도 읽어야 하므로 리스너가 잠금을 기다리는 동안 막히지 않게 함
+        topicDispatcher.execute(() -> {
+            try {
+                listener.accept(payload);
+            } catch (RuntimeException e) {
+                log.warn("Cluster topic listener for {} failed: {}", destination, e.getMessage());
+            }
+        });
+    }
+
+    private void subscribeFrame(String destination) {
+        StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setDestination(destination);
+        subscribe.setSubscriptionId(destination);
+        write(subscribe, new byte[0]);
+    }
+
+    private void publish(String destination, byte[] payload) {
+        if (!ready) {
+            throw new IllegalStateException("Cluster bus is not connected to the broker");
+        }
+        StompHeaderAccessor send = StompHeaderAccessor.create(StompCommand.SEND);
+        send.setDestination(destination);
+        send.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        write(send, payload);
+    }
+
+    private void write(StompHeaderAccessor headers, byte[] payload) {
+        TcpConnection<byte[]> current = connection;
+        if (current == null) {
+            throw new IllegalStateException("Cluster bus is not connected to the broker");
+        }
+        current.sendAsync(MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+    }
+
+    private byte[] toJson(ClusterCommandDto command) {
+        try {
+            return objectMapper.writeValueAsBytes(command);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize cluster command " + command.getType(), e);
+        }
+    }
+
+    private static RuntimeException toException(String error, String message) {
+        return switch (error) {
+            case "conflict" -> new OptimisticLockingFailureException(message);
+            case "invalid" -> new IllegalArgumentException(message);
+            default -> new IllegalStateException(message);
+        };
+    }
+
+    private static Long gameRoomOf(String destination) {
+        if (destination == null || !destination.startsWith(APP_GAME_PREFIX)) return null;
+        int end = destination.indexOf('/', APP_GAME_PREFIX.length());
+        return parseId(end < 0 ? destination.substring(APP_GAME_PREFIX.length())
+                : destination.substring(APP_GAME_PREFIX.length(), end));
+    }
+
+    private static Long parseId(String value) {
+        if (value == null) return null;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (tcpClient != null) {
+            tcpClient.shutdownAsync();
+        }
+        workers.shutdownNow();
+        topicDispatcher.shutdownNow();
+    }
+}
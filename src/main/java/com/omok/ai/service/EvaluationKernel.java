@@ -0,0 +1,12 @@
+package com.omok.ai.service;
+
+/**
+ * 보드 전체의 5칸 창(window) 점수 합산 커널
+ */
+interface EvaluationKernel {
+
+    /**
+     * player 기준으로 가로/세로/대각선의 모든 5칸 창 점수 합
+     */
+    int evaluateDirections(int[][] board, int player);
+}
@@ -0,0 +1,31 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보관된 게임 한 판 (방 단위)
+ * moves에는 같은 방에서 진행된 모든 게임의 착수가 gameNo 순으로 들어 있고,
+ * board/winner는 마지막 게임(gameNo)의 결과다.
+ */
+public record GameArchiveRecord(
+        long roomId,
+        long hostId,
+        String hostName,
+        Long guestId,
+        String guestName,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime createdAt,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime startedAt,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime archivedAt,
+        String winner,
+        int gameNo,
+        int moveCount,
+        int[][] board,
+        List<Move> moves) {
+
+    public record Move(int gameNo, int seq, int row, int col, int player,
+                       @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime playedAt) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameMove;
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.entity.OmokGameData;
+import com.omok.ai.repository.GameMoveRepository;
+import com.omok.ai.repository.GameRoomRepository;
+import com.omok.ai.repository.OmokGameDataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 종료된 게임을 세그먼트 파일로 보관한 뒤 DB에서 삭제
+ *
+ * 방 id 키셋으로 배치 단위 처리: 조회(읽기 트랜잭션) -> 세그먼트 기록(fsync) -> 삭제(쓰기 트랜잭션)
+ * 삭제 직전에 다시 FINISHED인 방만 잠가서 지우므로(GameRoomService.purgeRooms), 그 사이 재경기가 시작된 방은 남는다.
+ * (이 경우 나중에 다시 보관되어 같은 방 id의 레코드가 두 번 기록될 수 있다)
+ */
+@Service
+public class GameArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameArchiveService.class);
+
+    private final GameRoomRepository gameRoomRepository;
+    private final OmokGameDataRepository omokGameDataRepository;
+    private final GameMoveRepository gameMoveRepository;
+    private final MoveLogService moveLogService;
+    private final ArchiveSegmentStore segmentStore;
+    private final GameRoomService gameRoomService;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+
+    public GameArchiveService(GameRoomRepository gameRoomRepository, OmokGameDataRepository omokGameDataRepository,
+                              GameMoveRepository gameMoveRepository, MoveLogService moveLogService,
+                              ArchiveSegmentStore segmentStore, GameRoomService gameRoomService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${omok.archive.batch-size:100}") int batchSize) {
+        this.gameRoomRepository = gameRoomRepository;
+        this.omokGameDataRepository = omokGameDataRepository;
+        this.gameMoveRepository = gameMoveRepository;
+        this.moveLogService = moveLogService;
+        this.segmentStore = segmentStore;
+        this.gameRoomService = gameRoomService;
+        // 스케줄러의 트랜잭션과 분리하여 배치마다 커밋
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public boolean isEnabled() {
+        return segmentStore.isEnabled();
+    }
+
+    /**
+     * before 이전에 종료된 FINISHED 방을 보관 후 삭제
+     * @return 삭제된 방 수
+     */
+    public int archiveFinishedRooms(LocalDateTime before) {
+        if (!segmentStore.isEnabled()) return 0;
+
+        long lastId = 0;
+        int archived = 0;
+        while (true) {
+            long afterId = lastId;
+            List<GameArchiveRecord> batch = readTransaction.execute(status -> loadBatch(before, afterId));
+            if (batch == null || batch.isEmpty()) break;
+
+            try {
+                segmentStore.append(batch);
+            } catch (IOException e) {
+                // 기록에 실패한 배치는 삭제하지 않고 다음 정리 주기에 다시 시도
+                log.error("Failed to archive {} finished rooms after id {}", batch.size(), afterId, e);
+                break;
+            }
+
+            List<Long> roomIds = batch.stream().map(GameArchiveRecord::roomId).collect(Collectors.toList());
+            Integer deleted = writeTransaction.execute(status -> deleteRooms(roomIds));
+            archived += deleted != null ? deleted : 0;
+            lastId = roomIds.get(roomIds.size() - 1);
+        }
+
+        if (archived > 0) {
+            log.info("Archived and deleted {} finished rooms", archived);
+        }
+        return archived;
+    }
+
+    /**
+     * 방 id 범위의 보관 레코드를 순서대로 전달 (내보내기용)
+     */
+    public void export(long fromRoomId, long toRoomId, Consumer<GameArchiveRecord> sink) {
+        try {
+            segmentStore.scan(fromRoomId, toRoomId, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<GameArchiveRecord> loadBatch(LocalDateTime before, long afterId) {
+        List<GameRoom> rooms = gameRoomRepository.findBatchForArchive(
+                GameRoom.RoomStatus.FINISHED, before, afterId, PageRequest.of(0, batchSize));
+        if (rooms.isEmpty()) return Collections.emptyList();
+
+        List<Long> roomIds = rooms.stream().map(GameRoom::getId).collect(Collectors.toList());
+        Map<Long, OmokGameData> dataByRoom = omokGameDataRepository.findByRoomIdIn(roomIds).stream()
+                .collect(Collectors.toMap(data -> data.getRoom().getId(), Function.identity()));
+        Map<Long, List<GameMove>> movesByRoom = gameMoveRepository.findByRoomIdInOrderByRoomIdAscGameNoAscSeqAsc(roomIds)
+                .stream()
+                .collect(Collectors.groupingBy(move -> move.getRoom().getId()));
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        List<GameArchiveRecord> records = new ArrayList<>(rooms.size());
+        for (GameRoom room : rooms) {
+            OmokGameData omokData = dataByRoom.get(room.getId());
+            List<GameMove> moves = movesByRoom.getOrDefault(room.getId(), Collections.emptyList());
+            records.add(new GameArchiveRecord(
+                    room.getId(),
+                    room.getHost().getId(),
+                    room.getHost().getName(),
+                    room.getGuest() != null ? room.getGuest().getId() : null,
+                    room.getGuest() != null ? room.getGuest().getName() : null,
+                    room.getCreatedAt(),
+                    room.getStartedAt(),
+                    archivedAt,
+                    omokData != null ? omokData.getWinner() : null,
+                    omokData != null && omokData.getGameNo() != null ? omokData.getGameNo() : 0,
+                    omokData != null && omokData.getMoveCount() != null ? omokData.getMoveCount() : 0,
+                    omokData != null ? moveLogService.loadBoard(omokData, moves) : new int[BoardCodec.BOARD_SIZE][BoardCodec.BOARD_SIZE],
+                    moves.stream()
+                            .map(move -> new GameArchiveRecord.Move(move.getGameNo(), move.getSeq(),
+                                    move.getRow(), move.getCol(), move.getPlayer(), move.getPlayedAt()))
+                            .collect(Collectors.toList())
+            ));
+        }
+        return records;
+    }
+
+    private int deleteRooms(List<Long> roomIds) {
+        // 기록 후 재경기가 시작된 방은 FINISHED가 아니므로 지우지 않음
+        return gameRoomService.purgeRooms(roomIds, GameRoom.RoomStatus.FINISHED);
+    }
+}
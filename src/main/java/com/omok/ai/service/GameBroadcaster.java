@@ -0,0 +1,78 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omok.ai.dto.GameDeltaDto;
+import com.omok.ai.dto.GameStateDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * 게임 토픽(/topic/game/{roomId}) 전송 (STOMP 컨트롤러와 /ws-game 핸들러가 함께 사용)
+ *
+ * - STOMP 구독자에게는 한 번 직렬화한 JSON을, 바이너리 세션에는 DTO에서 바로 만든 프레임을 보낸다 (JSON을 다시 읽지 않음).
+ * - 이렇게 보낸 메시지는 표시 헤더를 달아 GameSocketRegistry의 brokerTap이 한 번 더 변환하지 않게 한다.
+ * - DTO가 아닌 알림(입장/게임 종료/방 닫힘)은 SimpMessagingTemplate로 보내고 brokerTap이 바이너리로 바꾼다.
+ */
+@Service
+public class GameBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(GameBroadcaster.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GameSocketRegistry gameSockets;
+    private final ObjectMapper objectMapper;
+
+    public GameBroadcaster(SimpMessagingTemplate messagingTemplate, GameSocketRegistry gameSockets,
+                           ObjectMapper objectMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.gameSockets = gameSockets;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 증분 메시지 전송 (null이면 보내지 않음: 재촉 제한 등)
+     */
+    public void broadcast(Long roomId, GameDeltaDto delta) {
+        if (delta == null) return;
+        byte[] json = toJson(roomId, delta);
+        if (json == null) return;
+        send(roomId, json);
+        gameSockets.publish(roomId, GameFrameCodec.encodeDelta(delta));
+    }
+
+    /**
+     * 전체 상태 전송 (null이면 보내지 않음, 바이너리 STATE 프레임은 같은 JSON을 그대로 담음)
+     */
+    public void broadcast(Long roomId, GameStateDto state) {
+        if (state == null) return;
+        byte[] json = toJson(roomId, state);
+        if (json == null) return;
+        send(roomId, json);
+        gameSockets.publish(roomId, GameFrameCodec.state(json));
+    }
+
+    private void send(Long roomId, byte[] json) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setHeader(GameSocketRegistry.BINARY_SENT_HEADER, Boolean.TRUE);
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(GameSocketRegistry.GAME_TOPIC_PREFIX + roomId,
+                MessageBuilder.createMessage(json, headers.getMessageHeaders()));
+    }
+
+    private byte[] toJson(Long roomId, Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot serialize game message for room {}: {}", roomId, e.getMessage());
+            return null;
+        }
+    }
+}
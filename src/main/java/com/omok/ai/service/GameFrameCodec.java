@@ -0,0 +1,265 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.omok.ai.dto.GameDeltaDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * /ws-game 바이너리 프레임 코덱 (첫 바이트가 종류, 정수는 부호 없는 LEB128 varint, 해시는 8바이트 big-endian)
+ *
+ * 클라이언트 -> 서버
+ * - 0x01 JOIN [roomId]: 방 메시지 받기 시작 (참여자만), 응답으로 STATE
+ * - 0x02 MOVE [row u8][col u8]
+ * - 0x03 NUDGE
+ * - 0x04 VOICE [UTF-8 메시지]
+ * - 0x05 SYNC [seq][hash]: 클라이언트 보드 확인, 서버와 같으면 SYNCED, 다르면 STATE
+ * - 0x06 STATUS [UTF-8 상태]: 새 게임/재경기 (WAITING, PLAYING)
+ * 서버 -> 클라이언트
+ * - 0x81 MOVE [seq][row u8][col u8][flags u8][hash]
+ *   flags: bit0 둔 돌이 백, bit1 다음 차례가 백, bit2 게임 종료, bit4-5 승자(1 흑, 2 백, 3 무승부)
+ * - 0x82 REJECT [seq+1, 0이면 없음][flags u8][hash][UTF-8 사유]  flags: bit1 다음 차례가 백, bit3 해시 있음
+ * - 0x83 MESSAGE [kind u8 (1 재촉, 2 음성)][from 길이][from UTF-8][UTF-8 메시지]
+ * - 0x84 STATE [UTF-8 JSON]: 전체 상태/게임 종료 알림 (드물게 보내므로 JSON 그대로)
+ * - 0x85 SYNCED [seq]
+ * - 0x8F ERROR [UTF-8 메시지]
+ */
+public final class GameFrameCodec {
+
+    public static final int JOIN = 0x01;
+    public static final int MOVE = 0x02;
+    public static final int NUDGE = 0x03;
+    public static final int VOICE = 0x04;
+    public static final int SYNC = 0x05;
+    public static final int STATUS = 0x06;
+
+    public static final int EVENT_MOVE = 0x81;
+    public static final int EVENT_REJECT = 0x82;
+    public static final int EVENT_MESSAGE = 0x83;
+    public static final int EVENT_STATE = 0x84;
+    public static final int EVENT_SYNCED = 0x85;
+    public static final int EVENT_ERROR = 0x8F;
+
+    private static final int FLAG_PLAYER_WHITE = 1;
+    private static final int FLAG_TURN_WHITE = 1 << 1;
+    private static final int FLAG_GAME_OVER = 1 << 2;
+    private static final int FLAG_HAS_HASH = 1 << 3;
+    private static final int WINNER_SHIFT = 4;
+
+    /**
+     * 클라이언트 프레임 (종류에 따라 일부 필드만 사용)
+     */
+    public record ClientFrame(int type, long roomId, int row, int col, int seq, long hash, String text) {}
+
+    private GameFrameCodec() {
+    }
+
+    public static ClientFrame decode(byte[] frame) {
+        if (frame.length == 0) {
+            throw new IllegalArgumentException("Empty frame");
+        }
+        Reader in = new Reader(frame);
+        int type = in.u8();
+        return switch (type) {
+            case JOIN -> new ClientFrame(type, in.varint(), 0, 0, 0, 0, null);
+            case MOVE -> new ClientFrame(type, 0, in.u8(), in.u8(), 0, 0, null);
+            case NUDGE -> new ClientFrame(type, 0, 0, 0, 0, 0, null);
+            case VOICE -> new ClientFrame(type, 0, 0, 0, 0, 0, in.rest());
+            case SYNC -> new ClientFrame(type, 0, 0, 0, (int) in.varint(), in.u64(), null);
+            case STATUS -> new ClientFrame(type, 0, 0, 0, 0, 0, in.rest());
+            default -> throw new IllegalArgumentException("Unknown frame type " + type);
+        };
+    }
+
+    /**
+     * 증분 메시지 DTO를 바로 바이너리 프레임으로 (보내는 쪽에서 JSON을 거치지 않고 방마다 한 번 변환)
+     */
+    public static byte[] encodeDelta(GameDeltaDto delta) {
+        String type = delta.getType() != null ? delta.getType() : "";
+        return switch (type) {
+            case GameDeltaDto.TYPE_MOVE -> encodeMove(delta.getSeq(), delta.getRow(), delta.getCol(), delta.getPlayer(),
+                    delta.getTurn(), Boolean.TRUE.equals(delta.getIsGameOver()), delta.getWinner(), delta.getHash());
+            case GameDeltaDto.TYPE_REJECT -> encodeReject(delta.getSeq(), delta.getTurn(), delta.getHash(),
+                    delta.getMessage());
+            case GameDeltaDto.TYPE_MESSAGE -> encodeMessage(delta.getKind(), delta.getFrom(), delta.getMessage());
+            default -> throw new IllegalArgumentException("Unknown delta type " + type);
+        };
+    }
+
+    /**
+     * /topic/game/{roomId}로 보낸 JSON 메시지를 바이너리 프레임으로 (DTO가 아닌 알림, 다른 노드에서 받은 메시지용)
+     * json은 증분 메시지가 아닐 때(STATE)만 사용
+     */
+    public static byte[] encodeEvent(JsonNode event, byte[] json) {
+        String type = event.path("type").asText("");
+        return switch (type) {
+            case GameDeltaDto.TYPE_MOVE -> encodeMove(event.path("seq").asInt(), event.path("row").asInt(),
+                    event.path("col").asInt(), event.path("player").asText(), event.path("turn").asText(),
+                    event.path("isGameOver").asBoolean(false), event.path("winner").asText(null),
+                    event.path("hash").asText(null));
+            case GameDeltaDto.TYPE_REJECT -> encodeReject(event.hasNonNull("seq") ? event.get("seq").asInt() : null,
+                    event.path("turn").asText(), event.path("hash").asText(null), event.path("message").asText(""));
+            case GameDeltaDto.TYPE_MESSAGE -> encodeMessage(event.path("kind").asText(), event.path("from").asText(""),
+                    event.path("message").asText(""));
+            default -> state(json);
+        };
+    }
+
+    public static byte[] state(byte[] json) {
+        byte[] frame = new byte[json.length + 1];
+        frame[0] = (byte) EVENT_STATE;
+        System.arraycopy(json, 0, frame, 1, json.length);
+        return frame;
+    }
+
+    public static byte[] synced(int seq) {
+        return new Writer(EVENT_SYNCED).varint(seq).toBytes();
+    }
+
+    public static byte[] error(String message) {
+        return new Writer(EVENT_ERROR).utf8(message).toBytes();
+    }
+
+    private static byte[] encodeMove(int seq, int row, int col, String player, String turn, boolean gameOver,
+                                     String winner, String hash) {
+        int flags = 0;
+        if ("w".equals(player)) flags |= FLAG_PLAYER_WHITE;
+        if ("w".equals(turn)) flags |= FLAG_TURN_WHITE;
+        if (gameOver) {
+            flags |= FLAG_GAME_OVER | winnerCode(winner) << WINNER_SHIFT;
+        }
+        return new Writer(EVENT_MOVE)
+                .varint(seq)
+                .u8(row)
+                .u8(col)
+                .u8(flags)
+                .u64(parseHash(hash))
+                .toBytes();
+    }
+
+    private static byte[] encodeReject(Integer seq, String turn, String hash, String message) {
+        int flags = 0;
+        if ("w".equals(turn)) flags |= FLAG_TURN_WHITE;
+        if (hash != null) flags |= FLAG_HAS_HASH;
+        return new Writer(EVENT_REJECT)
+                .varint(seq != null ? seq + 1 : 0)
+                .u8(flags)
+                .u64(parseHash(hash))
+                .utf8(message != null ? message : "")
+                .toBytes();
+    }
+
+    private static byte[] encodeMessage(String kind, String from, String message) {
+        byte[] fromBytes = (from != null ? from : "").getBytes(StandardCharsets.UTF_8);
+        return new Writer(EVENT_MESSAGE)
+                .u8("voice".equals(kind) ? 2 : 1)
+                .varint(fromBytes.length)
+                .bytes(fromBytes)
+                .utf8(message != null ? message : "")
+                .toBytes();
+    }
+
+    private static int winnerCode(String winner) {
+        if (winner == null) return 0;
+        return switch (winner) {
+            case "b" -> 1;
+            case "w" -> 2;
+            case "draw" -> 3;
+            default -> 0;
+        };
+    }
+
+    public static long parseHash(String hash) {
+        return hash == null || hash.isEmpty() ? 0 : Long.parseUnsignedLong(hash, 16);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int u8() {
+            if (pos >= data.length) throw new IllegalArgumentException("Truncated frame");
+            return data[pos++] & 0xFF;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = u8();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        long u64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | u8();
+            }
+            return value;
+        }
+
+        String rest() {
+            String text = new String(data, pos, data.length - pos, StandardCharsets.UTF_8);
+            pos = data.length;
+            return text;
+        }
+    }
+
+    private static final class Writer {
+        private byte[] data = new byte[32];
+        private int length;
+
+        Writer(int type) {
+            u8(type);
+        }
+
+        Writer u8(int value) {
+            ensure(1);
+            data[length++] = (byte) value;
+            return this;
+        }
+
+        Writer varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                u8((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            return u8((int) value);
+        }
+
+        Writer u64(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                u8((int) (value >>> shift));
+            }
+            return this;
+        }
+
+        Writer bytes(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, data, length, value.length);
+            length += value.length;
+            return this;
+        }
+
+        Writer utf8(String value) {
+            return bytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toBytes() {
+            return Arrays.copyOf(data, length);
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+            }
+        }
+    }
+}
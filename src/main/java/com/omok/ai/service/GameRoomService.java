@@ -1,6 +1,10 @@
 package com.omok.ai.service;
 
+import com.omok.ai.dto.ClusterCommandDto;
+import com.omok.ai.dto.GameDeltaDto;
+import com.omok.ai.dto.GameMoveDto;
 import com.omok.ai.dto.GameStateDto;
+import com.omok.ai.dto.LobbySnapshotDto;
 import com.omok.ai.dto.RoomDto;
 import com.omok.ai.entity.OmokGameData;
 import com.omok.ai.entity.GameHistory;
@@ -10,16 +14,28 @@ import com.omok.ai.repository.OmokGameDataRepository;
 import com.omok.ai.repository.GameHistoryRepository;
 import com.omok.ai.repository.GameRoomRepository;
 import com.omok.ai.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,14 +49,81 @@ public class GameRoomService {
     private final GameHistoryRepository gameHistoryRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final OmokGameService omokGameService;
-
-    public GameRoomService(GameRoomRepository gameRoomRepository, OmokGameDataRepository omokGameDataRepository, UserRepository userRepository, GameHistoryRepository gameHistoryRepository, SimpMessagingTemplate messagingTemplate, OmokGameService omokGameService) {
+    private final MoveLogService moveLogService;
+    private final LiveRoomRegistry liveRoomRegistry;
+    private final RoomCommandExecutor roomCommands;
+    private final UserRoomIndex userRoomIndex;
+    private final GameStateCache gameStateCache;
+    private final LobbyService lobbyService;
+    private final SpectatorBroadcaster spectatorBroadcaster;
+    private final HashedWheelTimer roomTimer;
+    private final ChatRateLimiter chatRateLimiter;
+    private final SimpUserRegistry userRegistry;
+    private final GameSocketRegistry gameSockets;
+    private final RoomOwnership roomOwnership;
+    private final ClusterBus clusterBus;
+    private final TransactionTemplate transaction;
+    private final int writeAttempts;
+    private final long turnSeconds;
+    private final long reconnectGraceSeconds;
+
+    // 방마다 현재 차례의 제한 시간, 사용자마다 재접속 유예 (모두 같은 휠 타이머에 걸림)
+    private final Map<Long, HashedWheelTimer.Timeout> turnClocks = new ConcurrentHashMap<>();
+    private final Map<Long, HashedWheelTimer.Timeout> pendingDisconnects = new ConcurrentHashMap<>();
+
+    public GameRoomService(GameRoomRepository gameRoomRepository, OmokGameDataRepository omokGameDataRepository, UserRepository userRepository, GameHistoryRepository gameHistoryRepository, SimpMessagingTemplate messagingTemplate, OmokGameService omokGameService, MoveLogService moveLogService, LiveRoomRegistry liveRoomRegistry, RoomCommandExecutor roomCommands, UserRoomIndex userRoomIndex, GameStateCache gameStateCache, LobbyService lobbyService, SpectatorBroadcaster spectatorBroadcaster, HashedWheelTimer roomTimer, ChatRateLimiter chatRateLimiter, SimpUserRegistry userRegistry, GameSocketRegistry gameSockets, RoomOwnership roomOwnership, ClusterBus clusterBus, PlatformTransactionManager transactionManager,
+                           @Value("${omok.room.write-attempts:3}") int writeAttempts,
+                           @Value("${omok.clock.turn-seconds:120}") long turnSeconds,
+                           @Value("${omok.clock.reconnect-grace-seconds:20}") long reconnectGraceSeconds) {
         this.gameRoomRepository = gameRoomRepository;
         this.omokGameDataRepository = omokGameDataRepository;
         this.userRepository = userRepository;
         this.gameHistoryRepository = gameHistoryRepository;
         this.messagingTemplate = messagingTemplate;
         this.omokGameService = omokGameService;
+        this.moveLogService = moveLogService;
+        this.liveRoomRegistry = liveRoomRegistry;
+        this.roomCommands = roomCommands;
+        this.userRoomIndex = userRoomIndex;
+        this.gameStateCache = gameStateCache;
+        this.lobbyService = lobbyService;
+        this.spectatorBroadcaster = spectatorBroadcaster;
+        this.roomTimer = roomTimer;
+        this.chatRateLimiter = chatRateLimiter;
+        this.userRegistry = userRegistry;
+        this.gameSockets = gameSockets;
+        this.roomOwnership = roomOwnership;
+        this.clusterBus = clusterBus;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.writeAttempts = Math.max(1, writeAttempts);
+        this.turnSeconds = turnSeconds;
+        this.reconnectGraceSeconds = reconnectGraceSeconds;
+
+        // 다른 노드가 넘긴 방 명령 (이 노드가 소유한 방)
+        clusterBus.register("join", command -> {
+            joinRoom(command.getRoomId(), command.getUserId());
+            return null;
+        });
+        clusterBus.register("delete", command -> {
+            deleteRoom(command.getRoomId());
+            return null;
+        });
+        clusterBus.register("delete-by-host", command -> {
+            deleteRoomByHost(command.getRoomId(), command.getUserId());
+            return null;
+        });
+        clusterBus.register("leave", command -> {
+            leaveRoom(command.getRoomId(), command.getUserId());
+            return null;
+        });
+        clusterBus.register("expire", command -> {
+            expireTurn(command.getRoomId(), command.getGameNo(), command.getMoveCount());
+            return null;
+        });
+        clusterBus.register("discard", command -> {
+            closePurgedRoom(command.getRoomId());
+            return null;
+        });
     }
 
     @Transactional
@@ -56,64 +139,154 @@ public class GameRoomService {
         GameRoom savedRoom = gameRoomRepository.save(room);
         
         // OmokGameData 생성 (빈 보드)
-        String initialBoardState = omokGameService.createEmptyBoardState();
-        OmokGameData omokData = new OmokGameData(savedRoom, initialBoardState, "b");
+        OmokGameData omokData = new OmokGameData(savedRoom, BoardCodec.empty(), "b");
         omokGameDataRepository.save(omokData);
+        Long roomId = savedRoom.getId();
+        afterCommit(() -> userRoomIndex.add(hostId, roomId));
+        lobbyService.roomOpened(toRoomDto(savedRoom));
 
         return savedRoom;
     }
 
+    /**
+     * 빠른 대전으로 짝지어진 두 사람의 방을 바로 게임 중 상태로 생성 (방과 OmokGameData를 한 트랜잭션에서)
+     * 대기방을 거치지 않으므로 로비 이벤트는 보내지 않음
+     */
     @Transactional
+    public GameRoom createMatchedRoom(Long hostId, Long guestId) {
+        if (hostId.equals(guestId)) {
+            throw new IllegalArgumentException("Cannot match a user with themselves");
+        }
+        User host = userRepository.findById(hostId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        User guest = userRepository.findById(guestId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        GameRoom room = new GameRoom();
+        room.setHost(host);
+        room.setGuest(guest);
+        room.setStatus(GameRoom.RoomStatus.PLAYING);
+        room.setGameType(GameRoom.GameType.OMOK);
+        room.setStartedAt(LocalDateTime.now());
+
+        GameRoom savedRoom = gameRoomRepository.save(room);
+        omokGameDataRepository.save(new OmokGameData(savedRoom, BoardCodec.empty(), "b"));
+        Long roomId = savedRoom.getId();
+        // 색인/시계는 커밋된 뒤에만 (롤백된 방이 참여 중으로 남거나 시계가 돌지 않도록)
+        afterCommit(() -> {
+            userRoomIndex.add(hostId, roomId);
+            userRoomIndex.add(guestId, roomId);
+            startTurnClock(roomId, 0, 0);
+        });
+
+        return savedRoom;
+    }
+
+    /**
+     * 접속 종료: 재접속 유예 시간 뒤에 이탈 처리 (잠깐 끊겼다 다시 붙으면 기권되지 않음)
+     */
     public void handleUserDisconnect(Long userId) {
-        // 오목 프로젝트에서는 OMOK 게임만 처리
-        // 모든 상태의 방을 확인하여 유저가 참여 중인 방 처리
-        List<GameRoom> allRooms = gameRoomRepository.findAll();
-        for (GameRoom room : allRooms) {
-            // OMOK 게임만 처리
-            if (room.getGameType() != GameRoom.GameType.OMOK) continue;
-            boolean isHost = room.getHost().getId().equals(userId);
-            boolean isGuest = room.getGuest() != null && room.getGuest().getId().equals(userId);
-            
-            if (!isHost && !isGuest) continue;
-
-            if (room.getStatus() == GameRoom.RoomStatus.PLAYING) {
-                processDisconnectWin(room, isHost);
-                // processDisconnectWin 후 방 상태를 다시 확인
-                GameRoom updatedRoom = gameRoomRepository.findById(room.getId())
-                        .orElse(null);
-                if (updatedRoom != null && updatedRoom.getStatus() == GameRoom.RoomStatus.FINISHED) {
-                    // 게스트가 null이면 (게스트가 나간 경우) 방 삭제
-                    // 호스트가 나간 경우는 게스트가 남아있을 수 있으므로 삭제하지 않음
-                    if (updatedRoom.getGuest() == null) {
-                        deleteRoom(room.getId());
-                    }
-                }
-            } else if (room.getStatus() == GameRoom.RoomStatus.WAITING) {
-                if (isHost) {
-                    // WAITING 상태 방에서 호스트가 나가면 즉시 방 삭제
-                    deleteRoom(room.getId());
-                    log.info("Waiting room {} deleted because host {} disconnected", room.getId(), userId);
+        if (reconnectGraceSeconds <= 0) {
+            leaveRooms(userId);
+            return;
+        }
+        HashedWheelTimer.Timeout[] self = new HashedWheelTimer.Timeout[1];
+        self[0] = roomTimer.schedule(() -> {
+            // 그 사이 재접속했거나 새 유예로 바뀌었으면 아무 일도 하지 않음
+            if (!pendingDisconnects.remove(userId, self[0])) return;
+            // STOMP(/ws) 또는 바이너리(/ws-game) 연결이 남아 있으면 접속 중
+            if (userRegistry.getUser(String.valueOf(userId)) != null || gameSockets.isConnected(userId)) return;
+            leaveRooms(userId);
+        }, reconnectGraceSeconds, TimeUnit.SECONDS);
+        HashedWheelTimer.Timeout previous = pendingDisconnects.put(userId, self[0]);
+        if (previous != null) previous.cancel();
+        log.info("User {} disconnected; leaving rooms in {}s unless reconnected", userId, reconnectGraceSeconds);
+    }
+
+    /**
+     * 재접속: 대기 중인 이탈 처리를 취소
+     */
+    public void handleUserReconnect(Long userId) {
+        HashedWheelTimer.Timeout pending = pendingDisconnects.remove(userId);
+        if (pending != null && pending.cancel()) {
+            log.info("User {} reconnected within grace period", userId);
+        }
+    }
+
+    private void leaveRooms(Long userId) {
+        // 유저가 참여 중인 방만 처리 (접속 시 등록한 색인, 없으면 host_id/guest_id 인덱스 조회)
+        Set<Long> roomIds = userRoomIndex.release(userId);
+
+        // 방마다 잠금을 쥐고 메모리 변경을 반영한 뒤 다시 읽어서 처리 (한 번에 한 방만 잠금)
+        for (Long roomId : roomIds) {
+            try {
+                leaveRoom(roomId, userId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to process user {} leaving room {}: {}", userId, roomId, e.getMessage());
+            }
+        }
+    }
+
+    private void leaveRoom(Long roomId, Long userId) {
+        if (!roomOwnership.isLocal(roomId)) {
+            clusterBus.send(roomOwnership.ownerOf(roomId), ClusterCommandDto.of("leave", roomId, userId));
+            return;
+        }
+        roomCommands.run(roomId, () -> {
+            liveRoomRegistry.flushAndEvict(roomId);
+            writeWithRetry(roomId, status -> {
+                disconnectFromRoom(roomId, userId);
+                return null;
+            });
+        });
+    }
+
+    private void disconnectFromRoom(Long roomId, Long userId) {
+        GameRoom room = gameRoomRepository.findById(roomId).orElse(null);
+        if (room == null) return;
+        boolean isHost = room.getHost().getId().equals(userId);
+        boolean isGuest = room.getGuest() != null && room.getGuest().getId().equals(userId);
+
+        if (!isHost && !isGuest) return;
+        notifySpectators(roomId);
+
+        if (room.getStatus() == GameRoom.RoomStatus.PLAYING) {
+            processDisconnectWin(room, isHost);
+            // processDisconnectWin 후 방 상태를 다시 확인
+            GameRoom updatedRoom = gameRoomRepository.findById(room.getId())
+                    .orElse(null);
+            if (updatedRoom != null && updatedRoom.getStatus() == GameRoom.RoomStatus.FINISHED) {
+                // 게스트가 null이면 (게스트가 나간 경우) 방 삭제
+                // 호스트가 나간 경우는 게스트가 남아있을 수 있으므로 삭제하지 않음
+                if (updatedRoom.getGuest() == null) {
+                    removeRoom(room.getId());
                 }
-            } else if (room.getStatus() == GameRoom.RoomStatus.FINISHED) {
-                if (isGuest) {
-                    room.setGuest(null);
-                    gameRoomRepository.save(room);
-                    log.info("Guest {} left finished room {}", userId, room.getId());
-                    // 게스트가 나간 후 호스트도 없으면 방 삭제
-                    // (실제로는 호스트가 먼저 나갔을 수 있으므로 확인 필요)
-                } else if (isHost) {
-                    // 방장이 종료된 방에서 나가는 경우
-                    log.info("Host {} left finished room {}", userId, room.getId());
-                    // 게스트가 남아있다면 알림 전송
-                    if (room.getGuest() != null) {
-                        Map<String, Object> notification = new HashMap<>();
-                        notification.put("status", "FINISHED");
-                        notification.put("message", "방장이 나갔습니다. 방이 닫힙니다.");
-                        messagingTemplate.convertAndSend("/topic/game/" + room.getId(), notification);
-                    } else {
-                        // 게스트도 없으면 방 삭제
-                        deleteRoom(room.getId());
-                    }
+            }
+        } else if (room.getStatus() == GameRoom.RoomStatus.WAITING) {
+            if (isHost) {
+                // WAITING 상태 방에서 호스트가 나가면 즉시 방 삭제
+                removeRoom(room.getId());
+                log.info("Waiting room {} deleted because host {} disconnected", room.getId(), userId);
+            }
+        } else if (room.getStatus() == GameRoom.RoomStatus.FINISHED) {
+            if (isGuest) {
+                room.setGuest(null);
+                gameRoomRepository.save(room);
+                log.info("Guest {} left finished room {}", userId, room.getId());
+                // 게스트가 나간 후 호스트도 없으면 방 삭제
+                // (실제로는 호스트가 먼저 나갔을 수 있으므로 확인 필요)
+            } else if (isHost) {
+                // 방장이 종료된 방에서 나가는 경우
+                log.info("Host {} left finished room {}", userId, room.getId());
+                // 게스트가 남아있다면 알림 전송
+                if (room.getGuest() != null) {
+                    Map<String, Object> notification = new HashMap<>();
+                    notification.put("status", "FINISHED");
+                    notification.put("message", "방장이 나갔습니다. 방이 닫힙니다.");
+                    afterCommit(() -> messagingTemplate.convertAndSend("/topic/game/" + roomId, notification));
+                } else {
+                    // 게스트도 없으면 방 삭제
+                    removeRoom(room.getId());
                 }
             }
         }
@@ -146,20 +319,91 @@ public class GameRoomService {
         
         gameRoomRepository.save(room);
         
-        // 남은 플레이어에게 알림 전송
-        GameStateDto gameState = getGameState(room.getId());
+        // 시계 정지와 남은 플레이어 알림은 커밋된 뒤에만 (재시도되면 알림이 두 번 나가지 않도록)
+        Long roomId = room.getId();
+        afterCommit(() -> {
+            stopTurnClock(roomId);
+            broadcastGameOver(roomId, winner, loserName + "님이 나갔습니다. " + winnerName + "님이 승리했습니다!");
+        });
+        log.info("User in room {} disconnected. Automatic win for {}", room.getId(), winner);
+    }
+
+    private void broadcastGameOver(Long roomId, String winner, String message) {
+        GameStateDto gameState = getGameState(roomId);
         Map<String, Object> notification = new HashMap<>();
         notification.put("boardState", gameState.getBoardState());
+        notification.put("seq", gameState.getSeq());
+        notification.put("hash", gameState.getHash());
         notification.put("turn", gameState.getTurn());
         notification.put("status", "FINISHED");
         notification.put("isGameOver", true);
         notification.put("winner", winner);
         notification.put("hostName", gameState.getHostName());
         notification.put("guestName", gameState.getGuestName());
-        notification.put("message", loserName + "님이 나갔습니다. " + winnerName + "님이 승리했습니다!");
-        
-        messagingTemplate.convertAndSend("/topic/game/" + room.getId(), notification);
-        log.info("User in room {} disconnected. Automatic win for {}", room.getId(), winner);
+        notification.put("message", message);
+
+        messagingTemplate.convertAndSend("/topic/game/" + roomId, notification);
+    }
+
+    /**
+     * 현재 차례의 제한 시간 시작 (이전 차례의 시계는 취소, turn-seconds가 0이면 사용 안 함)
+     * 만료 시 (gameNo, moveCount)가 그대로일 때만 차례인 쪽을 패배 처리하므로 취소가 늦어도 안전하다.
+     */
+    private void startTurnClock(Long roomId, int gameNo, int moveCount) {
+        if (turnSeconds <= 0) return;
+        HashedWheelTimer.Timeout clock = roomTimer.schedule(() -> expireTurn(roomId, gameNo, moveCount),
+                turnSeconds, TimeUnit.SECONDS);
+        HashedWheelTimer.Timeout previous = turnClocks.put(roomId, clock);
+        if (previous != null) previous.cancel();
+    }
+
+    private void stopTurnClock(Long roomId) {
+        HashedWheelTimer.Timeout clock = turnClocks.remove(roomId);
+        if (clock != null) clock.cancel();
+    }
+
+    /**
+     * 제한 시간 초과 (타이머 스레드에서 방 명령으로 실행)
+     */
+    private void expireTurn(Long roomId, int gameNo, int moveCount) {
+        if (!roomOwnership.isLocal(roomId)) {
+            // 다른 노드에서 시작된 시계(입장/빠른 대전): 소유 노드에서 확인 후 처리
+            ClusterCommandDto command = ClusterCommandDto.of("expire", roomId, null);
+            command.setGameNo(gameNo);
+            command.setMoveCount(moveCount);
+            clusterBus.send(roomOwnership.ownerOf(roomId), command);
+            return;
+        }
+        try {
+            roomCommands.run(roomId, () -> forfeitOnTime(roomId, gameNo, moveCount));
+        } catch (RuntimeException e) {
+            log.warn("Turn timeout for room {} was not applied: {}", roomId, e.getMessage());
+        }
+    }
+
+    private void forfeitOnTime(Long roomId, int gameNo, int moveCount) {
+        LiveRoom live = liveRoomRegistry.getOrLoad(roomId);
+        String winner;
+        String winnerName;
+        String loserName;
+        synchronized (live) {
+            // 그 사이 수를 두었거나 게임이 바뀌었으면 지난 시계
+            if (live.getStatus() != GameRoom.RoomStatus.PLAYING
+                    || live.getGameNo() != gameNo || live.getMoveCount() != moveCount) {
+                return;
+            }
+            boolean hostTurn = "b".equals(live.getTurn());
+            winner = hostTurn ? "w" : "b";
+            winnerName = hostTurn ? live.getGuestName() : live.getHostName();
+            loserName = hostTurn ? live.getHostName() : live.getGuestName();
+            // 일반 승리와 같이 메모리에서 끝내고 write-behind로 기록 (전적은 클라이언트가 게임 종료 시 저장)
+            live.finish(winner);
+            liveRoomRegistry.markDirty(live);
+        }
+        turnClocks.remove(roomId);
+        broadcastGameOver(roomId, winner, loserName + "님의 시간이 초과되었습니다. " + winnerName + "님이 승리했습니다!");
+        notifySpectators(roomId);
+        log.info("Turn timed out in room {} (move {}). Win for {}", roomId, moveCount, winner);
     }
 
     private void saveGameHistory(User user, GameHistory.GameResult result, String opponentName, GameHistory.GameType gameType) {
@@ -176,20 +420,54 @@ public class GameRoomService {
     }
 
     public List<RoomDto> getWaitingRooms() {
-        // 오목 프로젝트에서는 OMOK 게임만 조회
-        return gameRoomRepository.findByStatusAndGameTypeOrderByCreatedAtDesc(GameRoom.RoomStatus.WAITING, GameRoom.GameType.OMOK)
+        // 메모리 스냅샷에서 반환 (변경은 /topic/lobby로 전달됨)
+        return lobbyService.getWaitingRooms();
+    }
+
+    public LobbySnapshotDto getLobbySnapshot() {
+        return lobbyService.getSnapshot();
+    }
+
+    /**
+     * 관전할 수 있는 진행 중인 방 목록 (호스트 fetch join, 최신 방 먼저)
+     */
+    public List<RoomDto> getPlayingRooms() {
+        return gameRoomRepository.findWithHostByStatusAndGameType(GameRoom.RoomStatus.PLAYING, GameRoom.GameType.OMOK)
                 .stream()
-                .map(room -> new RoomDto(
-                        room.getId(),
-                        room.getHost().getName(),
-                        room.getStatus().name(),
-                        room.getCreatedAt()
-                ))
+                .map(GameRoomService::toRoomDto)
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    /**
+     * 관전자에게 방 상태 변경 알림 (관전자가 없으면 아무 일도 하지 않음, 상태는 전송 스레드에서 조회)
+     */
+    private void notifySpectators(Long roomId) {
+        spectatorBroadcaster.changed(roomId, () -> getGameState(roomId));
+    }
+
+    private static RoomDto toRoomDto(GameRoom room) {
+        return new RoomDto(
+                room.getId(),
+                room.getHost().getName(),
+                room.getStatus().name(),
+                room.getCreatedAt()
+        );
+    }
+
     public GameRoom joinRoom(Long roomId, Long guestId) {
+        if (!roomOwnership.isLocal(roomId)) {
+            clusterBus.call(roomOwnership.ownerOf(roomId), ClusterCommandDto.of("join", roomId, guestId));
+            // 소유 노드의 색인은 그 노드 것이므로 게스트가 접속한 이 노드의 색인에도 추가
+            userRoomIndex.add(guestId, roomId);
+            return gameRoomRepository.findById(roomId).orElse(null);
+        }
+        return roomCommands.call(roomId, () -> {
+            liveRoomRegistry.flushAndEvict(roomId);
+            return writeWithRetry(roomId, status -> addGuest(roomId, guestId));
+        });
+    }
+
+    private GameRoom addGuest(Long roomId, Long guestId) {
         GameRoom room = gameRoomRepository.findById(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("Room not found"));
 
@@ -209,181 +487,311 @@ public class GameRoomService {
         room.setStartedAt(LocalDateTime.now());
 
         GameRoom savedRoom = gameRoomRepository.save(room);
-        
-        // 참여자 입장 알림을 WebSocket으로 브로드캐스트
-        GameStateDto gameState = getGameState(roomId);
-        // 메시지 필드를 추가하기 위해 Map 사용
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("boardState", gameState.getBoardState());
-        notification.put("turn", gameState.getTurn());
-        notification.put("status", gameState.getStatus());
-        notification.put("isGameOver", gameState.getIsGameOver());
-        notification.put("winner", gameState.getWinner());
-        notification.put("hostName", gameState.getHostName());
-        notification.put("guestName", gameState.getGuestName());
-        notification.put("message", guest.getName() + "님이 게임에 참여했습니다! 게임을 시작합니다.");
-        
-        messagingTemplate.convertAndSend("/topic/game/" + roomId, notification);
-        
+        lobbyService.roomClosed(roomId);
+        Integer gameNo = omokGameDataRepository.findByRoomId(roomId)
+                .map(omokData -> omokData.getGameNo() != null ? omokData.getGameNo() : 0)
+                .orElse(null);
+        String guestName = guest.getName();
+
+        // 색인/시계/알림은 커밋된 뒤에만 (롤백·재시도된 입장이 참여자로 남거나 알림이 나가지 않도록)
+        afterCommit(() -> {
+            userRoomIndex.add(guestId, roomId);
+            notifySpectators(roomId);
+            if (gameNo != null) {
+                startTurnClock(roomId, gameNo, 0);
+            }
+
+            // 참여자 입장 알림을 WebSocket으로 브로드캐스트
+            GameStateDto gameState = getGameState(roomId);
+            // 메시지 필드를 추가하기 위해 Map 사용
+            Map<String, Object> notification = new HashMap<>();
+            notification.put("boardState", gameState.getBoardState());
+            notification.put("seq", gameState.getSeq());
+            notification.put("hash", gameState.getHash());
+            notification.put("turn", gameState.getTurn());
+            notification.put("status", gameState.getStatus());
+            notification.put("isGameOver", gameState.getIsGameOver());
+            notification.put("winner", gameState.getWinner());
+            notification.put("hostName", gameState.getHostName());
+            notification.put("guestName", gameState.getGuestName());
+            notification.put("message", guestName + "님이 게임에 참여했습니다! 게임을 시작합니다.");
+
+            messagingTemplate.convertAndSend("/topic/game/" + roomId, notification);
+        });
+
         return savedRoom;
     }
 
-    @Transactional
-    public GameStateDto makeMove(Long roomId, Integer row, Integer col, String boardState, String turn, Long userId) {
-        GameRoom room = gameRoomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+    /**
+     * 수 두기. 브로드캐스트용으로 방금 둔 수만 담은 증분 메시지를 반환
+     * 진행 중인 방은 메모리(LiveRoomRegistry)에서 처리하고 DB에는 write-behind로 기록
+     */
+    public GameDeltaDto makeMove(Long roomId, Integer row, Integer col, Long userId) {
+        return roomCommands.call(roomId, () -> playMove(roomId, row, col, userId));
+    }
 
-        if (room.getStatus() != GameRoom.RoomStatus.PLAYING) {
-            throw new IllegalStateException("Game is not in progress");
-        }
+    private GameDeltaDto playMove(Long roomId, Integer row, Integer col, Long userId) {
+        LiveRoom live = liveRoomRegistry.getOrLoad(roomId);
 
-        // OmokGameData 조회
-        OmokGameData omokData = omokGameDataRepository.findByRoom(room)
-                .orElseThrow(() -> new IllegalStateException("OmokGameData not found for room " + roomId));
+        synchronized (live) {
+            if (live.getStatus() != GameRoom.RoomStatus.PLAYING) {
+                throw new IllegalStateException("Game is not in progress");
+            }
 
-        // 차례 확인
-        String currentTurn = omokData.getTurn();
-        boolean isHostTurn = currentTurn.equals("b") && room.getHost().getId().equals(userId);
-        boolean isGuestTurn = currentTurn.equals("w") && room.getGuest() != null && room.getGuest().getId().equals(userId);
+            // 차례 확인
+            String currentTurn = live.getTurn();
+            boolean isHostTurn = currentTurn.equals("b") && userId != null && userId.equals(live.getHostId());
+            boolean isGuestTurn = currentTurn.equals("w") && userId != null && userId.equals(live.getGuestId());
 
-        if (!isHostTurn && !isGuestTurn) {
-            throw new IllegalStateException("Not your turn");
-        }
+            if (!isHostTurn && !isGuestTurn) {
+                throw new IllegalStateException("Not your turn");
+            }
 
-        // 보드 상태와 차례 업데이트
-        omokData.setBoardState(boardState);
-        omokData.setTurn(turn);
-        
-        // 승리 확인
-        int[][] board = omokGameService.parseBoard(boardState);
-        int winner = omokGameService.checkWinner(board);
-        if (winner != 0) {
-            room.setStatus(GameRoom.RoomStatus.FINISHED);
-            omokData.setWinner(omokGameService.intToPlayer(winner));
-        }
-        
-        omokGameDataRepository.save(omokData);
-        gameRoomRepository.save(room);
+            // 서버가 가진 보드에 직접 수를 둠 (클라이언트 보드는 신뢰하지 않음)
+            int[][] board = live.board();
+            if (row == null || col == null || !omokGameService.isValidMove(board, row, col)) {
+                throw new IllegalArgumentException("Invalid move");
+            }
+            int player = omokGameService.playerToInt(currentTurn);
+            String nextTurn = omokGameService.intToPlayer(player == 1 ? 2 : 1);
+            live.applyMove(row, col, player, nextTurn);
+
+            // 승리 확인: 방금 놓은 돌을 지나는 줄만 확인
+            if (omokGameService.checkWinAt(board, row, col)) {
+                live.finish(currentTurn);
+            } else if (omokGameService.isBoardFull(live.getMoveCount())) {
+                live.finish("draw");
+            }
+            liveRoomRegistry.markDirty(live);
+            notifySpectators(roomId);
+            if (live.getStatus() == GameRoom.RoomStatus.PLAYING) {
+                startTurnClock(roomId, live.getGameNo(), live.getMoveCount());
+            } else {
+                stopTurnClock(roomId);
+            }
 
-        return getGameState(roomId);
+            return GameDeltaDto.move(live.getMoveCount(), omokGameService.formatHash(live.getHash()), row, col, currentTurn, nextTurn,
+                    live.getStatus() == GameRoom.RoomStatus.FINISHED, live.getWinner());
+        }
     }
 
     public GameStateDto getGameState(Long roomId) {
-        GameRoom room = gameRoomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
-
-        boolean isGameOver = room.getStatus() == GameRoom.RoomStatus.FINISHED;
+        // 진행 중인 방은 메모리 상태 사용
+        LiveRoom live = liveRoomRegistry.find(roomId);
+        if (live != null) {
+            synchronized (live) {
+                int[][] board = live.board();
+                GameStateDto state = new GameStateDto(
+                        omokGameService.boardToJson(board, live.getTurn()),
+                        live.getTurn(),
+                        live.getStatus().name(),
+                        live.getStatus() == GameRoom.RoomStatus.FINISHED,
+                        live.getWinner(),
+                        live.getHostName(),
+                        live.getGuestName()
+                );
+                state.setSeq(live.getMoveCount());
+                state.setHash(omokGameService.formatHash(live.getHash()));
+                return state;
+            }
+        }
 
-        // OmokGameData 조회
-        OmokGameData omokData = omokGameDataRepository.findByRoom(room)
-                .orElseThrow(() -> new IllegalStateException("OmokGameData not found for room " + roomId));
+        // 대기/종료 방은 캐시, 없으면 게임 데이터/방/호스트/게스트를 한 번에 조회
+        // 다른 노드 소유 방은 그 노드의 변경으로 무효화되지 않으므로 캐시하지 않음
+        boolean cacheable = roomOwnership.isLocal(roomId);
+        GameStateCache.View cached = cacheable ? gameStateCache.get(roomId) : null;
+        if (cached != null) {
+            return cached.toDto();
+        }
+        long stamp = gameStateCache.stamp(roomId);
+        OmokGameData omokData = omokGameDataRepository.findForStateByRoomId(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+        GameRoom room = omokData.getRoom();
 
-        return new GameStateDto(
-                omokData.getBoardState(),
+        // JSON 변환은 API 응답 시에만 수행
+        int[][] board = moveLogService.loadBoard(omokData);
+        GameStateCache.View view = new GameStateCache.View(
+                omokGameService.boardToJson(board, omokData.getTurn()),
                 omokData.getTurn(),
                 room.getStatus().name(),
-                isGameOver,
+                room.getStatus() == GameRoom.RoomStatus.FINISHED,
                 omokData.getWinner(),
                 room.getHost().getName(),
-                room.getGuest() != null ? room.getGuest().getName() : null
+                room.getGuest() != null ? room.getGuest().getName() : null,
+                omokData.getMoveCount() != null ? omokData.getMoveCount() : omokGameService.countStones(board),
+                omokGameService.boardHash(board)
         );
+        if (cacheable) {
+            gameStateCache.put(roomId, stamp, view);
+        }
+        return view.toDto();
     }
 
-    @Transactional
-    public void updateGameState(Long roomId, String boardState, String turn, boolean isGameOver, String winner, String status) {
+    /**
+     * 거부된 수에 대한 응답 (보드 대신 현재 seq/해시만 전달)
+     */
+    public GameDeltaDto getRejection(Long roomId, String reason) {
+        GameStateDto state = getGameState(roomId);
+        return GameDeltaDto.reject(state.getSeq(), state.getHash(), state.getTurn(), reason);
+    }
+
+    /**
+     * 버전 충돌로 거부된 요청에 대한 응답 (현재 상태 전체와 안내 메시지)
+     */
+    public GameStateDto getChangedState(Long roomId) {
+        GameStateDto state = getGameState(roomId);
+        state.setMessage("방 상태가 바뀌었습니다. 다시 시도해주세요.");
+        return state;
+    }
+
+    /**
+     * 클라이언트 요청에 따른 방 상태 전환 (새 게임/재경기)
+     * 보드와 승패는 서버가 관리하므로 클라이언트가 보낸 값은 사용하지 않음
+     */
+    public void updateGameState(Long roomId, String status) {
+        roomCommands.run(roomId, () -> {
+            liveRoomRegistry.flushAndEvict(roomId);
+            writeWithRetry(roomId, tx -> {
+                changeGameState(roomId, status);
+                return null;
+            });
+        });
+    }
+
+    private void changeGameState(Long roomId, String status) {
         GameRoom room = gameRoomRepository.findById(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("Room not found"));
 
         // OmokGameData 조회 또는 생성
         OmokGameData omokData = omokGameDataRepository.findByRoom(room)
                 .orElseGet(() -> {
-                    String emptyBoard = omokGameService.createEmptyBoardState();
-                    OmokGameData newData = new OmokGameData(room, emptyBoard, "b");
+                    OmokGameData newData = new OmokGameData(room, BoardCodec.empty(), "b");
                     return omokGameDataRepository.save(newData);
                 });
 
-        omokData.setBoardState(boardState);
-        omokData.setTurn(turn);
-
-        if (isGameOver) {
-            room.setStatus(GameRoom.RoomStatus.FINISHED);
-            omokData.setWinner(winner);
-        } else {
-            // 명시적인 상태 전달이 있으면 해당 상태로 변경 (예: WAITING)
-            if ("WAITING".equals(status)) {
+        // 명시적인 상태 전달이 있으면 해당 상태로 변경 (예: WAITING)
+        if ("WAITING".equals(status)) {
+            room.setStatus(GameRoom.RoomStatus.WAITING);
+            resetBoard(omokData);
+            if (room.getGuest() != null) {
+                Long guestId = room.getGuest().getId();
+                afterCommit(() -> userRoomIndex.remove(guestId, roomId));
+            }
+            room.setGuest(null);
+            room.setStartedAt(null);
+            log.info("Room {} manually set to WAITING status", roomId);
+        }
+        // 현재 상태가 FINISHED라면 새 게임 시작
+        else if (room.getStatus() == GameRoom.RoomStatus.FINISHED) {
+            // 상대방이 없으면 WAITING 상태로 변경 (대기방 목록에 나타나도록)
+            if (room.getGuest() == null) {
                 room.setStatus(GameRoom.RoomStatus.WAITING);
-                omokData.setWinner(null);
-                // 새 게임 시작을 위해 초기 보드로 리셋
-                String emptyBoard = omokGameService.createEmptyBoardState();
-                omokData.setBoardState(emptyBoard);
-                omokData.setTurn("b");
-                room.setGuest(null);
-                room.setStartedAt(null);
-                log.info("Room {} manually set to WAITING status", roomId);
-            } 
-            // 게임이 종료되지 않았고, 현재 상태가 FINISHED라면 새 게임 시작
-            else if (room.getStatus() == GameRoom.RoomStatus.FINISHED) {
-                // 상대방이 없으면 WAITING 상태로 변경 (대기방 목록에 나타나도록)
-                if (room.getGuest() == null) {
-                    room.setStatus(GameRoom.RoomStatus.WAITING);
-                    omokData.setWinner(null);
-                    // 새 게임 시작을 위해 초기 보드로 리셋
-                    String emptyBoard = omokGameService.createEmptyBoardState();
-                    omokData.setBoardState(emptyBoard);
-                    omokData.setTurn("b");
-                    room.setGuest(null); // 명시적으로 null 설정
-                    room.setStartedAt(null); // 시작 시간 초기화
-                    log.info("Room {} reset to WAITING status for new game (no guest)", roomId);
-                } else {
-                    // 상대방이 있으면 PLAYING 상태로 변경
-                    room.setStatus(GameRoom.RoomStatus.PLAYING);
-                    omokData.setWinner(null);
-                    // 새 게임 시작을 위해 초기 보드로 리셋
-                    String emptyBoard = omokGameService.createEmptyBoardState();
-                    omokData.setBoardState(emptyBoard);
-                    omokData.setTurn("b");
-                    log.info("Room {} reset to PLAYING status for new game (with guest)", roomId);
-                }
+                resetBoard(omokData);
+                room.setStartedAt(null); // 시작 시간 초기화
+                log.info("Room {} reset to WAITING status for new game (no guest)", roomId);
+            } else {
+                // 상대방이 있으면 PLAYING 상태로 변경
+                room.setStatus(GameRoom.RoomStatus.PLAYING);
+                resetBoard(omokData);
+                int gameNo = omokData.getGameNo();
+                afterCommit(() -> startTurnClock(roomId, gameNo, 0));
+                log.info("Room {} reset to PLAYING status for new game (with guest)", roomId);
             }
         }
 
         omokGameDataRepository.save(omokData);
         gameRoomRepository.save(room);
+
+        // 대기 상태가 된 방은 로비에 표시
+        if (room.getStatus() == GameRoom.RoomStatus.WAITING) {
+            lobbyService.roomOpened(toRoomDto(room));
+        } else {
+            lobbyService.roomClosed(roomId);
+        }
+        notifySpectators(roomId);
+        if (room.getStatus() == GameRoom.RoomStatus.WAITING) {
+            afterCommit(() -> stopTurnClock(roomId));
+        }
     }
 
-    @Transactional
-    public GameStateDto sendNudgeMessage(Long roomId, Long fromUserId) {
-        GameRoom room = gameRoomRepository.findById(roomId)
+    /**
+     * 새 게임을 위해 초기 보드로 리셋
+     */
+    private void resetBoard(OmokGameData omokData) {
+        omokData.setWinner(null);
+        moveLogService.startNewGame(omokData);
+        omokData.setTurn("b");
+        omokData.setMoveCount(0);
+    }
+
+    /**
+     * 현재 게임의 착수 순서 조회 (복기용)
+     */
+    public List<GameMoveDto> getMoves(Long roomId) {
+        liveRoomRegistry.flush(roomId); // 아직 기록되지 않은 수 포함
+        OmokGameData omokData = omokGameDataRepository.findByRoomId(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+        return moveLogService.getMoves(omokData).stream()
+                .map(move -> new GameMoveDto(
+                        move.getSeq(),
+                        move.getRow(),
+                        move.getCol(),
+                        omokGameService.intToPlayer(move.getPlayer()),
+                        move.getPlayedAt()
+                ))
+                .collect(Collectors.toList());
+    }
 
-        if (room.getStatus() != GameRoom.RoomStatus.PLAYING) {
-            log.warn("Cannot send nudge message: Room {} is not in PLAYING status", roomId);
-            return getGameState(roomId);
+    /**
+     * 재촉 메시지 생성 (보드 없이 메시지만 담은 증분 메시지, 보낼 수 없으면 null)
+     * 수 두기와 달리 방 잠금/DB 없이 메모리의 방 정보로 참여자만 확인하며, 사용자별 속도 제한을 넘으면 버림
+     */
+    public GameDeltaDto sendNudgeMessage(Long roomId, Long fromUserId) {
+        if (!chatRateLimiter.tryAcquire(fromUserId)) {
+            log.debug("Nudge from user {} in room {} dropped by rate limit", fromUserId, roomId);
+            return null;
         }
+        return createNudgeMessage(roomId, fromUserId);
+    }
 
-        // 재촉한 사용자와 상대방 식별
-        // 사용자 존재 여부 확인
-        if (!userRepository.existsById(fromUserId)) {
-            log.warn("User {} not found for nudge message", fromUserId);
-            return getGameState(roomId);
-        }
+    /**
+     * 메시지용 방 정보: 메모리에 있으면 그대로, 아직 올라오지 않은 방(입장 직후/재시작 후)만 방 잠금 안에서 한 번 읽음
+     */
+    private LiveRoom findRoomForMessage(Long roomId) {
+        LiveRoom live = liveRoomRegistry.find(roomId);
+        if (live != null) return live;
+        return roomCommands.call(roomId, () -> liveRoomRegistry.getOrLoad(roomId));
+    }
 
-        User opponentUser = null;
-        String opponentName = null;
-        
-        if (room.getHost().getId().equals(fromUserId)) {
-            // 방장이 재촉한 경우, 상대방은 게스트
-            opponentUser = room.getGuest();
-            opponentName = opponentUser != null ? opponentUser.getName() : null;
-        } else if (room.getGuest() != null && room.getGuest().getId().equals(fromUserId)) {
-            // 게스트가 재촉한 경우, 상대방은 방장
-            opponentUser = room.getHost();
-            opponentName = opponentUser != null ? opponentUser.getName() : null;
+    private GameDeltaDto createNudgeMessage(Long roomId, Long fromUserId) {
+        LiveRoom live = findRoomForMessage(roomId);
+
+        String fromName;
+        String opponentName;
+        synchronized (live) {
+            if (live.getStatus() != GameRoom.RoomStatus.PLAYING) {
+                log.warn("Cannot send nudge message: Room {} is not in PLAYING status", roomId);
+                return null;
+            }
+
+            // 재촉한 사용자와 상대방 식별
+            if (fromUserId.equals(live.getHostId())) {
+                // 방장이 재촉한 경우, 상대방은 게스트
+                fromName = live.getHostName();
+                opponentName = live.getGuestName();
+            } else if (fromUserId.equals(live.getGuestId())) {
+                // 게스트가 재촉한 경우, 상대방은 방장
+                fromName = live.getGuestName();
+                opponentName = live.getHostName();
+            } else {
+                fromName = null;
+                opponentName = null;
+            }
         }
 
-        if (opponentName == null) {
-            log.warn("Cannot send nudge message: Opponent not found for room {}", roomId);
-            return getGameState(roomId);
+        if (fromName == null || opponentName == null) {
+            log.warn("Cannot send nudge message: User {} or opponent not found in room {}", fromUserId, roomId);
+            return null;
         }
 
         // 재촉 메시지 배열 (랜덤 선택)
@@ -397,94 +805,193 @@ public class GameRoomService {
         // 랜덤으로 메시지 선택
         String selectedMessage = nudgeMessages[(int) (Math.random() * nudgeMessages.length)];
 
-        // 현재 게임 상태 가져오기
-        GameStateDto gameState = getGameState(roomId);
-        
-        // 메시지를 포함한 GameStateDto 생성
-        GameStateDto nudgeState = new GameStateDto(
-            gameState.getBoardState(),
-            gameState.getTurn(),
-            gameState.getStatus(),
-            gameState.getIsGameOver(),
-            gameState.getWinner(),
-            gameState.getHostName(),
-            gameState.getGuestName(),
-            selectedMessage
-        );
-
         // 브로드캐스트는 @SendTo 어노테이션이 처리하므로 여기서는 반환만 함
         log.info("Nudge message created for room {}: {}", roomId, selectedMessage);
         
-        return nudgeState;
+        return GameDeltaDto.message("nudge", fromName, selectedMessage);
     }
 
-    @Transactional
-    public GameStateDto sendVoiceMessage(Long roomId, Long fromUserId, String message) {
-        GameRoom room = gameRoomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
-
-        if (room.getStatus() != GameRoom.RoomStatus.PLAYING) {
-            log.warn("Cannot send voice message: Room {} is not in PLAYING status", roomId);
-            return getGameState(roomId);
+    /**
+     * 음성 메시지 생성 (보드 없이 메시지만 담은 증분 메시지, 보낼 수 없으면 null)
+     */
+    public GameDeltaDto sendVoiceMessage(Long roomId, Long fromUserId, String message) {
+        if (!chatRateLimiter.tryAcquire(fromUserId)) {
+            log.debug("Voice message from user {} in room {} dropped by rate limit", fromUserId, roomId);
+            return null;
         }
+        return createVoiceMessage(roomId, fromUserId, message);
+    }
 
-        // 사용자 존재 여부 확인
-        if (!userRepository.existsById(fromUserId)) {
-            log.warn("User {} not found for voice message", fromUserId);
-            return getGameState(roomId);
+    private GameDeltaDto createVoiceMessage(Long roomId, Long fromUserId, String message) {
+        LiveRoom live = findRoomForMessage(roomId);
+
+        String fromName;
+        synchronized (live) {
+            if (live.getStatus() != GameRoom.RoomStatus.PLAYING) {
+                log.warn("Cannot send voice message: Room {} is not in PLAYING status", roomId);
+                return null;
+            }
+            fromName = fromUserId.equals(live.getHostId()) ? live.getHostName()
+                    : fromUserId.equals(live.getGuestId()) ? live.getGuestName() : null;
         }
 
-        // 현재 게임 상태 가져오기
-        GameStateDto gameState = getGameState(roomId);
-        
-        // 메시지를 포함한 GameStateDto 생성
-        GameStateDto voiceState = new GameStateDto(
-            gameState.getBoardState(),
-            gameState.getTurn(),
-            gameState.getStatus(),
-            gameState.getIsGameOver(),
-            gameState.getWinner(),
-            gameState.getHostName(),
-            gameState.getGuestName(),
-            message
-        );
+        // 참여자 확인
+        if (fromName == null) {
+            log.warn("User {} is not a player in room {} for voice message", fromUserId, roomId);
+            return null;
+        }
         
         log.info("Voice message created for room {}: {}", roomId, message);
-        return voiceState;
+        return GameDeltaDto.message("voice", fromName, message);
     }
 
-    @Transactional
     public void deleteRoom(Long roomId) {
+        if (!roomOwnership.isLocal(roomId)) {
+            clusterBus.call(roomOwnership.ownerOf(roomId), ClusterCommandDto.of("delete", roomId, null));
+            return;
+        }
+        roomCommands.run(roomId, () -> writeWithRetry(roomId, status -> {
+            removeRoom(roomId);
+            return null;
+        }));
+    }
+
+    private void removeRoom(Long roomId) {
         GameRoom room = gameRoomRepository.findById(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("Room not found"));
         
-        // OmokGameData 삭제
+        // 착수 기록과 OmokGameData 삭제
+        moveLogService.deleteByRoom(roomId);
         omokGameDataRepository.findByRoom(room).ifPresent(omokGameDataRepository::delete);
         
         // GameRoom 삭제
         gameRoomRepository.delete(room);
+        Long hostId = room.getHost().getId();
+        Long guestId = room.getGuest() != null ? room.getGuest().getId() : null;
+        // 메모리 방/시계/색인은 삭제가 커밋된 뒤에만 내림 (롤백·재시도되면 방은 그대로 남음, 방 잠금 안에서 실행)
+        afterCommit(() -> {
+            liveRoomRegistry.discard(roomId);
+            stopTurnClock(roomId);
+            userRoomIndex.remove(hostId, roomId);
+            if (guestId != null) {
+                userRoomIndex.remove(guestId, roomId);
+            }
+        });
+        lobbyService.roomClosed(roomId);
+        notifySpectators(roomId);
         log.info("Room {} deleted", roomId);
     }
 
-    @Transactional
     public void deleteRoomByHost(Long roomId, Long hostId) {
-        GameRoom room = gameRoomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
-        
-        // 방 소유자 확인
-        if (!room.getHost().getId().equals(hostId)) {
-            throw new IllegalStateException("Only room host can delete the room");
+        if (!roomOwnership.isLocal(roomId)) {
+            clusterBus.call(roomOwnership.ownerOf(roomId), ClusterCommandDto.of("delete-by-host", roomId, hostId));
+            return;
+        }
+        roomCommands.run(roomId, () -> writeWithRetry(roomId, status -> {
+            GameRoom room = gameRoomRepository.findById(roomId)
+                    .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+
+            // 방 소유자 확인
+            if (!room.getHost().getId().equals(hostId)) {
+                throw new IllegalStateException("Only room host can delete the room");
+            }
+
+            removeRoom(roomId);
+            return null;
+        }));
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 실행 (트랜잭션 밖이면 바로 실행)
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 쓰기 트랜잭션 실행. 버전 충돌이면 새 트랜잭션에서 다시 읽어 재시도하고, 한도를 넘으면 충돌 예외를 그대로 던짐
+     * 같은 서버 안의 경합은 방 잠금이 막으므로 여기서는 다른 서버나 정리 작업과의 경합만 다룸
+     */
+    private <T> T writeWithRetry(Long roomId, TransactionCallback<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 바깥 트랜잭션에 합류하면 실패 시 전체가 롤백되므로 재시도하지 않음
+            gameStateCache.invalidate(roomId);
+            return transaction.execute(action);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> {
+                    gameStateCache.invalidate(roomId);
+                    return action.doInTransaction(status);
+                });
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= writeAttempts) {
+                    log.warn("Room {} changed concurrently; giving up after {} attempts", roomId, attempt);
+                    throw e;
+                }
+                log.debug("Room {} changed concurrently; retrying ({}/{})", roomId, attempt, writeAttempts);
+            }
         }
-        
-        deleteRoom(roomId);
     }
 
-    public List<GameRoom> findRoomsByStatusAndCreatedAtBefore(GameRoom.RoomStatus status, LocalDateTime dateTime) {
-        return gameRoomRepository.findByStatusAndCreatedAtBefore(status, dateTime);
+    /**
+     * 정리 작업용 일괄 삭제: 아직 expected 상태인 방만 잠그고 착수/게임 데이터/방을 각각 delete 한 번으로 지움
+     * 방을 하나씩 다시 읽지 않으며, 호출한 쪽의 트랜잭션이 있으면 그 안에서 실행됨
+     * @return 삭제된 방 수
+     */
+    @Transactional
+    public int purgeRooms(Collection<Long> roomIds, GameRoom.RoomStatus expected) {
+        if (roomIds.isEmpty()) return 0;
+        List<Long> locked = gameRoomRepository.lockIdsByStatus(roomIds, expected);
+        if (locked.isEmpty()) return 0;
+
+        for (Long roomId : locked) {
+            // 메모리 방/시계 정리와 알림은 삭제가 커밋된 뒤에만 (롤백되면 방은 그대로 남음)
+            if (roomOwnership.isLocal(roomId)) {
+                afterCommit(() -> closePurgedRoom(roomId));
+            } else {
+                // 소유 노드의 메모리 방과 시계도 내림
+                afterCommit(() -> clusterBus.send(roomOwnership.ownerOf(roomId),
+                        ClusterCommandDto.of("discard", roomId, null)));
+            }
+            gameStateCache.invalidate(roomId);
+            if (expected == GameRoom.RoomStatus.WAITING) {
+                lobbyService.roomClosed(roomId);
+            }
+        }
+        // 참여자 색인에 남은 id는 사용 시 다시 확인하므로 여기서 지우지 않음
+        moveLogService.deleteByRooms(locked);
+        omokGameDataRepository.deleteByRoomIdIn(locked);
+        return gameRoomRepository.deleteByIdIn(locked);
     }
 
-    public List<GameRoom> findRoomsByStatusAndStartedAtBefore(GameRoom.RoomStatus status, LocalDateTime dateTime) {
-        return gameRoomRepository.findByStatusAndStartedAtBefore(status, dateTime);
+    /**
+     * 일괄 삭제된 방 정리: 방 잠금 안에서 메모리 방과 시계를 내리고 참여자/관전자에게 CLOSED 알림
+     * (삭제 커밋 뒤에 호출되므로 진행 중이던 수 두기가 끝난 뒤 내려가며, 이후 명령은 Room not found)
+     */
+    private void closePurgedRoom(Long roomId) {
+        try {
+            roomCommands.run(roomId, () -> {
+                liveRoomRegistry.discard(roomId);
+                stopTurnClock(roomId);
+            });
+        } catch (IllegalStateException e) {
+            log.warn("Could not close purged room {}: {}", roomId, e.getMessage());
+            return;
+        }
+        Map<String, Object> notification = new HashMap<>();
+        notification.put("status", "CLOSED");
+        notification.put("message", "게임 방이 닫혔습니다.");
+        messagingTemplate.convertAndSend("/topic/game/" + roomId, notification);
+        notifySpectators(roomId);
     }
 }
-
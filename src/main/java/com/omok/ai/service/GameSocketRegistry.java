@@ -0,0 +1,189 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * /ws-game 바이너리 세션 목록 (방별, 사용자별)
+ *
+ * - /topic/game/{roomId}로 보낸 메시지를 GameFrameCodec으로 한 번만 바이너리로 바꿔 그 방의 모든 세션에 보낸다.
+ * - 단일 노드: GameBroadcaster가 DTO에서 바로 만든 프레임을 넘기고, 그 밖의 메시지는 brokerChannel 인터셉터(brokerTap)가 받는다.
+ * - 여러 노드: 방에 첫 세션이 붙을 때 ClusterBus로 브로커 토픽을 구독하고 마지막 세션이 떠나면 해제한다 (다른 노드가 보낸 메시지 포함).
+ * - 재접속 유예 판단(GameRoomService)에서 STOMP 세션과 함께 접속 여부로 사용한다.
+ */
+@Component
+public class GameSocketRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(GameSocketRegistry.class);
+    public static final String GAME_TOPIC_PREFIX = "/topic/game/";
+    // GameBroadcaster가 바이너리 세션에 직접 보낸 메시지 표시 (brokerTap이 건너뜀)
+    public static final String BINARY_SENT_HEADER = "omokBinarySent";
+
+    private final ObjectMapper objectMapper;
+    private final ClusterBus clusterBus;
+    private final RoomOwnership roomOwnership;
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> roomBySession = new ConcurrentHashMap<>();
+    private final Map<Long, Set<WebSocketSession>> sessionsByRoom = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+
+    public GameSocketRegistry(ObjectMapper objectMapper, ClusterBus clusterBus, RoomOwnership roomOwnership,
+                              MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.clusterBus = clusterBus;
+        this.roomOwnership = roomOwnership;
+        Gauge.builder("omok.ws.binary.sessions", sessions, Map::size)
+                .description("/ws-game 바이너리 세션 수")
+                .register(meterRegistry);
+    }
+
+    public void add(WebSocketSession session, Long userId) {
+        sessions.put(session.getId(), session);
+        sessionsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(session.getId());
+    }
+
+    /**
+     * 세션 제거. 사용자의 마지막 바이너리 세션이었으면 true
+     */
+    public boolean remove(String sessionId, Long userId) {
+        sessions.remove(sessionId);
+        detach(sessionId);
+        boolean[] last = new boolean[1];
+        sessionsByUser.computeIfPresent(userId, (id, ids) -> {
+            ids.remove(sessionId);
+            last[0] = ids.isEmpty();
+            return ids.isEmpty() ? null : ids;
+        });
+        return last[0];
+    }
+
+    public boolean isConnected(Long userId) {
+        return sessionsByUser.containsKey(userId);
+    }
+
+    /**
+     * 세션이 받을 방 지정 (세션당 한 방, 다른 방에 붙으면 이전 방에서 빠짐)
+     */
+    public void attach(WebSocketSession session, Long roomId) {
+        Long previous = roomBySession.put(session.getId(), roomId);
+        if (roomId.equals(previous)) return;
+        if (previous != null) {
+            leaveRoom(previous, session.getId());
+        }
+        // 구독/해제는 같은 방의 입장/퇴장과 겹치지 않도록 compute 안에서 (ClusterBus는 비동기로 쓰기만 함)
+        sessionsByRoom.compute(roomId, (id, members) -> {
+            if (members == null) {
+                members = ConcurrentHashMap.newKeySet();
+                if (roomOwnership.isClustered()) {
+                    clusterBus.subscribe(GAME_TOPIC_PREFIX + id, payload -> publishJson(id, payload));
+                }
+            }
+            members.add(session);
+            return members;
+        });
+    }
+
+    public Long roomOf(String sessionId) {
+        return roomBySession.get(sessionId);
+    }
+
+    private void detach(String sessionId) {
+        Long roomId = roomBySession.remove(sessionId);
+        if (roomId != null) {
+            leaveRoom(roomId, sessionId);
+        }
+    }
+
+    private void leaveRoom(Long roomId, String sessionId) {
+        sessionsByRoom.computeIfPresent(roomId, (id, members) -> {
+            members.removeIf(member -> member.getId().equals(sessionId));
+            if (!members.isEmpty()) return members;
+            if (roomOwnership.isClustered()) {
+                clusterBus.unsubscribe(GAME_TOPIC_PREFIX + id);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 보내는 쪽에서 만든 프레임을 방의 바이너리 세션에 전달 (여러 노드면 브로커 구독으로 받으므로 무시)
+     */
+    public void publish(Long roomId, byte[] frame) {
+        if (roomOwnership.isClustered()) return;
+        sendToRoom(roomId, frame);
+    }
+
+    /**
+     * 게임 토픽 JSON 메시지를 방의 바이너리 세션에 전달 (DTO가 아닌 알림, 다른 노드에서 받은 메시지. 변환은 방마다 한 번)
+     */
+    private void publishJson(Long roomId, byte[] json) {
+        Set<WebSocketSession> members = sessionsByRoom.get(roomId);
+        if (members == null || members.isEmpty()) return;
+        byte[] frame;
+        try {
+            JsonNode event = objectMapper.readTree(json);
+            frame = GameFrameCodec.encodeEvent(event, json);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot encode game message for room {}: {}", roomId, e.getMessage());
+            return;
+        }
+        sendToRoom(roomId, frame);
+    }
+
+    private void sendToRoom(Long roomId, byte[] frame) {
+        Set<WebSocketSession> members = sessionsByRoom.get(roomId);
+        if (members == null) return;
+        for (WebSocketSession member : members) {
+            send(member, frame);
+        }
+    }
+
+    /**
+     * 세션 하나에만 전송 (세션은 OutboundQueueManager 대기열로 감싸져 있어 막히지 않음)
+     */
+    public void send(WebSocketSession session, byte[] frame) {
+        if (!session.isOpen()) return;
+        try {
+            session.sendMessage(new BinaryMessage(frame));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Send to game socket {} failed: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * brokerChannel 인터셉터: 이 노드에서 /topic/game/{roomId}로 보낸 메시지를 바이너리 세션에도 전달 (단일 노드용)
+     */
+    public ChannelInterceptor brokerTap() {
+        return new ChannelInterceptor() {
+            @Override
+            public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+                if (!sent || roomOwnership.isClustered() || sessionsByRoom.isEmpty()) return;
+                if (!(message.getPayload() instanceof byte[] json)) return;
+                if (message.getHeaders().containsKey(BINARY_SENT_HEADER)) return;
+                String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+                if (destination == null || !destination.startsWith(GAME_TOPIC_PREFIX)) return;
+                try {
+                    publishJson(Long.parseLong(destination.substring(GAME_TOPIC_PREFIX.length())), json);
+                } catch (NumberFormatException e) {
+                    // 방 id가 아닌 목적지는 무시
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.omok.ai.service;
+
+import com.omok.ai.dto.GameStateDto;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * DB에서 읽은 방 상태(getGameState) 캐시 (메모리에 없는 대기/종료 방용)
+ *
+ * - 쓰기 트랜잭션은 invalidate로 방을 표시하고, 트랜잭션이 끝나면(커밋/롤백) 항목을 지운다.
+ * - 읽는 동안 같은 방(분할 카운터)이 무효화되었으면 읽은 값을 넣지 않아, 옛 상태가 다시 들어가지 않는다.
+ * - 트랜잭션 안의 조회는 아직 커밋되지 않은 변경을 봐야 하므로 캐시를 쓰지 않는다.
+ */
+@Component
+public class GameStateCache {
+
+    private static final int STRIPES = 1024;
+
+    /**
+     * 캐시 항목 (불변, 조회 때마다 새 DTO로 복사)
+     */
+    public record View(String boardState, String turn, String status, boolean gameOver, String winner,
+                       String hostName, String guestName, int seq, String hash) {
+
+        public GameStateDto toDto() {
+            GameStateDto state = new GameStateDto(boardState, turn, status, gameOver, winner, hostName, guestName);
+            state.setSeq(seq);
+            state.setHash(hash);
+            return state;
+        }
+    }
+
+    private final Map<Long, View> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    /**
+     * 캐시된 상태 (없거나 트랜잭션 안이면 null)
+     */
+    public View get(Long roomId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) return null;
+        return entries.get(roomId);
+    }
+
+    /**
+     * DB를 읽기 전에 호출하여 무효화 여부 확인용 값을 받음
+     */
+    public long stamp(Long roomId) {
+        return stamps.get(stripe(roomId));
+    }
+
+    /**
+     * 읽는 동안 무효화되지 않았을 때만 저장
+     */
+    public void put(Long roomId, long stamp, View view) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) return;
+        entries.put(roomId, view);
+        if (stamps.get(stripe(roomId)) != stamp) {
+            entries.remove(roomId, view);
+        }
+    }
+
+    /**
+     * 방 상태가 바뀜 (트랜잭션 안이면 트랜잭션이 끝난 뒤 지움)
+     */
+    public void invalidate(Long roomId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(roomId);
+                }
+            });
+        } else {
+            evict(roomId);
+        }
+    }
+
+    private void evict(Long roomId) {
+        stamps.incrementAndGet(stripe(roomId));
+        entries.remove(roomId);
+    }
+
+    private static int stripe(Long roomId) {
+        long h = roomId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,234 @@
+package com.omok.ai.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 방 시계(차례 제한 시간, 재접속 유예)용 해시 휠 타이머
+ *
+ * - 방마다 예약 작업을 만들지 않고 스레드 하나가 tick마다 휠의 칸 하나만 확인한다.
+ * - 등록은 대기 큐에 넣기만 하고, 취소는 상태 CAS 후 칸의 연결 리스트에서 바로 빼므로 둘 다 O(1)이다.
+ * - 만료 시각은 tick 단위로 올림되어 최대 tick 하나만큼 늦게 실행된다 (시계 용도로 충분).
+ * - 만료된 작업은 작업 스레드로 넘기므로 방 잠금을 기다리는 동안에도 휠은 멈추지 않는다.
+ */
+@Component
+public class HashedWheelTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private static final int ST_WAITING = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    /**
+     * 예약 핸들 (cancel은 어느 스레드에서나 호출 가능)
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadline; // 타이머 시작 기준 나노초
+        private final AtomicInteger state = new AtomicInteger(ST_WAITING);
+        // 아래 필드는 휠 스레드만 사용
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 아직 실행되지 않았으면 취소 (이미 실행됐거나 취소됐으면 false)
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_WAITING, ST_CANCELLED)) return false;
+            cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+    }
+
+    /**
+     * 휠의 한 칸 (이중 연결 리스트, 휠 스레드만 사용)
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) timeout.prev.next = next;
+            if (next != null) next.prev = timeout.prev;
+            if (timeout == head) head = next;
+            if (timeout == tail) tail = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+    }
+
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final long startTime;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final ExecutorService workers;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick; // 휠 스레드만 사용
+
+    public HashedWheelTimer(@Value("${omok.clock.tick-ms:100}") long tickMs,
+                            @Value("${omok.clock.wheel-size:512}") int wheelSize,
+                            @Value("${omok.clock.workers:2}") int workers) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("omok.clock.tick-ms must be positive: " + tickMs);
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("omok.clock.wheel-size must be a power of two: " + wheelSize);
+        }
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        AtomicInteger workerNo = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "room-timer-task-" + workerNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::runWheel, "room-timer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * delay 뒤에 task 실행 예약
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer is stopped");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void runWheel() {
+        while (running) {
+            if (!waitForNextTick()) break;
+            removeCancelled();
+            transferPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (running) {
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep <= 0) return true;
+            LockSupport.parkNanos(this, sleep);
+        }
+        return false;
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        // 한 tick에 옮기는 양을 제한해 등록이 몰려도 휠이 밀리지 않게 함
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) return;
+            if (timeout.state.get() != ST_WAITING) continue;
+
+            long expiresAt = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiresAt - tick) / wheel.length;
+            // 이미 지난 시각이면 현재 칸에 넣어 이번 tick에 실행
+            long slot = Math.max(expiresAt, tick);
+            wheel[(int) (slot & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                timeout = timeout.next;
+                continue;
+            }
+            Timeout next = bucket.remove(timeout);
+            if (timeout.state.compareAndSet(ST_WAITING, ST_EXPIRED)) {
+                dispatch(timeout.task);
+            }
+            timeout = next;
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            workers.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Room timer task failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Room timer is stopping; dropped expired task");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+        workers.shutdownNow();
+    }
+}
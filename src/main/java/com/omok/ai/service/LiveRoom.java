@@ -0,0 +1,130 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameRoom;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 진행 중인 방의 메모리 상태 (LiveRoomRegistry가 관리)
+ * 게임 중에는 이 객체가 원본이며 DB에는 write-behind로 반영된다.
+ * 모든 접근은 이 객체로 동기화(synchronized)해서 한다.
+ * DB 기록(flush)은 방마다 flushLock으로 직렬화하며, 기록 중에도 수 두기는 막지 않는다.
+ */
+public class LiveRoom {
+
+    /**
+     * 아직 DB에 기록되지 않은 수
+     */
+    public record Move(int seq, int row, int col, int player) {
+    }
+
+    /**
+     * DB에 반영할 변경 묶음 (flush 시점의 상태 복사본)
+     */
+    record Flush(long roomId, int gameNo, GameRoom.RoomStatus status, String turn, String winner,
+                 int moveCount, int[][] board, List<Move> moves) {
+    }
+
+    private final long roomId;
+    private final long hostId;
+    private final String hostName;
+    private final Long guestId;
+    private final String guestName;
+    private final LocalDateTime startedAt;
+    private final int gameNo;
+    private final int[][] board;
+
+    private GameRoom.RoomStatus status;
+    private String turn;
+    private String winner;
+    private int moveCount;
+    private long hash; // 보드 Zobrist 해시 (수를 둘 때마다 증분 갱신)
+    private List<Move> pending = new ArrayList<>();
+    private boolean dirty;
+    // 트랜잭션을 감싸므로 synchronized 대신 ReentrantLock (가상 스레드가 캐리어에 고정되지 않도록)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    LiveRoom(long roomId, long hostId, String hostName, Long guestId, String guestName, LocalDateTime startedAt,
+             GameRoom.RoomStatus status, int gameNo, int[][] board, String turn, String winner, int moveCount) {
+        this.roomId = roomId;
+        this.hostId = hostId;
+        this.hostName = hostName;
+        this.guestId = guestId;
+        this.guestName = guestName;
+        this.startedAt = startedAt;
+        this.status = status;
+        this.gameNo = gameNo;
+        this.board = board;
+        this.turn = turn;
+        this.winner = winner;
+        this.moveCount = moveCount;
+        this.hash = Zobrist.hash(board);
+    }
+
+    void applyMove(int row, int col, int player, String nextTurn) {
+        board[row][col] = player;
+        hash = Zobrist.toggle(hash, row, col, player);
+        moveCount++;
+        turn = nextTurn;
+        pending.add(new Move(moveCount, row, col, player));
+        dirty = true;
+    }
+
+    void finish(String winner) {
+        this.winner = winner;
+        this.status = GameRoom.RoomStatus.FINISHED;
+        dirty = true;
+    }
+
+    /**
+     * 기록할 변경을 꺼냄 (없으면 null)
+     */
+    Flush drain() {
+        if (!dirty) return null;
+        Flush flush = new Flush(roomId, gameNo, status, turn, winner, moveCount, copyBoard(), pending);
+        pending = new ArrayList<>();
+        dirty = false;
+        return flush;
+    }
+
+    /**
+     * 기록에 실패한 변경을 되돌려 놓음 (다음 flush에서 다시 시도)
+     */
+    void requeue(Flush flush) {
+        List<Move> merged = new ArrayList<>(flush.moves());
+        merged.addAll(pending);
+        pending = merged;
+        dirty = true;
+    }
+
+    boolean hasPendingChanges() {
+        return dirty;
+    }
+
+    public int[][] copyBoard() {
+        int[][] copy = new int[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+
+    public long getRoomId() { return roomId; }
+    public long getHostId() { return hostId; }
+    public String getHostName() { return hostName; }
+    public Long getGuestId() { return guestId; }
+    public String getGuestName() { return guestName; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public int getGameNo() { return gameNo; }
+    public GameRoom.RoomStatus getStatus() { return status; }
+    public String getTurn() { return turn; }
+    public String getWinner() { return winner; }
+    public int getMoveCount() { return moveCount; }
+    public long getHash() { return hash; }
+    int cell(int row, int col) { return board[row][col]; }
+    ReentrantLock flushLock() { return flushLock; }
+    int[][] board() { return board; }
+}
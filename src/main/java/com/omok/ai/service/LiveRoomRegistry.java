@@ -0,0 +1,236 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.entity.OmokGameData;
+import com.omok.ai.repository.GameRoomRepository;
+import com.omok.ai.repository.OmokGameDataRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 진행 중인 방의 메모리 레지스트리 (게임 중 원본)
+ *
+ * - 수 두기/상태 조회는 메모리에서 처리하고, 변경된 방은 dirty로 표시만 한다.
+ * - flusher가 주기적으로 dirty 방의 변경을 모아 방마다 트랜잭션 하나로 기록한다 (여러 수를 한 번에).
+ * - 입장/새 게임/이탈/삭제처럼 DB를 직접 바꾸는 작업은 먼저 flushAndEvict로 반영 후 메모리에서 내린다.
+ *   기록에 실패하면 예외를 그대로 던져 그 작업을 중단시키고, 방은 메모리에 남겨 다음 flush에서 다시 시도한다.
+ * - getOrLoad/flushAndEvict는 해당 방의 잠금(RoomCommandExecutor) 안에서만 호출한다.
+ * - 종료 시(@PreDestroy) 남은 변경을 모두 기록한다.
+ */
+@Component
+public class LiveRoomRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveRoomRegistry.class);
+
+    private final GameRoomRepository gameRoomRepository;
+    private final OmokGameDataRepository omokGameDataRepository;
+    private final OmokGameService omokGameService;
+    private final MoveLogService moveLogService;
+    private final GameStateCache gameStateCache;
+    private final TransactionTemplate transaction;
+
+    private final Map<Long, LiveRoom> rooms = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    public LiveRoomRegistry(GameRoomRepository gameRoomRepository, OmokGameDataRepository omokGameDataRepository,
+                            OmokGameService omokGameService, MoveLogService moveLogService,
+                            GameStateCache gameStateCache, PlatformTransactionManager transactionManager) {
+        this.gameRoomRepository = gameRoomRepository;
+        this.omokGameDataRepository = omokGameDataRepository;
+        this.omokGameService = omokGameService;
+        this.moveLogService = moveLogService;
+        this.gameStateCache = gameStateCache;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 메모리에 있는 방 (없으면 null, DB 조회 안 함)
+     */
+    public LiveRoom find(Long roomId) {
+        return rooms.get(roomId);
+    }
+
+    /**
+     * 메모리에 있는 방, 없으면 DB에서 읽음 (PLAYING 방만 등록하고 나머지는 읽은 값만 반환)
+     */
+    public LiveRoom getOrLoad(Long roomId) {
+        LiveRoom room = rooms.get(roomId);
+        if (room != null) return room;
+        LiveRoom loaded = load(roomId);
+        if (loaded.getStatus() != GameRoom.RoomStatus.PLAYING) return loaded;
+        LiveRoom existing = rooms.putIfAbsent(roomId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * 방 상태가 바뀌었음을 표시 (LiveRoom 잠금 안에서 변경한 뒤 호출)
+     */
+    public void markDirty(LiveRoom room) {
+        dirtyRooms.add(room.getRoomId());
+    }
+
+    /**
+     * 남은 변경을 기록하고 메모리에서 내림 (DB를 직접 수정하기 전, 트랜잭션 시작 전에 호출)
+     * 방 잠금(RoomCommandExecutor) 안에서 호출하므로 커밋 전에 옛 DB 상태로 다시 올라오는 일은 없다.
+     * 기록에 실패하면 메모리에서 내리지 않고 예외를 던진다 (호출한 명령은 중단).
+     */
+    public void flushAndEvict(Long roomId) {
+        LiveRoom room = rooms.get(roomId);
+        if (room == null) return;
+        flushOrThrow(roomId, room);
+        rooms.remove(roomId, room);
+    }
+
+    /**
+     * 기록하지 않고 메모리에서 버림 (방 삭제 시)
+     */
+    public void discard(Long roomId) {
+        rooms.remove(roomId);
+        dirtyRooms.remove(roomId);
+    }
+
+    @Scheduled(fixedDelayString = "${omok.live.flush-interval-ms:200}")
+    public void flushDirty() {
+        for (Long roomId : new ArrayList<>(dirtyRooms)) {
+            flush(roomId);
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        List<Long> pending = new ArrayList<>(dirtyRooms);
+        for (Long roomId : pending) {
+            flush(roomId);
+        }
+        if (!pending.isEmpty()) {
+            log.info("Flushed {} live rooms on shutdown", pending.size());
+        }
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    /**
+     * 방 하나의 변경을 기록 (flusher/조회용, 실패하면 변경을 되돌려 놓고 다음 주기에 다시 시도)
+     */
+    void flush(Long roomId) {
+        LiveRoom room = rooms.get(roomId);
+        if (room == null) {
+            dirtyRooms.remove(roomId);
+            return;
+        }
+        try {
+            flushOrThrow(roomId, room);
+        } catch (RuntimeException e) {
+            // flushOrThrow에서 이미 기록함
+        }
+    }
+
+    /**
+     * 방 하나의 변경을 기록 (flusher와 호출 스레드 간 중복 기록을 막기 위해 방마다 직렬화)
+     * 실패하면 변경을 되돌려 놓고 예외를 다시 던진다.
+     */
+    private void flushOrThrow(Long roomId, LiveRoom room) {
+        room.flushLock().lock();
+        try {
+            dirtyRooms.remove(roomId);
+            LiveRoom.Flush flush;
+            synchronized (room) {
+                flush = room.drain();
+            }
+            if (flush == null) return;
+
+            try {
+                transaction.executeWithoutResult(status -> persist(flush));
+            } catch (RuntimeException e) {
+                log.error("Failed to flush live room {} ({} moves); will retry", roomId, flush.moves().size(), e);
+                synchronized (room) {
+                    if (rooms.get(roomId) == room) {
+                        room.requeue(flush);
+                        dirtyRooms.add(roomId);
+                    }
+                }
+                throw e;
+            }
+
+            // 끝난 게임은 기록 후 메모리에서 내림 (이후 조회는 DB)
+            synchronized (room) {
+                if (room.getStatus() == GameRoom.RoomStatus.FINISHED && !room.hasPendingChanges()) {
+                    rooms.remove(roomId, room);
+                }
+            }
+        } finally {
+            room.flushLock().unlock();
+        }
+    }
+
+    private void persist(LiveRoom.Flush flush) {
+        gameStateCache.invalidate(flush.roomId());
+        GameRoom room = gameRoomRepository.findById(flush.roomId()).orElse(null);
+        OmokGameData omokData = omokGameDataRepository.findByRoomId(flush.roomId()).orElse(null);
+        if (room == null || omokData == null) {
+            log.warn("Dropping {} unflushed moves: room {} no longer exists", flush.moves().size(), flush.roomId());
+            return;
+        }
+        // 메모리 상태는 PLAYING 방에서만 원본이므로, 그 사이 DB에서 상태가 바뀐 방(이탈/종료)은 DB가 우선
+        if (room.getStatus() != GameRoom.RoomStatus.PLAYING) {
+            log.warn("Dropping {} unflushed moves: room {} is already {}", flush.moves().size(), flush.roomId(), room.getStatus());
+            return;
+        }
+        int gameNo = omokData.getGameNo() != null ? omokData.getGameNo() : 0;
+        if (gameNo != flush.gameNo()) {
+            log.warn("Dropping {} unflushed moves for room {}: game {} was replaced by game {}",
+                    flush.moves().size(), flush.roomId(), flush.gameNo(), gameNo);
+            return;
+        }
+
+        omokData.setTurn(flush.turn());
+        omokData.setMoveCount(flush.moveCount());
+        omokData.setWinner(flush.winner());
+        moveLogService.append(room, omokData, flush.moves(), flush.board(),
+                flush.status() == GameRoom.RoomStatus.FINISHED);
+        room.setStatus(flush.status());
+        omokGameDataRepository.save(omokData);
+        gameRoomRepository.save(room);
+    }
+
+    private LiveRoom load(Long roomId) {
+        LiveRoom loaded = transaction.execute(status -> {
+            GameRoom room = gameRoomRepository.findById(roomId)
+                    .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+            OmokGameData omokData = omokGameDataRepository.findByRoom(room)
+                    .orElseThrow(() -> new IllegalStateException("OmokGameData not found for room " + roomId));
+            int[][] board = moveLogService.loadBoard(omokData);
+            int moveCount = omokData.getMoveCount() != null ? omokData.getMoveCount() : omokGameService.countStones(board);
+            return new LiveRoom(
+                    room.getId(),
+                    room.getHost().getId(),
+                    room.getHost().getName(),
+                    room.getGuest() != null ? room.getGuest().getId() : null,
+                    room.getGuest() != null ? room.getGuest().getName() : null,
+                    room.getStartedAt(),
+                    room.getStatus(),
+                    omokData.getGameNo() != null ? omokData.getGameNo() : 0,
+                    board,
+                    omokData.getTurn(),
+                    omokData.getWinner(),
+                    moveCount);
+        });
+        log.debug("Live room {} loaded", roomId);
+        return loaded;
+    }
+}
@@ -0,0 +1,273 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omok.ai.dto.ClusterCommandDto;
+import com.omok.ai.dto.LobbyEventDto;
+import com.omok.ai.dto.LobbySnapshotDto;
+import com.omok.ai.dto.RoomDto;
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.repository.GameRoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 대기방 목록 (메모리 정렬 스냅샷 + /topic/lobby 증분 이벤트)
+ *
+ * - 시작 시 DB에서 한 번 읽고(호스트 fetch join), 이후에는 방 생성/입장/대기 전환/삭제 시 갱신한다.
+ * - 변경마다 version을 올려 이벤트로 보내므로, 로비 부하는 접속자 수가 아니라 방 변경 수에 비례한다.
+ * - 트랜잭션 안에서 호출하면 커밋된 뒤에만 반영한다.
+ * - 여러 노드로 실행하면 조정 노드만 목록을 바꾸고 이벤트를 보낸다. 다른 노드는 변경을 조정 노드로 넘기고,
+ *   조정 노드의 스냅샷과 /topic/lobby 이벤트로 같은 version의 복사본을 유지한다 (번호가 건너뛰면 다시 받음).
+ */
+@Service
+public class LobbyService {
+
+    private static final Logger log = LoggerFactory.getLogger(LobbyService.class);
+
+    // 최신 방이 먼저 (기존 목록 순서와 같음)
+    private static final Comparator<RoomDto> NEWEST_FIRST = Comparator
+            .comparing(RoomDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(RoomDto::getId, Comparator.reverseOrder());
+
+    private static final String LOBBY_TOPIC = "/topic/lobby";
+
+    private final GameRoomRepository gameRoomRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RoomOwnership roomOwnership;
+    private final ClusterBus clusterBus;
+    private final ObjectMapper objectMapper;
+
+    // 목록/version 변경과 이벤트 전송 순서를 지킴 (DB 조회/조정 노드 호출은 잠금 밖에서)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, RoomDto> rooms = new HashMap<>();
+    private final TreeSet<RoomDto> sorted = new TreeSet<>(NEWEST_FIRST);
+    private long version;
+    private volatile boolean loaded;
+    private LobbySnapshotDto snapshot; // 다음 변경 전까지 재사용
+
+    public LobbyService(GameRoomRepository gameRoomRepository, SimpMessagingTemplate messagingTemplate,
+                        RoomOwnership roomOwnership, ClusterBus clusterBus, ObjectMapper objectMapper) {
+        this.gameRoomRepository = gameRoomRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.roomOwnership = roomOwnership;
+        this.clusterBus = clusterBus;
+        this.objectMapper = objectMapper;
+
+        clusterBus.register("lobby-open", command -> {
+            upsert(command.getRoom());
+            return null;
+        });
+        clusterBus.register("lobby-close", command -> {
+            remove(command.getRoomId());
+            return null;
+        });
+        clusterBus.register("lobby-snapshot", command -> getSnapshot());
+        if (!roomOwnership.isCoordinator()) {
+            clusterBus.subscribe(LOBBY_TOPIC, this::applyCoordinatorEvent);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            // 조정 노드가 아직 없으면 첫 조회 때 다시 받음
+            log.warn("Lobby snapshot is not available yet: {}", e.getMessage());
+        }
+    }
+
+    public LobbySnapshotDto getSnapshot() {
+        ensureLoaded();
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = new LobbySnapshotDto(version, List.copyOf(sorted));
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<RoomDto> getWaitingRooms() {
+        return getSnapshot().getRooms();
+    }
+
+    /**
+     * 방이 대기 상태가 됨 (생성 또는 새 게임 대기)
+     */
+    public void roomOpened(RoomDto room) {
+        afterCommit(() -> {
+            if (roomOwnership.isCoordinator()) {
+                upsert(room);
+            } else {
+                ClusterCommandDto command = ClusterCommandDto.of("lobby-open", room.getId(), null);
+                command.setRoom(room);
+                clusterBus.send(roomOwnership.getCoordinator(), command);
+            }
+        });
+    }
+
+    /**
+     * 방이 더 이상 대기 상태가 아님 (입장/삭제)
+     */
+    public void roomClosed(Long roomId) {
+        afterCommit(() -> {
+            if (roomOwnership.isCoordinator()) {
+                remove(roomId);
+            } else {
+                clusterBus.send(roomOwnership.getCoordinator(), ClusterCommandDto.of("lobby-close", roomId, null));
+            }
+        });
+    }
+
+    private void upsert(RoomDto room) {
+        ensureLoaded();
+        lock.lock();
+        try {
+            RoomDto previous = put(room);
+            publish(LobbyEventDto.upsert(++version, room, previous == null));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Long roomId) {
+        ensureLoaded();
+        lock.lock();
+        try {
+            if (delete(roomId) == null) return;
+            publish(LobbyEventDto.removed(++version, roomId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RoomDto put(RoomDto room) {
+        RoomDto previous = rooms.put(room.getId(), room);
+        if (previous != null) {
+            sorted.remove(previous);
+        }
+        sorted.add(room);
+        return previous;
+    }
+
+    private RoomDto delete(Long roomId) {
+        RoomDto previous = rooms.remove(roomId);
+        if (previous != null) {
+            sorted.remove(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * 조정 노드의 로비 이벤트를 복사본에 반영 (조정 노드가 아닌 노드)
+     */
+    private void applyCoordinatorEvent(byte[] payload) {
+        LobbyEventDto event;
+        try {
+            event = objectMapper.readValue(payload, LobbyEventDto.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed lobby event: {}", e.getMessage());
+            return;
+        }
+        lock.lock();
+        try {
+            if (!loaded || event.getVersion() <= version) return;
+            if (event.getVersion() != version + 1) {
+                // 놓친 이벤트가 있음: 다음 조회 때 스냅샷을 다시 받음
+                loaded = false;
+                return;
+            }
+            if (LobbyEventDto.TYPE_REMOVED.equals(event.getType())) {
+                delete(event.getRoomId());
+            } else if (event.getRoom() != null) {
+                put(event.getRoom());
+            }
+            version = event.getVersion();
+            snapshot = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 락을 쥔 채 보내서 이벤트가 version 순서대로 브로커에 들어가도록 함
+    private void publish(LobbyEventDto event) {
+        snapshot = null;
+        messagingTemplate.convertAndSend(LOBBY_TOPIC, event);
+    }
+
+    /**
+     * 목록이 없으면 DB(조정 노드) 또는 조정 노드 스냅샷(다른 노드)에서 받음
+     * 조회는 잠금 밖에서 하고 결과만 잠금 안에서 교체하므로, 느린 DB나 조정 노드 호출이 다른 로비 작업을 막지 않는다.
+     * 여러 스레드가 동시에 받으면 먼저 반영한 쪽을 사용한다 (반영 후의 변경은 이벤트로 들어옴).
+     */
+    private void ensureLoaded() {
+        if (loaded) return;
+        boolean fromCoordinator = !roomOwnership.isCoordinator();
+        LobbySnapshotDto fresh = fromCoordinator ? fetchFromCoordinator() : loadFromDatabase();
+        lock.lock();
+        try {
+            if (loaded) return;
+            rooms.clear();
+            sorted.clear();
+            fresh.getRooms().forEach(this::put);
+            if (fromCoordinator) {
+                version = fresh.getVersion();
+            }
+            snapshot = null;
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+        if (fromCoordinator) {
+            log.info("Lobby synced from coordinator {} at version {} ({} waiting rooms)",
+                    roomOwnership.getCoordinator(), fresh.getVersion(), fresh.getRooms().size());
+        } else {
+            log.info("Lobby loaded with {} waiting rooms", fresh.getRooms().size());
+        }
+    }
+
+    private LobbySnapshotDto loadFromDatabase() {
+        // 오목 프로젝트에서는 OMOK 게임만 조회
+        List<RoomDto> waiting = gameRoomRepository.findWithHostByStatusAndGameType(
+                        GameRoom.RoomStatus.WAITING, GameRoom.GameType.OMOK).stream()
+                .map(room -> new RoomDto(room.getId(), room.getHost().getName(), room.getStatus().name(), room.getCreatedAt()))
+                .toList();
+        return new LobbySnapshotDto(0, waiting);
+    }
+
+    private LobbySnapshotDto fetchFromCoordinator() {
+        return objectMapper.convertValue(
+                clusterBus.call(roomOwnership.getCoordinator(), ClusterCommandDto.of("lobby-snapshot", null, null)),
+                LobbySnapshotDto.class);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
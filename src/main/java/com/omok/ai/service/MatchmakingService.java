@@ -0,0 +1,223 @@
+package com.omok.ai.service;
+
+import com.omok.ai.dto.MatchEventDto;
+import com.omok.ai.entity.GameHistory;
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.repository.GameHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * 빠른 대전 대기열 (메모리)
+ *
+ * - 실력 구간(tier) → 들어온 순서로 정렬된 트리에 넣으므로 등록/취소/짝 제거가 O(log n)이다.
+ * - 스케줄러가 주기마다 한 번 훑으며 이웃한 두 사람을 짝짓는다. 같은 구간이면 바로,
+ *   다른 구간이면 오래 기다린 만큼(widen-after-ms마다 한 구간씩) 허용 폭을 넓힌다.
+ * - 짝이 정해지면 방과 OmokGameData를 한 트랜잭션에서 만들고 두 사람의 /user/queue/match로 알린다.
+ * - 접속이 끊긴 사용자는 WebSocketEventListener가 cancel로 대기열에서 뺀다.
+ */
+@Service
+public class MatchmakingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchmakingService.class);
+    private static final String MATCH_DESTINATION = "/queue/match";
+    private static final int BASE_RATING = 1000;
+    private static final int RATING_PER_NET_WIN = 20;
+
+    /**
+     * 대기표 (seq는 들어온 순서, 다시 넣을 때도 유지하여 순서를 잃지 않음)
+     */
+    record Ticket(Long userId, int rating, int tier, long seq, long enqueuedAt) {}
+
+    private final NavigableSet<Ticket> queue = new TreeSet<>(
+            Comparator.comparingInt(Ticket::tier).thenComparingLong(Ticket::seq));
+    private final Map<Long, Ticket> byUser = new HashMap<>();
+    private long nextSeq;
+
+    private final GameRoomService gameRoomService;
+    private final GameHistoryRepository gameHistoryRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final int tierWidth;
+    private final long widenAfterMs;
+    private final int batchSize;
+
+    public MatchmakingService(GameRoomService gameRoomService,
+                              GameHistoryRepository gameHistoryRepository,
+                              SimpMessagingTemplate messagingTemplate,
+                              SimpUserRegistry userRegistry,
+                              @Value("${omok.match.tier-width:100}") int tierWidth,
+                              @Value("${omok.match.widen-after-ms:10000}") long widenAfterMs,
+                              @Value("${omok.match.batch-size:500}") int batchSize) {
+        if (tierWidth <= 0) {
+            throw new IllegalArgumentException("omok.match.tier-width must be positive: " + tierWidth);
+        }
+        this.gameRoomService = gameRoomService;
+        this.gameHistoryRepository = gameHistoryRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.tierWidth = tierWidth;
+        this.widenAfterMs = Math.max(1, widenAfterMs);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 대기열 등록 후 실력 점수 반환 (이미 기다리는 중이면 기존 대기표 유지)
+     */
+    public int enqueue(Long userId) {
+        int rating = ratingOf(userId);
+        synchronized (this) {
+            Ticket existing = byUser.get(userId);
+            if (existing != null) {
+                return existing.rating();
+            }
+            Ticket ticket = new Ticket(userId, rating, Math.floorDiv(rating, tierWidth), nextSeq++,
+                    System.currentTimeMillis());
+            queue.add(ticket);
+            byUser.put(userId, ticket);
+        }
+        log.info("User {} queued for quick match (rating {})", userId, rating);
+        return rating;
+    }
+
+    /**
+     * 대기열에서 제거 (기다리는 중이 아니었으면 false)
+     */
+    public synchronized boolean cancel(Long userId) {
+        Ticket ticket = byUser.remove(userId);
+        if (ticket == null) return false;
+        queue.remove(ticket);
+        log.info("User {} left quick match queue", userId);
+        return true;
+    }
+
+    public synchronized int getWaitingCount() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${omok.match.interval-ms:1000}")
+    public void pairWaitingPlayers() {
+        List<Ticket[]> pairs = takePairs(System.currentTimeMillis());
+        for (Ticket[] pair : pairs) {
+            startMatch(pair[0], pair[1]);
+        }
+        if (!pairs.isEmpty()) {
+            log.info("Quick match paired {} games, {} players still waiting", pairs.size(), getWaitingCount());
+        }
+    }
+
+    /**
+     * 정렬 순서대로 훑으며 이웃한 두 대기표를 짝짓고 대기열에서 뺌 (먼저 온 쪽이 첫 번째)
+     * now는 테스트에서 대기 시간을 지정할 수 있도록 인자로 받음
+     */
+    synchronized List<Ticket[]> takePairs(long now) {
+        List<Ticket[]> pairs = new ArrayList<>();
+        Ticket pending = null;
+        for (Ticket ticket : queue) {
+            if (pairs.size() >= batchSize) break;
+            if (pending != null && ticket.tier() - pending.tier() <= allowedGap(pending, ticket, now)) {
+                pairs.add(pending.seq() < ticket.seq()
+                        ? new Ticket[]{pending, ticket}
+                        : new Ticket[]{ticket, pending});
+                pending = null;
+            } else {
+                pending = ticket;
+            }
+        }
+        for (Ticket[] pair : pairs) {
+            for (Ticket ticket : pair) {
+                queue.remove(ticket);
+                byUser.remove(ticket.userId());
+            }
+        }
+        return pairs;
+    }
+
+    private long allowedGap(Ticket a, Ticket b, long now) {
+        long waited = now - Math.min(a.enqueuedAt(), b.enqueuedAt());
+        return waited / widenAfterMs;
+    }
+
+    private void startMatch(Ticket first, Ticket second) {
+        // 짝이 정해지는 사이 나간 사람이 있으면 남은 사람만 원래 순서로 되돌림
+        if (!isConnected(first.userId()) || !isConnected(second.userId())) {
+            requeueIfConnected(first);
+            requeueIfConnected(second);
+            return;
+        }
+
+        GameRoom room;
+        try {
+            // 먼저 기다린 쪽이 방장(흑)
+            room = gameRoomService.createMatchedRoom(first.userId(), second.userId());
+        } catch (RuntimeException e) {
+            log.error("Failed to create quick match room for users {} and {}", first.userId(), second.userId(), e);
+            notify(first.userId(), MatchEventDto.cancelled());
+            notify(second.userId(), MatchEventDto.cancelled());
+            return;
+        }
+
+        if (!isConnected(first.userId()) || !isConnected(second.userId())) {
+            // 방을 만드는 동안 나감: 방을 지우고 남은 사람은 다시 대기
+            try {
+                gameRoomService.deleteRoom(room.getId());
+            } catch (RuntimeException e) {
+                log.warn("Quick match room {} was already closed: {}", room.getId(), e.getMessage());
+            }
+            requeueIfConnected(first);
+            requeueIfConnected(second);
+            return;
+        }
+
+        notify(first.userId(), MatchEventDto.matched(room.getId(), "b", room.getGuest().getName()));
+        notify(second.userId(), MatchEventDto.matched(room.getId(), "w", room.getHost().getName()));
+        log.info("Quick match room {} created: {} (rating {}) vs {} (rating {})", room.getId(),
+                first.userId(), first.rating(), second.userId(), second.rating());
+    }
+
+    private void requeueIfConnected(Ticket ticket) {
+        if (!isConnected(ticket.userId())) return;
+        synchronized (this) {
+            if (byUser.putIfAbsent(ticket.userId(), ticket) == null) {
+                queue.add(ticket);
+            }
+        }
+    }
+
+    private boolean isConnected(Long userId) {
+        return userRegistry.getUser(String.valueOf(userId)) != null;
+    }
+
+    private void notify(Long userId, MatchEventDto event) {
+        messagingTemplate.convertAndSendToUser(String.valueOf(userId), MATCH_DESTINATION, event);
+    }
+
+    /**
+     * 오목 전적으로 계산한 실력 점수 (기본 1000, 순승리 1판마다 20점)
+     */
+    private int ratingOf(Long userId) {
+        long wins = 0;
+        long losses = 0;
+        for (Object[] row : gameHistoryRepository.countResultsByUserId(userId, GameHistory.GameType.OMOK)) {
+            if (row[0] == GameHistory.GameResult.WIN) {
+                wins = (Long) row[1];
+            } else if (row[0] == GameHistory.GameResult.LOSS) {
+                losses = (Long) row[1];
+            }
+        }
+        return (int) Math.max(0, BASE_RATING + RATING_PER_NET_WIN * (wins - losses));
+    }
+}
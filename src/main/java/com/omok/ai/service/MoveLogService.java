@@ -0,0 +1,127 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameMove;
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.entity.OmokGameData;
+import com.omok.ai.repository.GameMoveRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 착수 로그와 보드 스냅샷 관리
+ *
+ * 수는 game_moves에 추가만 하고 (write-behind로 여러 수를 한 번에 기록), omok_game_data의 보드(board_data)는
+ * snapshot-interval 수마다 또는 게임이 끝날 때만 다시 쓴다.
+ * 현재 보드 = 스냅샷 + 스냅샷 이후의 착수 기록
+ */
+@Service
+public class MoveLogService {
+
+    private final GameMoveRepository gameMoveRepository;
+    private final OmokGameService omokGameService;
+    private final int snapshotInterval;
+
+    public MoveLogService(GameMoveRepository gameMoveRepository, OmokGameService omokGameService,
+                          @Value("${omok.game.snapshot-interval:10}") int snapshotInterval) {
+        this.gameMoveRepository = gameMoveRepository;
+        this.omokGameService = omokGameService;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    /**
+     * 스냅샷에 이후 착수 기록을 적용하여 현재 보드를 복원
+     */
+    public int[][] loadBoard(OmokGameData omokData) {
+        int[][] board = omokGameService.readBoard(omokData);
+        Integer snapshotSeq = omokData.getSnapshotSeq();
+        Integer moveCount = omokData.getMoveCount();
+        // 스냅샷 정보가 없는 기존 데이터는 board_data가 곧 현재 보드
+        if (snapshotSeq == null || moveCount == null || moveCount <= snapshotSeq) {
+            return board;
+        }
+        List<GameMove> tail = gameMoveRepository.findByRoomIdAndGameNoAndSeqGreaterThanOrderBySeqAsc(
+                omokData.getRoom().getId(), gameNo(omokData), snapshotSeq);
+        int applied = applyTail(omokData, board, tail);
+        if (applied != moveCount - snapshotSeq) {
+            throw new IllegalStateException("Move log for room " + omokData.getRoom().getId()
+                    + " has " + applied + " moves after snapshot " + snapshotSeq + ", expected " + (moveCount - snapshotSeq));
+        }
+        return board;
+    }
+
+    /**
+     * 이미 조회한 방의 착수 기록으로 현재 보드 복원 (여러 방을 한 번에 처리할 때 사용)
+     */
+    public int[][] loadBoard(OmokGameData omokData, List<GameMove> roomMoves) {
+        int[][] board = omokGameService.readBoard(omokData);
+        if (omokData.getSnapshotSeq() != null) {
+            applyTail(omokData, board, roomMoves);
+        }
+        return board;
+    }
+
+    /**
+     * 착수 기록 추가 (board는 마지막 수까지 반영된 보드)
+     * 스냅샷 주기가 되었거나 게임이 끝났으면 보드 스냅샷도 갱신
+     */
+    public void append(GameRoom room, OmokGameData omokData, List<LiveRoom.Move> moves, int[][] board, boolean gameOver) {
+        if (moves.isEmpty() && !gameOver) return;
+        int gameNo = gameNo(omokData);
+        gameMoveRepository.saveAll(moves.stream()
+                .map(move -> new GameMove(room, gameNo, move.seq(), move.row(), move.col(), move.player()))
+                .collect(Collectors.toList()));
+
+        int lastSeq = moves.isEmpty() ? omokData.getMoveCount() : moves.get(moves.size() - 1).seq();
+        Integer snapshotSeq = omokData.getSnapshotSeq();
+        if (gameOver || snapshotSeq == null || lastSeq - snapshotSeq >= snapshotInterval) {
+            omokGameService.writeBoard(omokData, board);
+            omokData.setSnapshotSeq(lastSeq);
+        }
+    }
+
+    /**
+     * 새 게임 시작: 게임 번호를 올리고 빈 보드 스냅샷으로 초기화 (이전 게임 기록은 유지)
+     */
+    public void startNewGame(OmokGameData omokData) {
+        omokData.setGameNo(gameNo(omokData) + 1);
+        omokData.setBoardData(BoardCodec.empty());
+        omokData.setBoardState(null);
+        omokData.setSnapshotSeq(0);
+    }
+
+    /**
+     * 현재 게임의 착수 순서 (복기/감사용)
+     */
+    public List<GameMove> getMoves(OmokGameData omokData) {
+        return gameMoveRepository.findByRoomIdAndGameNoOrderBySeqAsc(omokData.getRoom().getId(), gameNo(omokData));
+    }
+
+    public void deleteByRoom(Long roomId) {
+        gameMoveRepository.deleteByRoomId(roomId);
+    }
+
+    public int deleteByRooms(Collection<Long> roomIds) {
+        return gameMoveRepository.deleteByRoomIdIn(roomIds);
+    }
+
+    // 현재 게임에서 스냅샷 이후의 수만 적용
+    private static int applyTail(OmokGameData omokData, int[][] board, List<GameMove> moves) {
+        int gameNo = gameNo(omokData);
+        int snapshotSeq = omokData.getSnapshotSeq();
+        int applied = 0;
+        for (GameMove move : moves) {
+            if (move.getGameNo() != gameNo || move.getSeq() <= snapshotSeq) continue;
+            board[move.getRow()][move.getCol()] = move.getPlayer();
+            applied++;
+        }
+        return applied;
+    }
+
+    private static int gameNo(OmokGameData omokData) {
+        return omokData.getGameNo() != null ? omokData.getGameNo() : 0;
+    }
+}
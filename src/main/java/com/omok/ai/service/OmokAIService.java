@@ -1,7 +1,9 @@
 package com.omok.ai.service;
 
+import com.omok.ai.metrics.AISearchMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -14,6 +16,10 @@ public class OmokAIService {
     private static final Logger log = LoggerFactory.getLogger(OmokAIService.class);
     private static final int BOARD_SIZE = 15;
     private final Random random = new Random();
+    private final AISearchMetrics searchMetrics;
+    private final AILoadGovernor loadGovernor;
+    private final SolvedPositionStore solvedStore;
+    private final EvaluationKernel evaluationKernel;
 
     // 점수 상수 정의
     private static final int SCORE_FIVE = 100000;
@@ -23,33 +29,115 @@ public class OmokAIService {
     private static final int SCORE_LIVE_TWO = 100;
     private static final int SCORE_DEAD_TWO = 10;
 
-    public OmokAIService() {
+    public OmokAIService(AISearchMetrics searchMetrics, AILoadGovernor loadGovernor, SolvedPositionStore solvedStore,
+                         @Value("${omok.ai.vector-eval.enabled:false}") boolean vectorEvalEnabled) {
+        this.searchMetrics = searchMetrics;
+        this.loadGovernor = loadGovernor;
+        this.solvedStore = solvedStore;
+        this.evaluationKernel = vectorEvalEnabled ? createVectorKernel() : this::evaluateDirections;
+    }
+
+    /**
+     * Vector API 평가 커널 생성 (모듈이나 커널 클래스가 없으면 스칼라 경로로 대체)
+     */
+    private EvaluationKernel createVectorKernel() {
+        EvaluationKernel kernel = loadVectorKernel();
+        if (kernel == null) {
+            log.warn("Vector evaluation requested but the kernel is unavailable "
+                    + "(build with -Pvector and run with --add-modules jdk.incubator.vector); using scalar path");
+            return this::evaluateDirections;
+        }
+        log.info("Using vector evaluation kernel");
+        return kernel;
+    }
+
+    /**
+     * VectorEvaluationKernel은 vector 프로필(src/vector/java)에서만 컴파일되므로 이름으로 불러옴
+     * @return 커널, 모듈이나 클래스가 없으면 null
+     */
+    EvaluationKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        int[] scoreByCount = new int[6];
+        for (int count = 0; count <= 5; count++) {
+            int[] line = new int[5];
+            for (int k = 0; k < count; k++) line[k] = 1;
+            scoreByCount[count] = getLineScore(line[0], line[1], line[2], line[3], line[4], 1);
+        }
+        try {
+            return Class.forName("com.omok.ai.service.VectorEvaluationKernel")
+                    .asSubclass(EvaluationKernel.class)
+                    .getDeclaredConstructor(int[].class)
+                    .newInstance((Object) scoreByCount);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.debug("Vector evaluation kernel not loaded: {}", e.toString());
+            return null;
+        }
     }
 
     /**
      * AI가 다음 수를 결정
      */
     public int[] getNextMove(int[][] board, int aiPlayer, int difficulty) {
+        SearchStats stats = new SearchStats(difficulty);
+        SearchBudget budget = loadGovernor.acquire(difficulty);
+        stats.budget(budget);
+        int[] move;
+        try {
+            move = search(board, aiPlayer, difficulty, budget, stats);
+        } finally {
+            loadGovernor.release(stats);
+        }
+
+        log.debug("AI move {},{} for player {} (difficulty {}, path {}, nodes {}, {} ms)",
+                move[0], move[1], aiPlayer, difficulty, stats.getPath(), stats.getNodes(),
+                stats.getElapsedNanos() / 1_000_000);
+        searchMetrics.record(stats, move);
+        return move;
+    }
+
+    private int[] search(int[][] board, int aiPlayer, int difficulty, SearchBudget budget, SearchStats stats) {
         int opponentPlayer = aiPlayer == 1 ? 2 : 1;
-        
-        log.info("AI thinking for player {} with difficulty {}", aiPlayer, difficulty);
 
         // 1단계: 즉시 승리하는 수 찾기
         int[] winMove = findImmediateWin(board, aiPlayer);
-        if (winMove != null) return winMove;
+        if (winMove != null) {
+            stats.finish(SearchStats.Path.IMMEDIATE_WIN);
+            return winMove;
+        }
 
         // 2단계: 상대의 즉시 승리 막기
         int[] blockWinMove = findImmediateWin(board, opponentPlayer);
-        if (blockWinMove != null) return blockWinMove;
+        if (blockWinMove != null) {
+            stats.finish(SearchStats.Path.BLOCK);
+            return blockWinMove;
+        }
+
+        // 3단계: 난이도(와 서버 부하)에 따른 알고리즘 적용
+        int[] move;
+        if (!budget.scoreOnly()) {
+            // 이미 증명된 국면이면 탐색 생략
+            Zobrist.Canonical key = solvedStore.isEnabled() ? Zobrist.canonical(board, aiPlayer) : null;
+            int[] solved = key != null ? lookupSolved(board, key, budget, stats) : null;
+            if (solved != null) {
+                stats.finish(SearchStats.Path.SOLVED);
+                return solved;
+            }
 
-        // 3단계: 난이도에 따른 알고리즘 적용
-        if (difficulty >= 2) {
             // 어려움 이상: Minimax (Alpha-Beta Pruning) 적용
-            return findBestMoveMinimax(board, aiPlayer, difficulty);
+            BestMove best = findBestMoveMinimax(board, aiPlayer, budget, stats);
+            move = new int[]{best.row, best.col};
+            if (key != null) {
+                recordSolved(key, best, budget);
+            }
+            stats.finish(SearchStats.Path.MINIMAX);
         } else {
-            // 보통 이하: 단순 가치 평가 기반
-            return findBestMoveByScore(board, aiPlayer, opponentPlayer, difficulty);
+            // 보통 이하 (또는 부하로 축소된 어려움): 단순 가치 평가 기반
+            move = findBestMoveByScore(board, aiPlayer, opponentPlayer, difficulty);
+            stats.finish(SearchStats.Path.SCORE);
         }
+        return move;
     }
 
     private int[] findImmediateWin(int[][] board, int player) {
@@ -65,7 +153,7 @@ public class OmokAIService {
         return null;
     }
 
-    private boolean checkWinWithMove(int[][] board, int row, int col, int player) {
+    boolean checkWinWithMove(int[][] board, int row, int col, int player) {
         int[] directions = {0, 1, 1, 0, 1, 1, 1, -1};
         for (int d = 0; d < directions.length; d += 2) {
             int dx = directions[d];
@@ -94,77 +182,167 @@ public class OmokAIService {
         return count;
     }
 
-    private int[] findBestMoveMinimax(int[][] board, int aiPlayer, int difficulty) {
-        int depth = (difficulty >= 3) ? 4 : 2; // 마스터 4, 어려움 2
-        BestMove best = minimax(board, depth, Integer.MIN_VALUE, Integer.MAX_VALUE, true, aiPlayer);
-        return new int[]{best.row, best.col};
+    private BestMove findBestMoveMinimax(int[][] board, int aiPlayer, SearchBudget budget, SearchStats stats) {
+        return minimax(board, budget.depth(), Integer.MIN_VALUE, Integer.MAX_VALUE, true, aiPlayer,
+                budget.maxCandidates(), stats, 0);
+    }
+
+    private int[] lookupSolved(int[][] board, Zobrist.Canonical key, SearchBudget budget, SearchStats stats) {
+        SolvedPositionStore.Entry entry = solvedStore.lookup(key.hash());
+        int[] move = null;
+        // 현재 예산보다 얕은 탐색으로 얻은 결과는 사용하지 않음
+        if (entry != null && entry.depth() >= budget.depth()) {
+            move = Zobrist.inverse(key.symmetry(), entry.canonicalMove());
+            // 해시 충돌 방지: 빈 칸이 아니면 무시
+            if (board[move[0]][move[1]] != 0) {
+                move = null;
+            }
+        }
+        stats.cacheLookup(move != null);
+        return move;
     }
 
+    private void recordSolved(Zobrist.Canonical key, BestMove best, SearchBudget budget) {
+        // 실제 오목으로 끝나는 결과(SCORE_FIVE * (남은 깊이 + 1))이면서 잘린 후보와 무관하게 성립할 때만 기록
+        if (!best.proven || best.row < 0) return;
+        int result;
+        if (best.score > SCORE_FIVE) {
+            result = SolvedPositionStore.RESULT_WIN;
+        } else if (best.score < -SCORE_FIVE) {
+            result = SolvedPositionStore.RESULT_LOSS;
+        } else {
+            return;
+        }
+        solvedStore.record(key.hash(), result, budget.depth(),
+                Zobrist.transformIndex(key.symmetry(), best.row, best.col));
+    }
+
+    /**
+     * proven: 점수가 오목으로 끝나는 승/패이고, 탐색하지 않은 수(후보 제한/컷오프)로 뒤집힐 수 없음
+     */
     private static class BestMove {
         int row, col, score;
+        boolean proven;
         BestMove(int r, int c, int s) { row = r; col = c; score = s; }
+        BestMove(int r, int c, int s, boolean p) { this(r, c, s); proven = p; }
     }
 
-    private BestMove minimax(int[][] board, int depth, int alpha, int beta, boolean isMax, int aiPlayer) {
+    private BestMove minimax(int[][] board, int depth, int alpha, int beta, boolean isMax, int aiPlayer,
+                             int maxCandidates, SearchStats stats, int ply) {
         int opponent = aiPlayer == 1 ? 2 : 1;
+        stats.node();
+        stats.depth(ply);
         
         if (depth == 0) {
+            stats.leaf();
             return new BestMove(-1, -1, evaluateBoard(board, aiPlayer));
         }
 
         List<int[]> candidates = getCandidateMoves(board);
         if (candidates.isEmpty()) return new BestMove(-1, -1, 0);
+        int generated = candidates.size();
 
         // Move Ordering: 유망한 수부터 탐색하도록 정렬 (Alpha-Beta Pruning 효율 극대화)
         sortCandidates(board, candidates, isMax ? aiPlayer : opponent, isMax ? opponent : aiPlayer);
         
-        // 탐색 후보 제한 (성능을 위해 상위 20개만 고려)
-        if (candidates.size() > 20) {
-            candidates = candidates.subList(0, 20);
+        // 탐색 후보 제한 (성능을 위해 상위 20개만 고려, 부하 시 더 줄어듦)
+        // 잘린 수가 모두 상대의 즉시 승리로 끝나면 (4를 막지 않는 수) 전부 탐색한 것과 같으므로 증명은 유지
+        boolean complete = true;
+        if (candidates.size() > maxCandidates) {
+            complete = cutMovesLose(board, candidates, maxCandidates, isMax ? aiPlayer : opponent, isMax ? opponent : aiPlayer);
+            candidates = candidates.subList(0, maxCandidates);
         }
+        stats.candidates(generated, candidates.size());
 
         int bestRow = candidates.get(0)[0];
         int bestCol = candidates.get(0)[1];
 
+        // 승/패 증명: 이기는 쪽은 증명된 수 하나면 되고, 지는 쪽은 모든 수가 증명된 패배여야 함
+        boolean bestProven = false;
+        boolean allProvenLost = true;
+        boolean cutoff = false;
         if (isMax) {
             int maxEval = Integer.MIN_VALUE;
             for (int[] move : candidates) {
                 board[move[0]][move[1]] = aiPlayer;
                 if (checkWinWithMove(board, move[0], move[1], aiPlayer)) {
                     board[move[0]][move[1]] = 0;
-                    return new BestMove(move[0], move[1], SCORE_FIVE * (depth + 1));
+                    return new BestMove(move[0], move[1], SCORE_FIVE * (depth + 1), true);
                 }
-                int eval = minimax(board, depth - 1, alpha, beta, false, aiPlayer).score;
+                BestMove reply = minimax(board, depth - 1, alpha, beta, false, aiPlayer, maxCandidates, stats, ply + 1);
                 board[move[0]][move[1]] = 0;
+                int eval = reply.score;
+                allProvenLost &= reply.proven && eval < -SCORE_FIVE;
                 if (eval > maxEval) {
                     maxEval = eval;
                     bestRow = move[0];
                     bestCol = move[1];
+                    bestProven = reply.proven;
                 }
                 alpha = Math.max(alpha, eval);
-                if (beta <= alpha) break;
+                if (beta <= alpha) {
+                    stats.betaCutoff();
+                    cutoff = true;
+                    break;
+                }
             }
-            return new BestMove(bestRow, bestCol, maxEval);
+            boolean proven = maxEval > SCORE_FIVE ? bestProven
+                    : maxEval < -SCORE_FIVE && allProvenLost && complete && !cutoff;
+            return new BestMove(bestRow, bestCol, maxEval, proven);
         } else {
             int minEval = Integer.MAX_VALUE;
             for (int[] move : candidates) {
                 board[move[0]][move[1]] = opponent;
                 if (checkWinWithMove(board, move[0], move[1], opponent)) {
                     board[move[0]][move[1]] = 0;
-                    return new BestMove(move[0], move[1], -SCORE_FIVE * (depth + 1));
+                    return new BestMove(move[0], move[1], -SCORE_FIVE * (depth + 1), true);
                 }
-                int eval = minimax(board, depth - 1, alpha, beta, true, aiPlayer).score;
+                BestMove reply = minimax(board, depth - 1, alpha, beta, true, aiPlayer, maxCandidates, stats, ply + 1);
                 board[move[0]][move[1]] = 0;
+                int eval = reply.score;
+                allProvenLost &= reply.proven && eval > SCORE_FIVE;
                 if (eval < minEval) {
                     minEval = eval;
                     bestRow = move[0];
                     bestCol = move[1];
+                    bestProven = reply.proven;
                 }
                 beta = Math.min(beta, eval);
-                if (beta <= alpha) break;
+                if (beta <= alpha) {
+                    stats.betaCutoff();
+                    cutoff = true;
+                    break;
+                }
+            }
+            boolean proven = minEval < -SCORE_FIVE ? bestProven
+                    : minEval > SCORE_FIVE && allProvenLost && complete && !cutoff;
+            return new BestMove(bestRow, bestCol, minEval, proven);
+        }
+    }
+
+    /**
+     * 잘라낸 수가 모두 지는 수인지: 둔 쪽이 바로 이기지 못하고, 상대에게 그 수로 막히지 않는 승리 칸이 남아 있음
+     * (승리 칸은 이미 놓인 4개로 정해지므로 다른 칸에 둔 돌은 막지 못함)
+     */
+    private boolean cutMovesLose(int[][] board, List<int[]> candidates, int from, int mover, int other) {
+        int[] firstWin = null;
+        int[] secondWin = null;
+        for (int[] cell : candidates) {
+            if (checkWinWithMove(board, cell[0], cell[1], other)) {
+                if (firstWin == null) {
+                    firstWin = cell;
+                } else {
+                    secondWin = cell;
+                    break;
+                }
             }
-            return new BestMove(bestRow, bestCol, minEval);
         }
+        if (firstWin == null) return false;
+        for (int[] move : candidates.subList(from, candidates.size())) {
+            boolean blocksOnlyWin = secondWin == null && move[0] == firstWin[0] && move[1] == firstWin[1];
+            if (blocksOnlyWin || checkWinWithMove(board, move[0], move[1], mover)) return false;
+        }
+        return true;
     }
 
     private void sortCandidates(int[][] board, List<int[]> candidates, int currentPlayer, int opponent) {
@@ -193,7 +371,7 @@ public class OmokAIService {
         return score;
     }
 
-    private List<int[]> getCandidateMoves(int[][] board) {
+    List<int[]> getCandidateMoves(int[][] board) {
         List<int[]> candidates = new ArrayList<>();
         // 돌이 놓여진 주변 2칸 이내만 후보로 선정 (성능 최적화)
         boolean[][] visited = new boolean[BOARD_SIZE][BOARD_SIZE];
@@ -218,18 +396,18 @@ public class OmokAIService {
         return candidates;
     }
 
-    private int evaluateBoard(int[][] board, int aiPlayer) {
+    int evaluateBoard(int[][] board, int aiPlayer) {
         int score = 0;
         int opponent = aiPlayer == 1 ? 2 : 1;
         
         // 가로, 세로, 대각선 점수 합산
-        score += evaluateDirections(board, aiPlayer);
-        score -= evaluateDirections(board, opponent) * 1.2; // 방어에 약간 더 무게
+        score += evaluationKernel.evaluateDirections(board, aiPlayer);
+        score -= evaluationKernel.evaluateDirections(board, opponent) * 1.2; // 방어에 약간 더 무게
         
         return score;
     }
 
-    private int evaluateDirections(int[][] board, int player) {
+    int evaluateDirections(int[][] board, int player) {
         int totalScore = 0;
         // 가로
         for (int i = 0; i < BOARD_SIZE; i++) {
@@ -2,6 +2,7 @@ package com.omok.ai.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omok.ai.entity.OmokGameData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -74,6 +75,27 @@ public class OmokGameService {
         }
     }
 
+    /**
+     * 저장된 보드 읽기 (압축 보드 우선, 아직 변환되지 않은 행은 레거시 JSON 사용)
+     */
+    public int[][] readBoard(OmokGameData omokData) {
+        if (omokData.getBoardData() != null) {
+            return BoardCodec.decode(omokData.getBoardData());
+        }
+        if (omokData.getBoardState() != null) {
+            return parseBoard(omokData.getBoardState());
+        }
+        return new int[BOARD_SIZE][BOARD_SIZE];
+    }
+
+    /**
+     * 보드를 압축 형식으로 저장 (레거시 JSON 컬럼은 비움)
+     */
+    public void writeBoard(OmokGameData omokData, int[][] board) {
+        omokData.setBoardData(BoardCodec.encode(board));
+        omokData.setBoardState(null);
+    }
+
     /**
      * 수 검증 (범위 체크, 빈 칸 체크)
      */
@@ -136,6 +158,55 @@ public class OmokGameService {
         return 0; // 승자 없음
     }
 
+    /**
+     * 마지막으로 놓인 돌을 지나는 4개 줄만 확인하는 승리 판정
+     */
+    public boolean checkWinAt(int[][] board, int row, int col) {
+        int player = board[row][col];
+        if (player == 0) return false;
+        int[] directions = {0, 1, 1, 0, 1, 1, 1, -1};
+        for (int d = 0; d < directions.length; d += 2) {
+            if (countConsecutive(board, row, col, directions[d], directions[d + 1], player) >= WIN_COUNT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 보드가 가득 찼는지 (놓인 돌 개수 기준)
+     */
+    public boolean isBoardFull(int moveCount) {
+        return moveCount >= BOARD_SIZE * BOARD_SIZE;
+    }
+
+    /**
+     * 놓인 돌 개수 세기 (돌 개수가 저장되지 않은 기존 데이터용)
+     */
+    public int countStones(int[][] board) {
+        int count = 0;
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                if (board[i][j] != 0) count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 보드 동기화 확인용 64비트 해시 (16자리 16진수, 클라이언트도 같은 Zobrist 표로 계산)
+     */
+    public String boardHash(int[][] board) {
+        return formatHash(Zobrist.hash(board));
+    }
+
+    /**
+     * 증분 갱신된 해시(LiveRoom)를 boardHash와 같은 형식으로
+     */
+    public String formatHash(long hash) {
+        return String.format("%016x", hash);
+    }
+
     /**
      * 연속된 돌 개수 세기
      */
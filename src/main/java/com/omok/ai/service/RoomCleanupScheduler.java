@@ -1,77 +1,94 @@
 package com.omok.ai.service;
 
 import com.omok.ai.entity.GameRoom;
+import com.omok.ai.metrics.RoomCleanupMetrics;
+import com.omok.ai.repository.GameRoomRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
+/**
+ * 오래된 방 정리
+ *
+ * - 상태+시각 인덱스로 오래된 방 id만 청크 크기만큼 읽고, 청크마다 한 트랜잭션에서 일괄 delete로 지운다.
+ * - 대기 방은 생성 시각, 진행 중인 방은 시작 시각, 종료된 방은 종료 시각(finished_at) 기준이다.
+ * - 종류별 삭제 수와 소요 시간은 omok.cleanup.* 지표로 기록한다.
+ * - 여러 노드로 실행하면 조정 노드에서만 실행한다.
+ */
 @Component
 public class RoomCleanupScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(RoomCleanupScheduler.class);
 
     private final GameRoomService gameRoomService;
+    private final GameArchiveService gameArchiveService;
+    private final GameRoomRepository gameRoomRepository;
+    private final RoomOwnership roomOwnership;
+    private final RoomCleanupMetrics metrics;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private volatile boolean backfilled;
 
-    public RoomCleanupScheduler(GameRoomService gameRoomService) {
+    public RoomCleanupScheduler(GameRoomService gameRoomService, GameArchiveService gameArchiveService,
+                                GameRoomRepository gameRoomRepository, RoomOwnership roomOwnership,
+                                RoomCleanupMetrics metrics,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${omok.cleanup.chunk-size:500}") int chunkSize) {
         this.gameRoomService = gameRoomService;
+        this.gameArchiveService = gameArchiveService;
+        this.gameRoomRepository = gameRoomRepository;
+        this.roomOwnership = roomOwnership;
+        this.metrics = metrics;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
     }
 
+    // 청크마다 트랜잭션을 따로 열므로 여기서는 트랜잭션을 열지 않음
     @Scheduled(fixedRate = 300000) // 5분마다 실행
-    @Transactional
     public void cleanupOldRooms() {
+        // 여러 노드면 조정 노드만 정리 (다른 노드 소유 방은 purgeRooms가 소유 노드에 알림)
+        if (!roomOwnership.isCoordinator()) return;
         LocalDateTime now = LocalDateTime.now();
         int deletedCount = 0;
 
         try {
-            // FINISHED 방 정리 (10분 경과)
+            backfillFinishedAt();
+
+            // FINISHED 방 정리 (종료 후 10분 경과)
             LocalDateTime finishedThreshold = now.minusMinutes(10);
-            List<GameRoom> finishedRooms = gameRoomService.findRoomsByStatusAndCreatedAtBefore(
-                    GameRoom.RoomStatus.FINISHED, finishedThreshold);
-            
-            for (GameRoom room : finishedRooms) {
-                try {
-                    gameRoomService.deleteRoom(room.getId());
-                    deletedCount++;
-                    log.debug("Deleted finished room {} (created at {})", room.getId(), room.getCreatedAt());
-                } catch (Exception e) {
-                    log.error("Error deleting finished room {}: {}", room.getId(), e.getMessage());
-                }
+            if (gameArchiveService.isEnabled()) {
+                // 게임 내용은 보관 세그먼트에 기록한 뒤 삭제
+                long start = System.nanoTime();
+                int archived = gameArchiveService.archiveFinishedRooms(finishedThreshold);
+                metrics.record("archived", archived, System.nanoTime() - start);
+                deletedCount += archived;
+            } else {
+                deletedCount += purge("finished", GameRoom.RoomStatus.FINISHED,
+                        page -> gameRoomRepository.findIdsByStatusAndFinishedAtBefore(
+                                GameRoom.RoomStatus.FINISHED, finishedThreshold, page));
             }
 
             // WAITING 방 정리 (30분 경과)
             LocalDateTime waitingThreshold = now.minusMinutes(30);
-            List<GameRoom> waitingRooms = gameRoomService.findRoomsByStatusAndCreatedAtBefore(
-                    GameRoom.RoomStatus.WAITING, waitingThreshold);
-            
-            for (GameRoom room : waitingRooms) {
-                try {
-                    gameRoomService.deleteRoom(room.getId());
-                    deletedCount++;
-                    log.debug("Deleted waiting room {} (created at {})", room.getId(), room.getCreatedAt());
-                } catch (Exception e) {
-                    log.error("Error deleting waiting room {}: {}", room.getId(), e.getMessage());
-                }
-            }
+            deletedCount += purge("waiting", GameRoom.RoomStatus.WAITING,
+                    page -> gameRoomRepository.findIdsByStatusAndCreatedAtBefore(
+                            GameRoom.RoomStatus.WAITING, waitingThreshold, page));
 
             // PLAYING 상태이지만 시작된 지 2시간 이상 경과한 방 정리 (비정상 종료)
             LocalDateTime playingThreshold = now.minusHours(2);
-            List<GameRoom> playingRooms = gameRoomService.findRoomsByStatusAndStartedAtBefore(
-                    GameRoom.RoomStatus.PLAYING, playingThreshold);
-            
-            for (GameRoom room : playingRooms) {
-                try {
-                    gameRoomService.deleteRoom(room.getId());
-                    deletedCount++;
-                    log.debug("Deleted stale playing room {} (started at {})", room.getId(), room.getStartedAt());
-                } catch (Exception e) {
-                    log.error("Error deleting stale playing room {}: {}", room.getId(), e.getMessage());
-                }
-            }
+            deletedCount += purge("playing", GameRoom.RoomStatus.PLAYING,
+                    page -> gameRoomRepository.findIdsByStatusAndStartedAtBefore(
+                            GameRoom.RoomStatus.PLAYING, playingThreshold, page));
 
             if (deletedCount > 0) {
                 log.info("Room cleanup completed: {} rooms deleted", deletedCount);
@@ -80,5 +97,34 @@ public class RoomCleanupScheduler {
             log.error("Error during room cleanup: {}", e.getMessage(), e);
         }
     }
-}
 
+    /**
+     * 조건에 맞는 방이 없을 때까지 청크 단위로 삭제
+     * 조회와 잠금 사이에 상태가 바뀐 방은 건너뛰며, 한 청크에서 하나도 지우지 못하면 멈춤
+     */
+    private int purge(String kind, GameRoom.RoomStatus status, Function<Pageable, List<Long>> finder) {
+        long start = System.nanoTime();
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        int deleted = 0;
+        while (true) {
+            Integer removed = transaction.execute(tx -> {
+                List<Long> roomIds = finder.apply(chunk);
+                return roomIds.isEmpty() ? null : gameRoomService.purgeRooms(roomIds, status);
+            });
+            if (removed == null || removed == 0) break;
+            deleted += removed;
+            log.debug("Deleted {} {} rooms", removed, kind);
+        }
+        metrics.record(kind, deleted, System.nanoTime() - start);
+        return deleted;
+    }
+
+    private void backfillFinishedAt() {
+        if (backfilled) return;
+        Integer filled = transaction.execute(tx -> gameRoomRepository.backfillFinishedAt(GameRoom.RoomStatus.FINISHED));
+        if (filled != null && filled > 0) {
+            log.info("Filled finished_at for {} rooms finished before the column existed", filled);
+        }
+        backfilled = true;
+    }
+}
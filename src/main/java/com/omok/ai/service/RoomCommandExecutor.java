@@ -0,0 +1,73 @@
+package com.omok.ai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 방 단위 명령 직렬화 (분할 잠금)
+ *
+ * - 같은 방의 수 두기/입장/상태 전환/이탈/삭제는 한 번에 하나씩 실행된다.
+ * - 방 id를 해시해 잠금 배열 중 하나를 고르므로 서로 다른 방은 (거의 항상) 병렬로 실행된다.
+ * - DB 행 잠금 없이 트랜잭션 전체(커밋 포함)를 감싸도록 트랜잭션 바깥에서 호출한다.
+ * - 같은 스레드의 재진입은 허용하지만, 잠금을 쥔 채 다른 방의 명령을 실행하지 않는다 (교착 방지).
+ */
+@Component
+public class RoomCommandExecutor {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutMs;
+
+    public RoomCommandExecutor(@Value("${omok.room.lock-stripes:1024}") int stripes,
+                               @Value("${omok.room.lock-timeout-ms:5000}") long timeoutMs) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("omok.room.lock-stripes must be a power of two: " + stripes);
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = stripes - 1;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * 방 잠금을 쥔 상태로 명령 실행 후 결과 반환
+     * 대기 시간이 한도를 넘으면 IllegalStateException
+     */
+    public <T> T call(Long roomId, Supplier<T> command) {
+        ReentrantLock lock = lockFor(roomId);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for room " + roomId);
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Room is busy");
+        }
+        try {
+            return command.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void run(Long roomId, Runnable command) {
+        call(roomId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    private ReentrantLock lockFor(Long roomId) {
+        // 연속된 방 id가 인접한 잠금에 몰리지 않도록 섞음 (피보나치 해싱)
+        long h = roomId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 32) & mask];
+    }
+}
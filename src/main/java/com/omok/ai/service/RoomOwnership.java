@@ -0,0 +1,100 @@
+package com.omok.ai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 방 소유 노드 결정 (여러 서버로 실행할 때 한 방의 명령은 한 노드에서만 실행)
+ *
+ * - omok.cluster.nodes에 모든 노드 id를 나열하면 방 id마다 rendezvous 해시로 소유 노드를 고른다.
+ *   노드 목록이 같으면 어느 노드에서 계산해도 같은 결과이며, 노드를 더해도 일부 방만 옮겨 간다.
+ * - 노드 목록이 비어 있으면 단일 서버이므로 모든 방이 이 노드 소유다.
+ * - 로비 목록과 오래된 방 정리는 조정 노드(목록의 첫 번째 노드)가 맡는다.
+ * - 노드 목록은 설정으로 고정되며, 노드가 내려가도 그 방을 다른 노드로 넘기지 않는다.
+ */
+@Component
+public class RoomOwnership {
+
+    private final String nodeId;
+    private final List<String> nodes;
+    private final long[] nodeHashes;
+
+    public RoomOwnership(@Value("${omok.cluster.node-id:}") String nodeId,
+                         @Value("${omok.cluster.nodes:}") String nodes) {
+        this.nodes = Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .distinct()
+                .toList();
+        this.nodeId = nodeId.isBlank() ? "local" : nodeId.trim();
+        if (!this.nodes.isEmpty() && !this.nodes.contains(this.nodeId)) {
+            throw new IllegalArgumentException("omok.cluster.node-id '" + this.nodeId
+                    + "' is not listed in omok.cluster.nodes " + this.nodes);
+        }
+        this.nodeHashes = this.nodes.stream().mapToLong(RoomOwnership::hash).toArray();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 여러 노드로 실행 중인지 (노드가 둘 이상 나열됨)
+     */
+    public boolean isClustered() {
+        return nodes.size() > 1;
+    }
+
+    /**
+     * 방을 소유한 노드 id
+     */
+    public String ownerOf(Long roomId) {
+        if (!isClustered()) return nodeId;
+        int best = 0;
+        long bestScore = Long.MIN_VALUE;
+        for (int i = 0; i < nodeHashes.length; i++) {
+            long score = mix(nodeHashes[i] ^ roomId);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return nodes.get(best);
+    }
+
+    public boolean isLocal(Long roomId) {
+        return !isClustered() || nodeId.equals(ownerOf(roomId));
+    }
+
+    /**
+     * 로비/정리 작업을 맡는 노드
+     */
+    public String getCoordinator() {
+        return isClustered() ? nodes.get(0) : nodeId;
+    }
+
+    public boolean isCoordinator() {
+        return nodeId.equals(getCoordinator());
+    }
+
+    // FNV-1a 64비트 (노드 id 문자열 -> 고정 해시, JVM과 무관)
+    private static long hash(String node) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : node.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // splitmix64 마무리 단계 (연속된 방 id도 고르게 흩어지도록)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
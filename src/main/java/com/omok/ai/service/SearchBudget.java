@@ -0,0 +1,26 @@
+package com.omok.ai.service;
+
+/**
+ * 탐색 1회에 허용된 예산
+ * @param depth Minimax 탐색 깊이
+ * @param maxCandidates 노드당 탐색할 최대 후보 수
+ * @param scoreOnly true면 Minimax 대신 단순 가치 평가 사용
+ * @param level 부하 단계 (0: 정상, 1: 축소, 2: 최소)
+ */
+public record SearchBudget(int depth, int maxCandidates, boolean scoreOnly, int level) {
+
+    static final int FULL_CANDIDATES = 20;
+
+    /**
+     * 난이도별 기본 예산 (마스터 4, 어려움 2, 그 이하는 단순 평가)
+     */
+    public static SearchBudget full(int difficulty) {
+        if (difficulty >= 3) return new SearchBudget(4, FULL_CANDIDATES, false, 0);
+        if (difficulty == 2) return new SearchBudget(2, FULL_CANDIDATES, false, 0);
+        return new SearchBudget(0, FULL_CANDIDATES, true, 0);
+    }
+
+    public boolean isDegraded() {
+        return level > 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.omok.ai.service;
+
+/**
+ * AI 탐색 1회에 대한 통계 (탐색 스레드 하나에서만 갱신)
+ */
+public class SearchStats {
+
+    /**
+     * 수를 결정한 경로
+     */
+    public enum Path {
+        IMMEDIATE_WIN,  // 즉시 승리
+        BLOCK,          // 상대 즉시 승리 차단
+        SOLVED,         // 증명된 국면 저장소에서 조회
+        MINIMAX,        // Alpha-Beta 탐색
+        SCORE           // 단순 가치 평가
+    }
+
+    private final int difficulty;
+    private final long startNanos;
+    private long elapsedNanos;
+    private Path path;
+    private int degradeLevel;
+
+    private long nodes;
+    private long leafEvaluations;
+    private long interiorNodes;
+    private long betaCutoffs;
+    private int maxDepth;
+    private long candidatesGenerated;
+    private long candidatesSearched;
+    private long cacheLookups;
+    private long cacheHits;
+
+    public SearchStats(int difficulty) {
+        this.difficulty = difficulty;
+        this.startNanos = System.nanoTime();
+    }
+
+    void node() { nodes++; }
+    void leaf() { leafEvaluations++; }
+    void betaCutoff() { betaCutoffs++; }
+    void depth(int depth) { maxDepth = Math.max(maxDepth, depth); }
+
+    void candidates(int generated, int searched) {
+        interiorNodes++;
+        candidatesGenerated += generated;
+        candidatesSearched += searched;
+    }
+
+    void cacheLookup(boolean hit) {
+        cacheLookups++;
+        if (hit) cacheHits++;
+    }
+
+    void budget(SearchBudget budget) {
+        this.degradeLevel = budget.level();
+    }
+
+    void finish(Path path) {
+        this.path = path;
+        this.elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    public int getDifficulty() { return difficulty; }
+    public Path getPath() { return path; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public int getDegradeLevel() { return degradeLevel; }
+    public long getNodes() { return nodes; }
+    public long getLeafEvaluations() { return leafEvaluations; }
+    public long getInteriorNodes() { return interiorNodes; }
+    public long getBetaCutoffs() { return betaCutoffs; }
+    public int getMaxDepth() { return maxDepth; }
+    public long getCandidatesGenerated() { return candidatesGenerated; }
+    public long getCandidatesSearched() { return candidatesSearched; }
+    public long getCacheLookups() { return cacheLookups; }
+    public long getCacheHits() { return cacheHits; }
+
+    /**
+     * 초당 탐색 노드 수
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos > 0 ? nodes * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    /**
+     * 내부 노드 중 beta 컷오프가 발생한 비율 (0~1)
+     */
+    public double getCutoffRate() {
+        return interiorNodes > 0 ? (double) betaCutoffs / interiorNodes : 0;
+    }
+
+    /**
+     * 내부 노드당 평균 생성 후보 수
+     */
+    public double getAverageCandidates() {
+        return interiorNodes > 0 ? (double) candidatesGenerated / interiorNodes : 0;
+    }
+}
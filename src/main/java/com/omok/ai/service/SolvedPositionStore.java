@@ -0,0 +1,224 @@
+package com.omok.ai.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 탐색으로 증명된 승/패 국면 저장소
+ *
+ * 정규 Zobrist 해시를 키로 하는 개방 주소(선형 탐사) 해시 테이블을 메모리 맵 파일에 둔다.
+ * - 조회: 잠금 없이 acquire 읽기만 사용하므로 여러 스레드가 동시에 읽을 수 있다.
+ * - 기록: 단일 기록자(synchronized)가 값을 먼저 쓰고 키를 release로 써서 공개한다.
+ * - 삭제가 없으므로 한 번 공개된 슬롯은 같은 키로만 유지된다.
+ *
+ * 파일 구조: 헤더 64바이트 + 슬롯(키 8바이트, 값 8바이트) * capacity
+ */
+@Component
+public class SolvedPositionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SolvedPositionStore.class);
+
+    public static final int RESULT_WIN = 1;
+    public static final int RESULT_LOSS = 2;
+
+    private static final long MAGIC = 0x4F4D4F4B534F4C56L; // "OMOKSOLV"
+    // 2: 후보가 잘린 탐색 결과는 기록하지 않음 (버전 1 파일은 근거 없는 결과가 섞여 있을 수 있어 버림)
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+    private static final int MAX_PROBES = 64;
+
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 8;
+    private static final int OFFSET_CAPACITY = 12;
+    private static final int OFFSET_COUNT = 16;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private long count;
+    private boolean fullLogged;
+
+    public SolvedPositionStore(@Value("${omok.ai.solved-store.enabled:true}") boolean enabled,
+                               @Value("${omok.ai.solved-store.path:data/solved-positions.bin}") String path,
+                               @Value("${omok.ai.solved-store.capacity:1048576}") int requestedCapacity) {
+        MappedByteBuffer mapped = null;
+        int slots = 0;
+        if (enabled) {
+            try {
+                slots = Integer.highestOneBit(Math.min(Math.max(requestedCapacity, 1024), 1 << 26));
+                mapped = open(Path.of(path), slots);
+                slots = mapped.getInt(OFFSET_CAPACITY);
+                count = mapped.getLong(OFFSET_COUNT);
+                log.info("Solved position store opened: {} ({} / {} slots used)", path, count, slots);
+            } catch (IOException | IllegalStateException e) {
+                log.error("Solved position store disabled: cannot open {}", path, e);
+                mapped = null;
+                slots = 0;
+            }
+        }
+        this.buffer = mapped;
+        this.capacity = slots;
+        this.mask = slots - 1;
+    }
+
+    /**
+     * 사용하지 않는 저장소 (벤치마크 등 Spring 외부용)
+     */
+    public static SolvedPositionStore disabled() {
+        return new SolvedPositionStore(false, null, 0);
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /**
+     * 정규 해시로 조회 (잠금 없음)
+     * @return 저장된 결과, 없으면 null
+     */
+    public Entry lookup(long hash) {
+        if (buffer == null) return null;
+        long key = normalize(hash);
+        int slot = (int) mixIndex(key) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int offset = slotOffset(slot);
+            long stored = (long) LONGS.getAcquire(buffer, offset);
+            if (stored == 0) return null;
+            if (stored == key) {
+                return Entry.unpack((long) LONGS.getAcquire(buffer, offset + 8));
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * 증명 결과 기록 (같은 키가 있으면 더 깊은 탐색 결과일 때만 갱신)
+     */
+    public synchronized void record(long hash, int result, int depth, int canonicalMove) {
+        if (buffer == null) return;
+        long key = normalize(hash);
+        long value = Entry.pack(result, depth, canonicalMove);
+        int slot = (int) mixIndex(key) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int offset = slotOffset(slot);
+            long stored = (long) LONGS.getAcquire(buffer, offset);
+            if (stored == key) {
+                Entry existing = Entry.unpack((long) LONGS.getAcquire(buffer, offset + 8));
+                if (depth > existing.depth()) {
+                    LONGS.setRelease(buffer, offset + 8, value);
+                }
+                return;
+            }
+            if (stored == 0) {
+                if (count >= capacity * 3L / 4) {
+                    if (!fullLogged) {
+                        log.warn("Solved position store is full ({} entries); new proofs are not recorded", count);
+                        fullLogged = true;
+                    }
+                    return;
+                }
+                // 값을 먼저 쓰고 키를 공개해야 조회 스레드가 불완전한 값을 보지 않는다
+                LONGS.setRelease(buffer, offset + 8, value);
+                LONGS.setRelease(buffer, offset, key);
+                count++;
+                buffer.putLong(OFFSET_COUNT, count);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    @PreDestroy
+    public synchronized void flush() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    private static MappedByteBuffer open(Path path, int slots) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        boolean exists = Files.exists(path) && Files.size(path) >= HEADER_SIZE;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (exists) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                header.order(ByteOrder.LITTLE_ENDIAN);
+                if (header.getLong(OFFSET_MAGIC) != MAGIC || header.getInt(OFFSET_VERSION) > VERSION) {
+                    throw new IllegalStateException("Unrecognized solved position store format: " + path);
+                }
+                if (header.getInt(OFFSET_VERSION) < VERSION) {
+                    log.warn("Discarding solved position store {} written by format version {}",
+                            path, header.getInt(OFFSET_VERSION));
+                    channel.truncate(0);
+                    exists = false;
+                } else {
+                    // 기존 파일은 파일에 기록된 크기를 그대로 사용
+                    slots = header.getInt(OFFSET_CAPACITY);
+                }
+            }
+            long size = HEADER_SIZE + (long) slots * SLOT_SIZE;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (!exists) {
+                mapped.putLong(OFFSET_MAGIC, MAGIC);
+                mapped.putInt(OFFSET_VERSION, VERSION);
+                mapped.putInt(OFFSET_CAPACITY, slots);
+                mapped.putLong(OFFSET_COUNT, 0);
+            }
+            return mapped;
+        }
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    // 빈 슬롯 표시(0)와 겹치지 않도록 키 0은 1로 대체
+    private static long normalize(long hash) {
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static long mixIndex(long key) {
+        return key ^ (key >>> 29) ^ (key >>> 43);
+    }
+
+    /**
+     * 저장된 증명 결과
+     * @param result RESULT_WIN 또는 RESULT_LOSS (둘 차례 기준)
+     * @param depth 증명에 사용된 탐색 깊이
+     * @param canonicalMove 정규 좌표계의 최선 수 (row * 15 + col)
+     */
+    public record Entry(int result, int depth, int canonicalMove) {
+
+        static long pack(int result, int depth, int canonicalMove) {
+            return ((long) result << 32) | ((long) (depth & 0xFF) << 16) | (canonicalMove & 0xFFFF);
+        }
+
+        static Entry unpack(long value) {
+            return new Entry((int) (value >>> 32), (int) (value >>> 16) & 0xFF, (int) value & 0xFFFF);
+        }
+    }
+}
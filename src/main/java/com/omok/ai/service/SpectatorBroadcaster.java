@@ -0,0 +1,115 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omok.ai.dto.GameStateDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 관전자용 방 상태 전송 (/topic/spectate/{roomId})
+ *
+ * - 플레이어 경로는 "바뀌었음"만 표시하고 바로 돌아가며, 상태 조회/직렬화/전송은 별도 스레드에서 한다.
+ * - 방마다 interval-ms 동안의 변경을 모아 최신 전체 상태 하나만 보낸다 (중간 상태는 버림).
+ * - 상태는 한 번만 JSON으로 직렬화하여 모든 관전자에게 같은 메시지로 보낸다.
+ * - 관전자가 없는 방은 아무 일도 하지 않는다 (여러 노드로 실행할 때는 다른 노드의 관전자를 모르므로 항상 보냄).
+ */
+@Service
+public class SpectatorBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SpectatorBroadcaster.class);
+
+    private final SpectatorRegistry spectatorRegistry;
+    private final RoomOwnership roomOwnership;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final long intervalMs;
+    private final Map<Long, Supplier<GameStateDto>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "spectator-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SpectatorBroadcaster(SpectatorRegistry spectatorRegistry,
+                                RoomOwnership roomOwnership,
+                                SimpMessagingTemplate messagingTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${omok.spectate.interval-ms:200}") long intervalMs) {
+        this.spectatorRegistry = spectatorRegistry;
+        this.roomOwnership = roomOwnership;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.intervalMs = Math.max(0, intervalMs);
+    }
+
+    /**
+     * 방 상태가 바뀜 (트랜잭션 안이면 커밋된 뒤 반영), snapshot은 전송 직전에 한 번만 호출됨
+     */
+    public void changed(Long roomId, Supplier<GameStateDto> snapshot) {
+        // 여러 노드면 관전자가 다른 노드에 붙어 있을 수 있으므로 항상 보냄 (방마다 interval-ms에 한 번)
+        if (!roomOwnership.isClustered() && !spectatorRegistry.hasSpectators(roomId)) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(roomId, snapshot);
+                }
+            });
+        } else {
+            schedule(roomId, snapshot);
+        }
+    }
+
+    private void schedule(Long roomId, Supplier<GameStateDto> snapshot) {
+        // 이미 전송이 예약된 방은 최신 상태로만 바꿔 둠
+        if (pending.put(roomId, snapshot) == null) {
+            publisher.schedule(() -> publish(roomId), intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void publish(Long roomId) {
+        Supplier<GameStateDto> snapshot = pending.remove(roomId);
+        if (snapshot == null) return;
+        // changed()와 같이 여러 노드면 관전자 여부를 이 노드에서 알 수 없으므로 항상 보냄
+        if (!roomOwnership.isClustered() && !spectatorRegistry.hasSpectators(roomId)) return;
+        try {
+            Object payload;
+            try {
+                payload = snapshot.get();
+            } catch (IllegalArgumentException e) {
+                // 방이 삭제됨
+                payload = Map.of("status", "CLOSED", "message", "게임 방이 닫혔습니다.");
+            }
+            byte[] body = objectMapper.writeValueAsBytes(payload);
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            headers.setLeaveMutable(true);
+            messagingTemplate.send(SpectatorRegistry.TOPIC_PREFIX + roomId,
+                    MessageBuilder.createMessage(body, headers.getMessageHeaders()));
+        } catch (Exception e) {
+            log.error("Failed to publish spectator update for room {}", roomId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+    }
+}
@@ -0,0 +1,76 @@
+package com.omok.ai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방별 관전자(/topic/spectate/{roomId} 구독) 수 관리
+ *
+ * - 구독 시 방마다 max-per-room까지만 허용하고, 구독 해제/접속 종료 시 줄인다.
+ * - 수 두기 경로에서는 hasSpectators만 호출하며, 이는 잠금 없이 읽는다.
+ */
+@Component
+public class SpectatorRegistry {
+
+    public static final String TOPIC_PREFIX = "/topic/spectate/";
+
+    private final int maxPerRoom;
+    private final Map<Long, Integer> counts = new ConcurrentHashMap<>();
+    // 세션 id -> (구독 id -> 방 id)
+    private final Map<String, Map<String, Long>> subscriptions = new HashMap<>();
+
+    public SpectatorRegistry(@Value("${omok.spectate.max-per-room:300}") int maxPerRoom) {
+        this.maxPerRoom = maxPerRoom;
+    }
+
+    /**
+     * 관전 구독 등록 (방 인원이 가득 찼으면 false)
+     */
+    public synchronized boolean subscribe(String sessionId, String subscriptionId, Long roomId) {
+        unsubscribe(sessionId, subscriptionId);
+        int current = counts.getOrDefault(roomId, 0);
+        if (current >= maxPerRoom) {
+            return false;
+        }
+        counts.put(roomId, current + 1);
+        subscriptions.computeIfAbsent(sessionId, id -> new HashMap<>()).put(subscriptionId, roomId);
+        return true;
+    }
+
+    public synchronized void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, Long> session = subscriptions.get(sessionId);
+        if (session == null) return;
+        Long roomId = session.remove(subscriptionId);
+        if (roomId != null) {
+            decrement(roomId);
+        }
+        if (session.isEmpty()) {
+            subscriptions.remove(sessionId);
+        }
+    }
+
+    /**
+     * 접속 종료 시 세션의 관전 구독을 모두 해제
+     */
+    public synchronized void removeSession(String sessionId) {
+        Map<String, Long> session = subscriptions.remove(sessionId);
+        if (session == null) return;
+        session.values().forEach(this::decrement);
+    }
+
+    public boolean hasSpectators(Long roomId) {
+        return counts.containsKey(roomId);
+    }
+
+    public int getSpectatorCount(Long roomId) {
+        return counts.getOrDefault(roomId, 0);
+    }
+
+    private void decrement(Long roomId) {
+        counts.computeIfPresent(roomId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+}
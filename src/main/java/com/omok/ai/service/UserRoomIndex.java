@@ -0,0 +1,87 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.repository.GameRoomRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 접속 중인 사용자 -> 참여 방 id 색인 (접속 종료 처리용)
+ *
+ * - WebSocket 접속 시 DB(host_id/guest_id 인덱스 조회)에서 한 번 읽어 등록하고, 이후 방 생성/입장/삭제 시 갱신한다.
+ * - 접속 종료 시 색인에서 꺼내므로 모든 방을 훑지 않는다. 등록되지 않은 사용자(재시작 전 접속 등)는 DB를 조회한다.
+ * - 남아 있는 방 id는 처리 시 다시 읽어 확인하므로, 삭제가 늦게 반영된 id가 있어도 안전하다.
+ * - 여러 노드면 다른 노드(방 소유 노드, 빠른 대전 노드)에서 생긴 참여가 색인에 없을 수 있으므로 접속 종료 시 DB도 읽는다.
+ */
+@Component
+public class UserRoomIndex {
+
+    private final GameRoomRepository gameRoomRepository;
+    private final RoomOwnership roomOwnership;
+    private final Map<Long, Set<Long>> roomsByUser = new ConcurrentHashMap<>();
+
+    public UserRoomIndex(GameRoomRepository gameRoomRepository, RoomOwnership roomOwnership) {
+        this.gameRoomRepository = gameRoomRepository;
+        this.roomOwnership = roomOwnership;
+    }
+
+    /**
+     * 접속 시 사용자의 참여 방을 읽어 등록
+     */
+    public void register(Long userId) {
+        roomsByUser.put(userId, load(userId));
+    }
+
+    /**
+     * 방 생성/입장 시 추가 (접속 중인 사용자만, 미접속 사용자는 접속 시 DB에서 읽음)
+     */
+    public void add(Long userId, Long roomId) {
+        if (userId == null) return;
+        roomsByUser.computeIfPresent(userId, (id, rooms) -> {
+            rooms.add(roomId);
+            return rooms;
+        });
+    }
+
+    /**
+     * 방 삭제/게스트 퇴장 시 제거
+     */
+    public void remove(Long userId, Long roomId) {
+        if (userId == null) return;
+        roomsByUser.computeIfPresent(userId, (id, rooms) -> {
+            rooms.remove(roomId);
+            return rooms;
+        });
+    }
+
+    /**
+     * 게임 토픽 구독 권한 확인 (색인에 없으면 DB 확인)
+     */
+    public boolean isParticipant(Long userId, Long roomId) {
+        Set<Long> rooms = roomsByUser.get(userId);
+        if (rooms != null && rooms.contains(roomId)) return true;
+        return load(userId).contains(roomId);
+    }
+
+    /**
+     * 접속 종료 시 사용자의 참여 방 목록을 꺼내고 색인에서 내림
+     */
+    public Set<Long> release(Long userId) {
+        Set<Long> rooms = roomsByUser.remove(userId);
+        if (rooms == null) return load(userId);
+        if (roomOwnership.isClustered()) {
+            rooms.addAll(load(userId));
+        }
+        return rooms;
+    }
+
+    private Set<Long> load(Long userId) {
+        // 오목 프로젝트에서는 OMOK 게임만 처리
+        Set<Long> rooms = ConcurrentHashMap.newKeySet();
+        rooms.addAll(gameRoomRepository.findIdsByParticipant(userId, GameRoom.GameType.OMOK));
+        return rooms;
+    }
+}
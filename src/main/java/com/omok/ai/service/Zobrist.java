@@ -0,0 +1,118 @@
+package com.omok.ai.service;
+
+/**
+ * 오목판 Zobrist 해시
+ * 난수 표는 고정 시드(SplitMix64)로 생성하므로 재시작 후에도 같은 국면은 같은 해시를 갖는다.
+ * 회전/대칭 8가지 중 최솟값을 정규(canonical) 해시로 사용한다.
+ */
+public final class Zobrist {
+
+    public static final int BOARD_SIZE = 15;
+    public static final int SYMMETRIES = 8;
+    private static final int LAST = BOARD_SIZE - 1;
+    private static final long SEED = 0x6F6D6F6B5A6F6272L;
+
+    // [player-1][row * 15 + col]
+    private static final long[][] STONE_KEYS = new long[2][BOARD_SIZE * BOARD_SIZE];
+    private static final long WHITE_TO_MOVE_KEY;
+
+    static {
+        long state = SEED;
+        for (int p = 0; p < 2; p++) {
+            for (int i = 0; i < BOARD_SIZE * BOARD_SIZE; i++) {
+                state += 0x9E3779B97F4A7C15L;
+                STONE_KEYS[p][i] = mix(state);
+            }
+        }
+        state += 0x9E3779B97F4A7C15L;
+        WHITE_TO_MOVE_KEY = mix(state);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * 보드 해시 (대칭 정규화 없음)
+     */
+    public static long hash(int[][] board) {
+        long h = 0;
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                int p = board[i][j];
+                if (p != 0) h ^= STONE_KEYS[p - 1][i * BOARD_SIZE + j];
+            }
+        }
+        return h;
+    }
+
+    /**
+     * 돌 하나를 놓거나 뺄 때의 해시 증분 갱신
+     */
+    public static long toggle(long hash, int row, int col, int player) {
+        return hash ^ STONE_KEYS[player - 1][row * BOARD_SIZE + col];
+    }
+
+    /**
+     * 8가지 대칭 중 가장 작은 해시와 그 대칭 번호 (둘 차례 포함)
+     */
+    public static Canonical canonical(int[][] board, int sideToMove) {
+        long[] hashes = new long[SYMMETRIES];
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                int p = board[i][j];
+                if (p == 0) continue;
+                long[] keys = STONE_KEYS[p - 1];
+                for (int s = 0; s < SYMMETRIES; s++) {
+                    hashes[s] ^= keys[transformIndex(s, i, j)];
+                }
+            }
+        }
+        int best = 0;
+        for (int s = 1; s < SYMMETRIES; s++) {
+            if (Long.compareUnsigned(hashes[s], hashes[best]) < 0) best = s;
+        }
+        long h = hashes[best];
+        if (sideToMove == 2) h ^= WHITE_TO_MOVE_KEY;
+        return new Canonical(h, best);
+    }
+
+    /**
+     * 좌표를 대칭 s로 변환한 칸 번호 (row * 15 + col)
+     * s >= 4 이면 좌우 반전 후 (s % 4)번 90도 회전
+     */
+    public static int transformIndex(int s, int row, int col) {
+        int r = row, c = s >= 4 ? LAST - col : col;
+        for (int k = 0; k < (s & 3); k++) {
+            int t = r;
+            r = c;
+            c = LAST - t;
+        }
+        return r * BOARD_SIZE + c;
+    }
+
+    /**
+     * transformIndex의 역변환: 정규 좌표 칸 번호를 원래 보드 좌표로 복원
+     */
+    public static int[] inverse(int s, int index) {
+        int r = index / BOARD_SIZE, c = index % BOARD_SIZE;
+        for (int k = 0; k < (s & 3); k++) {
+            int t = c;
+            c = r;
+            r = LAST - t;
+        }
+        if (s >= 4) c = LAST - c;
+        return new int[]{r, c};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 정규 해시와 사용된 대칭 번호
+     */
+    public record Canonical(long hash, int symmetry) {
+    }
+}
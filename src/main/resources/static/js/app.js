@@ -16,6 +16,7 @@ let myColor = 'b'; // 'b' (흑) 또는 'w' (백)
 let isHost = false;
 let opponentName = 'AI';
 let lastSentBoardState = null;
+let moveSeq = 0; // 서버에서 마지막으로 반영한 수 번호 (증분 메시지 누락 감지용)
 
 // 싱글플레이어 관련 변수 (single-player.js에서 사용)
 let currentDifficulty = 1; // 0: 쉬움, 1: 보통, 2: 어려움, 3: 마스터
@@ -193,6 +194,7 @@ function initBoard() {
 
 // 셀 클릭 처리
 function handleCellClick(row, col) {
+    if (gameMode === 'spectate') return; // 관전자는 수를 둘 수 없음
     if (isGameOver || board[row][col] !== 0) return;
     
     // 차례 확인
@@ -687,10 +689,8 @@ $(document).ready(function() {
                         
                         $('#login-container').hide();
                         $('#waiting-rooms-container').show();
-                        loadWaitingRooms();
-                        
-                        if (window.roomRefreshInterval) clearInterval(window.roomRefreshInterval);
-                        window.roomRefreshInterval = setInterval(loadWaitingRooms, 5000);
+                        // 목록은 /topic/lobby로 변경될 때만 갱신 (주기적 조회 없음)
+                        openLobby();
                     },
                     error: function() {
                         alert('로그인에 실패했습니다. 다시 시도해주세요.');
@@ -807,10 +807,8 @@ $(document).ready(function() {
 
     // 대기하기 화면 관련 이벤트
     $(document).on('click', '#btn-back-to-login', function() {
-        if (window.roomRefreshInterval) {
-            clearInterval(window.roomRefreshInterval);
-            window.roomRefreshInterval = null;
-        }
+        cancelQuickMatch();
+        closeLobby();
         $('#waiting-rooms-container').hide();
         $('#login-container').show();
     });
@@ -818,6 +816,18 @@ $(document).ready(function() {
     $(document).on('click', '#btn-refresh-rooms', function() {
         loadWaitingRooms();
     });
+
+    $(document).on('click', '#btn-load-playing', function() {
+        loadPlayingRooms();
+    });
+
+    $(document).on('click', '#btn-quick-match', function() {
+        if (matchWaiting) {
+            cancelQuickMatch();
+        } else {
+            startQuickMatch();
+        }
+    });
     
     $(document).on('click', '#btn-create-new-room', function() {
         if (!userId) { alert('먼저 이름을 입력하고 같이하기를 선택해주세요.'); return; }
@@ -847,8 +857,8 @@ $(document).ready(function() {
     });
 
     $('#btn-logout').on('click', () => {
-        if (typeof stompClient !== 'undefined' && stompClient && stompClient.connected) {
-            stompClient.disconnect();
+        if (typeof disconnectGame === 'function') {
+            disconnectGame();
         }
         location.reload();
     });
@@ -908,10 +918,11 @@ $(document).ready(function() {
         movesCount = 0;
         aiCommentCounter = 0; // AI 응답 카운터 초기화
         if (typeof lastSentBoardState !== 'undefined') lastSentBoardState = null;
+        moveSeq = 0;
         $('#btn-new-game').hide();
         
         if (gameMode === 'multi') {
-            if (stompClient && stompClient.connected && roomId) {
+            if (isGameConnected() && roomId) {
                 const headers = { userId: userId.toString() };
                 const emptyBoard = boardToJson(createEmptyBoard(), 'b');
                 
@@ -923,14 +934,19 @@ $(document).ready(function() {
                     opponentName = '상대방';
                 }
 
-                stompClient.send('/app/game/' + roomId + '/state', headers, JSON.stringify({
-                    boardState: emptyBoard,
-                    turn: 'b',
-                    status: nextStatus,
-                    isGameOver: false,
-                    winner: null,
-                    message: nextMessage
-                }));
+                if (gameSocket) {
+                    // 바이너리 연결: 서버는 상태 값만 사용함
+                    gameSocket.sendStatus(nextStatus);
+                } else {
+                    stompClient.send('/app/game/' + roomId + '/state', headers, JSON.stringify({
+                        boardState: emptyBoard,
+                        turn: 'b',
+                        status: nextStatus,
+                        isGameOver: false,
+                        winner: null,
+                        message: nextMessage
+                    }));
+                }
             }
             
             initBoard();
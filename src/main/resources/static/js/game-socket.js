@@ -0,0 +1,176 @@
+// 바이너리 게임 프로토콜 클라이언트 (/ws-game, 형식은 서버 GameFrameCodec과 같음)
+// 받은 프레임은 STOMP /topic/game JSON 메시지와 같은 모양의 객체로 바꿔 onFrame에 넘김
+const GameSocket = (function() {
+    const JOIN = 0x01, MOVE = 0x02, NUDGE = 0x03, VOICE = 0x04, SYNC = 0x05, STATUS = 0x06;
+    const EVENT_MOVE = 0x81, EVENT_REJECT = 0x82, EVENT_MESSAGE = 0x83, EVENT_STATE = 0x84, EVENT_SYNCED = 0x85, EVENT_ERROR = 0x8F;
+    const WINNERS = [null, 'b', 'w', 'draw'];
+    const encoder = typeof TextEncoder !== 'undefined' ? new TextEncoder() : null;
+    const decoder = typeof TextDecoder !== 'undefined' ? new TextDecoder() : null;
+
+    function isSupported() {
+        return typeof WebSocket !== 'undefined' && typeof BigInt !== 'undefined'
+            && typeof DataView !== 'undefined' && typeof DataView.prototype.getBigUint64 === 'function'
+            && encoder !== null && decoder !== null;
+    }
+
+    // 부호 없는 LEB128
+    function varintBytes(value) {
+        const bytes = [];
+        while (value > 0x7F) {
+            bytes.push((value % 128) | 0x80);
+            value = Math.floor(value / 128);
+        }
+        bytes.push(value);
+        return bytes;
+    }
+
+    function frame(type, parts) {
+        const bytes = [type];
+        (parts || []).forEach(function(part) {
+            for (let i = 0; i < part.length; i++) bytes.push(part[i]);
+        });
+        return new Uint8Array(bytes);
+    }
+
+    function hashBytes(hex) {
+        const view = new DataView(new ArrayBuffer(8));
+        view.setBigUint64(0, BigInt('0x' + hex));
+        return new Uint8Array(view.buffer);
+    }
+
+    function Reader(buffer) {
+        this.view = new DataView(buffer);
+        this.bytes = new Uint8Array(buffer);
+        this.pos = 0;
+    }
+    Reader.prototype.u8 = function() {
+        return this.view.getUint8(this.pos++);
+    };
+    Reader.prototype.varint = function() {
+        let value = 0, scale = 1, b;
+        do {
+            b = this.u8();
+            value += (b & 0x7F) * scale;
+            scale *= 128;
+        } while (b & 0x80);
+        return value;
+    };
+    Reader.prototype.hash = function() {
+        const value = this.view.getBigUint64(this.pos);
+        this.pos += 8;
+        return value.toString(16).padStart(16, '0');
+    };
+    Reader.prototype.text = function(length) {
+        const end = length === undefined ? this.bytes.length : this.pos + length;
+        const value = decoder.decode(this.bytes.subarray(this.pos, end));
+        this.pos = end;
+        return value;
+    };
+
+    function decode(buffer) {
+        const r = new Reader(buffer);
+        const type = r.u8();
+        if (type === EVENT_MOVE) {
+            const seq = r.varint(), row = r.u8(), col = r.u8(), flags = r.u8();
+            const delta = {
+                type: 'move', seq: seq, row: row, col: col,
+                player: flags & 1 ? 'w' : 'b', turn: flags & 2 ? 'w' : 'b', hash: r.hash()
+            };
+            if (flags & 4) {
+                delta.status = 'FINISHED';
+                delta.isGameOver = true;
+                delta.winner = WINNERS[(flags >> 4) & 3];
+            }
+            return delta;
+        }
+        if (type === EVENT_REJECT) {
+            const seq = r.varint(), flags = r.u8(), hash = r.hash();
+            return {
+                type: 'reject', seq: seq === 0 ? null : seq - 1, hash: flags & 8 ? hash : null,
+                turn: flags & 2 ? 'w' : 'b', message: r.text()
+            };
+        }
+        if (type === EVENT_MESSAGE) {
+            const kind = r.u8() === 2 ? 'voice' : 'nudge';
+            const from = r.text(r.varint());
+            return { type: 'message', kind: kind, from: from, message: r.text() };
+        }
+        if (type === EVENT_STATE) {
+            return JSON.parse(r.text());
+        }
+        if (type === EVENT_SYNCED) {
+            return { type: 'synced', seq: r.varint() };
+        }
+        if (type === EVENT_ERROR) {
+            return { type: 'error', message: r.text() };
+        }
+        throw new Error('Unknown game frame type ' + type);
+    }
+
+    // handlers.onFrame(frame): 게임 메시지, handlers.onFail(): 연결되지 않음 (STOMP로 대체), handlers.onLost(): 연결 끊김
+    function connect(userIdParam, roomIdParam, handlers) {
+        const scheme = location.protocol === 'https:' ? 'wss://' : 'ws://';
+        const ws = new WebSocket(scheme + location.host + '/ws-game?userId=' + encodeURIComponent(userIdParam));
+        ws.binaryType = 'arraybuffer';
+        const client = { connected: false, closing: false };
+        let opened = false;
+
+        function send(bytes) {
+            if (client.connected) ws.send(bytes);
+        }
+
+        ws.onopen = function() {
+            opened = true;
+            client.connected = true;
+            console.log('Game socket connected (binary protocol)');
+            send(frame(JOIN, [varintBytes(Number(roomIdParam))]));
+        };
+        ws.onmessage = function(event) {
+            let decoded;
+            try {
+                decoded = decode(event.data);
+            } catch (error) {
+                console.error('Error decoding game frame:', error);
+                return;
+            }
+            if (decoded.type === 'error') {
+                console.error('Game socket error:', decoded.message);
+                return;
+            }
+            handlers.onFrame(decoded);
+        };
+        ws.onclose = function() {
+            client.connected = false;
+            if (client.closing) return;
+            if (!opened) {
+                handlers.onFail();
+            } else {
+                handlers.onLost();
+            }
+        };
+
+        client.sendMove = function(row, col) {
+            send(frame(MOVE, [[row, col]]));
+        };
+        client.sendNudge = function() {
+            send(frame(NUDGE));
+        };
+        client.sendVoice = function(text) {
+            send(frame(VOICE, [encoder.encode(text)]));
+        };
+        client.sendStatus = function(status) {
+            send(frame(STATUS, [encoder.encode(status)]));
+        };
+        client.sync = function(seq, hash) {
+            send(frame(SYNC, [varintBytes(seq), hashBytes(hash)]));
+        };
+        client.disconnect = function() {
+            client.closing = true;
+            client.connected = false;
+            ws.close();
+        };
+        return client;
+    }
+
+    return { isSupported: isSupported, connect: connect };
+})();
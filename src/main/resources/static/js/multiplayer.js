@@ -1,7 +1,110 @@
 // 멀티플레이어 관련 로직 (변수는 app.js에 정의됨)
 
+// 보드 Zobrist 해시 (서버 Zobrist.java와 같은 SplitMix64 표, 64비트라 BigInt 사용)
+const ZOBRIST_MASK = (1n << 64n) - 1n;
+const ZOBRIST_KEYS = (function() {
+    const mix = function(z) {
+        z = ((z ^ (z >> 30n)) * 0xBF58476D1CE4E5B9n) & ZOBRIST_MASK;
+        z = ((z ^ (z >> 27n)) * 0x94D049BB133111EBn) & ZOBRIST_MASK;
+        return z ^ (z >> 31n);
+    };
+    const keys = [[], []];
+    let state = 0x6F6D6F6B5A6F6272n;
+    for (let p = 0; p < 2; p++) {
+        for (let i = 0; i < 225; i++) {
+            state = (state + 0x9E3779B97F4A7C15n) & ZOBRIST_MASK;
+            keys[p].push(mix(state));
+        }
+    }
+    return keys;
+})();
+
+function boardHash(board) {
+    let h = 0n;
+    for (let i = 0; i < 15; i++) {
+        for (let j = 0; j < 15; j++) {
+            const p = board[i][j];
+            if (p !== 0) h ^= ZOBRIST_KEYS[p - 1][i * 15 + j];
+        }
+    }
+    return h.toString(16).padStart(16, '0');
+}
+
+// 증분 메시지 누락/불일치 시에만 전체 상태를 다시 받음
+let snapshotRequested = false;
+function requestSnapshot(reason) {
+    if (snapshotRequested || !roomId) return;
+    console.warn('Requesting full game state:', reason);
+    snapshotRequested = true;
+    if (gameSocket && gameSocket.connected) {
+        // 바이너리 연결이면 seq/해시만 보내고, 서버와 다를 때만 전체 상태를 받음
+        gameSocket.sync(moveSeq, boardHash(board));
+        return;
+    }
+    $.ajax({
+        url: '/api/rooms/' + roomId + '/state',
+        method: 'GET',
+        success: function(latestState) {
+            handleGameStateUpdate(latestState);
+        },
+        complete: function() {
+            snapshotRequested = false;
+        }
+    });
+}
+
+// 게임 중 연결: 가능하면 바이너리 프로토콜(/ws-game), 지원하지 않거나 연결되지 않으면 STOMP(/ws)
+let gameSocket = null;
+
+function isGameConnected() {
+    if (gameSocket) return gameSocket.connected;
+    return stompClient && stompClient.connected;
+}
+
+function disconnectGame() {
+    if (gameSocket) {
+        gameSocket.disconnect();
+        gameSocket = null;
+    }
+    if (stompClient && stompClient.connected) {
+        stompClient.disconnect();
+    }
+}
+
 // WebSocket 연결 함수
 function connectWebSocket(roomIdParam) {
+    if (typeof GameSocket === 'undefined' || !GameSocket.isSupported()) {
+        connectStompGame(roomIdParam);
+        return;
+    }
+    gameSocket = GameSocket.connect(userId, roomIdParam, {
+        onFrame: function(frame) {
+            if (frame.type === 'synced') {
+                snapshotRequested = false;
+                return;
+            }
+            if (!frame.type) {
+                snapshotRequested = false; // 전체 상태
+            }
+            dispatchGameFrame(frame);
+        },
+        onFail: function() {
+            console.warn('Binary game socket unavailable, falling back to STOMP');
+            gameSocket = null;
+            connectStompGame(roomIdParam);
+        },
+        onLost: function() {
+            console.error('Game socket connection lost');
+            snapshotRequested = false;
+            // WebSocket 연결 오류 시 방 정리 요청 (호스트인 경우만)
+            if (isHost && roomId && userId) {
+                cleanupRoomOnError();
+            }
+        }
+    });
+}
+
+function connectStompGame(roomIdParam) {
     const socket = new SockJS('/ws');
     stompClient = Stomp.over(socket);
     
@@ -11,31 +114,7 @@ function connectWebSocket(roomIdParam) {
     
     stompClient.connect(headers, function(frame) {
         console.log('WebSocket Connected: ' + frame);
-        console.log('Subscribing to /topic/game/' + roomIdParam);
-        
-        stompClient.subscribe('/topic/game/' + roomIdParam, function(message) {
-            console.log('Received message:', message.body);
-            try {
-                const gameState = JSON.parse(message.body);
-                handleGameStateUpdate(gameState);
-            } catch (error) {
-                console.error('Error parsing game state:', error);
-                // 에러 메시지인 경우 처리
-                if (message.body && message.body.includes('Not your turn')) {
-                    alert('아직 당신의 차례가 아닙니다!');
-                    window.pendingMove = null;
-                    // 서버에서 최신 상태를 가져와서 동기화
-                    $.ajax({
-                        url: '/api/rooms/' + roomIdParam + '/state',
-                        method: 'GET',
-                        success: function(latestState) {
-                            updateBoardFromState(latestState.boardState, latestState.turn);
-                            updateStatus();
-                        }
-                    });
-                }
-            }
-        });
+        subscribeGame(roomIdParam);
     }, function(error) {
         console.error('WebSocket connection error:', error);
         // WebSocket 연결 오류 시 방 정리 요청 (호스트인 경우만)
@@ -45,9 +124,38 @@ function connectWebSocket(roomIdParam) {
     });
 }
 
+// 게임 방 메시지 구독 (빠른 대전은 대기열 연결을 그대로 사용)
+function subscribeGame(roomIdParam) {
+    console.log('Subscribing to /topic/game/' + roomIdParam);
+    stompClient.subscribe('/topic/game/' + roomIdParam, function(message) {
+        console.log('Received message:', message.body);
+        let frame;
+        try {
+            frame = JSON.parse(message.body);
+        } catch (error) {
+            console.error('Error parsing game message:', error);
+            return;
+        }
+        dispatchGameFrame(frame);
+    });
+}
+
+// 게임 메시지 처리 (STOMP JSON과 바이너리 프레임을 디코딩한 객체가 같은 모양)
+function dispatchGameFrame(frame) {
+    if (frame.type === 'move') {
+        handleMoveDelta(frame);
+    } else if (frame.type === 'reject') {
+        handleMoveRejected(frame);
+    } else if (frame.type === 'message') {
+        handleMessageDelta(frame);
+    } else {
+        handleGameStateUpdate(frame);
+    }
+}
+
 // 서버로 수 전송
 function sendMoveToServer(row, col) {
-    if (!stompClient || !stompClient.connected) {
+    if (!isGameConnected()) {
         console.error('WebSocket not connected');
         alert('서버와 연결이 끊어졌습니다. 페이지를 새로고침해주세요.');
         return;
@@ -60,34 +168,22 @@ function sendMoveToServer(row, col) {
         return;
     }
     
-    // 임시로 보드에 수를 두어 상태 계산 (서버 응답 후 실제로 반영됨)
-    const player = currentTurn === 'b' ? 1 : 2;
-    const tempBoard = JSON.parse(JSON.stringify(board)); // 보드 복사
-    tempBoard[row][col] = player;
-    
-    // 수를 둔 후의 보드 상태와 다음 차례를 계산
-    const nextTurn = currentTurn === 'b' ? 'w' : 'b';
-    const tempBoardJson = boardToJson(tempBoard, nextTurn);
-    
-    const headers = {
-        userId: userId.toString()
-    };
-    
-    // 서버로 수 전송 (보드는 서버 응답 후 업데이트)
-    stompClient.send('/app/game/' + roomId + '/move', headers, JSON.stringify({
-        roomId: roomId,
-        row: row,
-        col: col,
-        boardState: tempBoardJson,
-        turn: nextTurn
-    }));
+    // 서버로 좌표만 전송 (서버가 자신의 보드에 수를 두고 승패를 판정함)
+    if (gameSocket) {
+        gameSocket.sendMove(row, col);
+    } else {
+        const headers = {
+            userId: userId.toString()
+        };
+        stompClient.send('/app/game/' + roomId + '/move', headers, JSON.stringify({
+            roomId: roomId,
+            row: row,
+            col: col
+        }));
+    }
     
     // 서버 응답을 기다리는 동안 클릭 비활성화를 위해 플래그 설정
     window.pendingMove = { row: row, col: col };
-    
-    if (isGameOver) {
-        updateGameStateOnServer();
-    }
 }
 
 // 재촉하기 메시지 전송 (쿨다운 적용)
@@ -213,7 +309,7 @@ function initSpeechRecognition() {
 
 // 음성 메시지 전송
 function sendVoiceMessageToServer(text) {
-    if (!stompClient || !stompClient.connected) {
+    if (!isGameConnected()) {
         console.error('WebSocket not connected');
         return;
     }
@@ -222,6 +318,11 @@ function sendVoiceMessageToServer(text) {
         return;
     }
     
+    if (gameSocket) {
+        gameSocket.sendVoice(text.trim());
+        return;
+    }
+    
     const headers = {
         userId: userId.toString()
     };
@@ -232,7 +333,7 @@ function sendVoiceMessageToServer(text) {
 }
 
 function sendNudgeToServer() {
-    if (!stompClient || !stompClient.connected) {
+    if (!isGameConnected()) {
         console.error('WebSocket not connected');
         return;
     }
@@ -242,11 +343,14 @@ function sendNudgeToServer() {
         return;
     }
     
-    const headers = {
-        userId: userId.toString()
-    };
-    
-    stompClient.send('/app/game/' + roomId + '/nudge', headers, JSON.stringify({}));
+    if (gameSocket) {
+        gameSocket.sendNudge();
+    } else {
+        const headers = {
+            userId: userId.toString()
+        };
+        stompClient.send('/app/game/' + roomId + '/nudge', headers, JSON.stringify({}));
+    }
     
     const btnNudge = $('#btn-nudge');
     btnNudge.prop('disabled', true);
@@ -268,92 +372,106 @@ function sendNudgeToServer() {
     }, 1000);
 }
 
-// 서버에 게임 상태 업데이트 전송
-function updateGameStateOnServer() {
-    if (!stompClient || !stompClient.connected) {
+// 서버에서 받은 수 (증분 메시지)
+function handleMoveDelta(delta) {
+    if (snapshotRequested) return; // 전체 상태를 받는 중이면 무시
+    if (delta.seq !== moveSeq + 1 || board[delta.row][delta.col] !== 0) {
+        requestSnapshot('sequence gap: expected ' + (moveSeq + 1) + ', got ' + delta.seq);
         return;
     }
-    
-    const headers = {
-        userId: userId.toString()
-    };
-    
-    const boardStateJson = boardToJson(board, currentTurn);
-    lastSentBoardState = boardStateJson;
-    
-    stompClient.send('/app/game/' + roomId + '/state', headers, JSON.stringify({
-        boardState: boardStateJson,
-        turn: currentTurn,
-        status: 'PLAYING',
-        isGameOver: isGameOver,
-        winner: winner,
-        hostName: '',
-        guestName: ''
-    }));
+
+    board[delta.row][delta.col] = delta.player === 'b' ? 1 : 2;
+    if (boardHash(board) !== delta.hash) {
+        board[delta.row][delta.col] = 0;
+        requestSnapshot('board hash mismatch at seq ' + delta.seq);
+        return;
+    }
+
+    moveSeq = delta.seq;
+    currentTurn = delta.turn;
+    if (delta.player === myColor) {
+        movesCount++;
+        window.pendingMove = null;
+    }
+    renderBoard();
+    updateStatus();
+
+    if (delta.isGameOver) {
+        handleGameOver(delta);
+    }
+}
+
+// 서버에서 수를 거부함 (현재 seq/해시만 전달됨)
+function handleMoveRejected(delta) {
+    if (window.pendingMove) {
+        console.warn('Move was rejected by server:', delta.message, 'Current turn:', delta.turn, 'My color:', myColor);
+        alert('아직 당신의 차례가 아닙니다!');
+        window.pendingMove = null;
+    }
+    if (delta.seq !== moveSeq || boardHash(board) !== delta.hash) {
+        requestSnapshot('state mismatch after rejected move');
+    }
+}
+
+// 재촉/음성 메시지 (보드 정보 없음)
+function handleMessageDelta(delta) {
+    if (!delta.message) return;
+    const displayMessage = delta.kind === 'voice' && delta.from ? `${delta.from}: ${delta.message}` : delta.message;
+    if (typeof updateAiMessage === 'function') {
+        updateAiMessage(displayMessage);
+    } else {
+        $('#ai-message').text(displayMessage);
+    }
+    speak(delta.message);
 }
 
-// 서버에서 받은 게임 상태 업데이트
+// 서버에서 받은 전체 게임 상태 (입장/새 게임/이탈/재동기화)
 function handleGameStateUpdate(gameState) {
     if (!gameState) return;
     
     console.log('handleGameStateUpdate received:', gameState);
     
+    // 서버가 방을 정리함 (오래된 방 삭제 등): 더 이상 둘 수 없음
+    if (gameState.status === 'CLOSED') {
+        isGameOver = true;
+        window.pendingMove = null;
+        $('#ai-message').text(gameState.message || '게임 방이 닫혔습니다.');
+        return;
+    }
+    
     if (gameState.message) {
         console.log('Game Message:', gameState.message);
         
-        const isNudgeMessage = gameState.message.includes('님,') && 
-                               (gameState.message.includes('빨리') || 
-                                gameState.message.includes('기다리고') || 
-                                gameState.message.includes('생각이') ||
-                                gameState.message.includes('빨리빨리'));
-        
-        const isVoiceMessage = !isNudgeMessage && 
-                               !gameState.message.includes('참여') && 
-                               !gameState.message.includes('시작') &&
-                               !gameState.message.includes('나갔습니다');
+        if (typeof updateAiMessage === 'function') {
+            updateAiMessage(gameState.message);
+        } else {
+            $('#ai-message').text(gameState.message);
+        }
         
-        if (isVoiceMessage) {
-            const senderName = isHost ? gameState.guestName : gameState.hostName;
-            const displayMessage = senderName ? `${senderName}: ${gameState.message}` : gameState.message;
-            if (typeof updateAiMessage === 'function') {
-                updateAiMessage(displayMessage);
-            } else {
-                $('#ai-message').text(displayMessage);
-            }
+        if (gameState.message.includes('참여') || gameState.message.includes('시작')) {
             speak(gameState.message);
-        } else {
-            if (typeof updateAiMessage === 'function') {
-                updateAiMessage(gameState.message);
-            } else {
-                $('#ai-message').text(gameState.message);
+            if (gameMode === 'multi') {
+                if (isHost && gameState.guestName) {
+                    opponentName = gameState.guestName;
+                } else if (!isHost && gameState.hostName) {
+                    opponentName = gameState.hostName;
+                }
             }
             
-            if (isNudgeMessage) {
-                speak(gameState.message);
-            } else if (gameState.message.includes('참여') || gameState.message.includes('시작')) {
-                speak(gameState.message);
-                if (gameMode === 'multi') {
-                    if (isHost && gameState.guestName) {
-                        opponentName = gameState.guestName;
-                    } else if (!isHost && gameState.hostName) {
-                        opponentName = gameState.hostName;
-                    }
-                }
-                
-                if (gameState.message.includes('새 게임')) {
-                    board = createEmptyBoard();
-                    currentTurn = 'b';
-                    isGameOver = false;
-                    winner = null;
-                    movesCount = 0;
-                    lastSentBoardState = null;
-                    if (gameState.boardState) {
-                        updateBoardFromState(gameState.boardState, gameState.turn);
-                    }
-                    renderBoard();
-                    updateStatus();
-                    $('#btn-new-game').hide();
+            if (gameState.message.includes('새 게임')) {
+                board = createEmptyBoard();
+                currentTurn = 'b';
+                isGameOver = false;
+                winner = null;
+                movesCount = 0;
+                moveSeq = 0;
+                lastSentBoardState = null;
+                if (gameState.boardState) {
+                    updateBoardFromState(gameState.boardState, gameState.turn);
                 }
+                renderBoard();
+                updateStatus();
+                $('#btn-new-game').hide();
             }
         }
     }
@@ -387,183 +505,249 @@ function handleGameStateUpdate(gameState) {
             
             // 차례가 변경되었으므로 상태 업데이트
             updateStatus();
-            
-            // 승리 확인 (서버에서 보드 상태를 받았으므로)
-            if (gameState.isGameOver || gameState.status === 'FINISHED') {
-                // 게임 종료 처리는 아래에서 처리됨
-            } else {
-                // 승리 확인을 위해 보드 상태 파싱
-                const parsedBoard = parseBoard(gameState.boardState);
-                const winnerCheck = checkWinnerFromBoard(parsedBoard);
-                if (winnerCheck !== 0) {
-                    isGameOver = true;
-                    winner = winnerCheck === 1 ? 'b' : 'w';
-                    updateStatus();
-                    checkGameOver();
-                }
-            }
-        } else if (window.pendingMove && gameState.boardState === currentBoardState) {
-            // 보드 상태가 변경되지 않았는데 pendingMove가 있다면 서버에서 거부된 것
-            console.warn('Move was rejected by server. Current turn:', currentTurn, 'My color:', myColor);
-            alert('아직 당신의 차례가 아닙니다!');
-            window.pendingMove = null;
-            // 서버 상태로 다시 동기화
-            updateBoardFromState(gameState.boardState, gameState.turn);
-            updateStatus();
         }
     }
     
+    // 이후 증분 메시지는 이 상태의 seq부터 이어짐
+    if (typeof gameState.seq === 'number') {
+        moveSeq = gameState.seq;
+    }
+    
     // 게임 종료 처리
     if (gameState.isGameOver || (gameState.status === 'FINISHED')) {
-        isGameOver = true;
-        winner = gameState.winner;
-        
-        let message = '';
-        if (gameState.winner === 'draw') {
-            message = '게임 종료! 무승부입니다.';
+        handleGameOver(gameState);
+    }
+}
+
+// 게임 종료 처리 (전체 상태 또는 마지막 수의 증분 메시지)
+function handleGameOver(gameState) {
+    if (isGameOver) return; // 이미 처리됨 (재동기화, 종료 후 알림 등)
+    isGameOver = true;
+    winner = gameState.winner;
+    
+    let message = '';
+    if (gameState.winner === 'draw') {
+        message = '게임 종료! 무승부입니다.';
+    } else {
+        if (gameState.winner === myColor) {
+            message = '게임 종료! 승리했습니다! 🎉';
+        } else if (gameState.winner) {
+            message = '게임 종료! 패배했습니다.';
+        }
+    }
+    
+    if (message) {
+        if (typeof updateAiMessage === 'function') {
+            updateAiMessage(message);
         } else {
-            if (gameState.winner === myColor) {
-                message = '게임 종료! 승리했습니다! 🎉';
-            } else if (gameState.winner) {
-                message = '게임 종료! 패배했습니다.';
-            }
+            $('#ai-message').text(message);
         }
-        
-        if (message) {
-            if (typeof updateAiMessage === 'function') {
-                updateAiMessage(message);
-            } else {
-                $('#ai-message').text(message);
-            }
-            speak(message);
+        speak(message);
+    }
+    
+    if (!userId) {
+        console.error('Cannot save game history: userId is null');
+        alert('게임 종료! 하지만 기록을 저장할 수 없습니다. (사용자 정보 없음)');
+        return;
+    }
+    
+    const result = gameState.winner === myColor ? 'WIN' : 
+                  gameState.winner === 'draw' ? 'DRAW' : 'LOSS';
+    let currentOpponentName = 'AI';
+    if (gameMode === 'multi') {
+        if (isHost && gameState.guestName) {
+            currentOpponentName = gameState.guestName;
+        } else if (!isHost && gameState.hostName) {
+            currentOpponentName = gameState.hostName;
+        } else if (opponentName && opponentName !== 'AI' && opponentName !== '상대방') {
+            currentOpponentName = opponentName;
         }
-        
-        if (userId && (gameState.isGameOver || gameState.status === 'FINISHED')) {
-            const result = gameState.winner === myColor ? 'WIN' : 
-                          gameState.winner === 'draw' ? 'DRAW' : 'LOSS';
-            let currentOpponentName = 'AI';
-            if (gameMode === 'multi') {
-                if (isHost && gameState.guestName) {
-                    currentOpponentName = gameState.guestName;
-                } else if (!isHost && gameState.hostName) {
-                    currentOpponentName = gameState.hostName;
-                } else if (opponentName && opponentName !== 'AI' && opponentName !== '상대방') {
-                    currentOpponentName = opponentName;
+    }
+    
+    const isOpponentDisconnected = gameState.message && gameState.message.includes('나갔습니다');
+    
+    $.ajax({
+        url: '/api/history/' + userId,
+        method: 'POST',
+        contentType: 'application/json',
+        data: JSON.stringify({ result: result, movesCount: movesCount, opponentName: currentOpponentName, gameType: 'OMOK' }),
+        success: function() {
+            console.log('Game history saved');
+            if (isOpponentDisconnected) {
+                alert('상대방이 나갔습니다.\n게임이 종료되었고 결과가 저장되었습니다.');
+                $('#btn-new-game').show();
+            } else {
+                alert('게임 종료! 결과가 저장되었습니다.');
+                if (gameState.winner === myColor || gameState.winner === 'draw') {
+                    $('#btn-new-game').show();
+                }
+                if (gameState.winner && gameState.winner !== myColor && gameState.winner !== 'draw') {
+                    setTimeout(() => {
+                        disconnectGame();
+                        location.reload();
+                    }, 2000);
                 }
             }
-            
-            const isOpponentDisconnected = gameState.message && gameState.message.includes('나갔습니다');
-            
-            if (!userId) {
-                console.error('Cannot save game history: userId is null');
-                alert('게임 종료! 하지만 기록을 저장할 수 없습니다. (사용자 정보 없음)');
-                return;
+        },
+        error: function(xhr, status, error) {
+            console.error('Failed to save game history:', error);
+            alert('게임 종료! 하지만 기록 저장에 실패했습니다.');
+        }
+    });
+}
+
+// 대기방 목록: 버전이 붙은 스냅샷(/api/rooms/lobby) + /topic/lobby 증분 이벤트
+// 로비 연결에는 userId를 보내지 않음 (연결 종료가 방 이탈로 처리되지 않도록)
+let lobbyClient = null;
+let lobbyOpen = false;
+let lobbyRooms = [];
+let lobbyVersion = -1; // 스냅샷을 받는 중이면 -1, 그동안 온 이벤트는 버퍼에 모음
+let lobbyBuffer = [];
+
+function openLobby() {
+    closeLobby();
+    lobbyOpen = true;
+    const socket = new SockJS('/ws');
+    const client = Stomp.over(socket);
+    lobbyClient = client;
+    client.connect({}, function() {
+        client.subscribe('/topic/lobby', function(message) {
+            try {
+                handleLobbyEvent(JSON.parse(message.body));
+            } catch (error) {
+                console.error('Error parsing lobby event:', error);
             }
-            
-            $.ajax({
-                url: '/api/history/' + userId,
-                method: 'POST',
-                contentType: 'application/json',
-                data: JSON.stringify({ result: result, movesCount: movesCount, opponentName: currentOpponentName, gameType: 'OMOK' }),
-                success: function() {
-                    console.log('Game history saved');
-                    if (isOpponentDisconnected) {
-                        alert('상대방이 나갔습니다.\n게임이 종료되었고 결과가 저장되었습니다.');
-                        $('#btn-new-game').show();
-                    } else {
-                        alert('게임 종료! 결과가 저장되었습니다.');
-                        if (gameState.winner === myColor || gameState.winner === 'draw') {
-                            $('#btn-new-game').show();
-                        }
-                        if (gameState.winner && gameState.winner !== myColor && gameState.winner !== 'draw') {
-                            setTimeout(() => {
-                                if (stompClient && stompClient.connected) {
-                                    stompClient.disconnect();
-                                }
-                                location.reload();
-                            }, 2000);
-                        }
-                    }
-                },
-                error: function(xhr, status, error) {
-                    console.error('Failed to save game history:', error);
-                    alert('게임 종료! 하지만 기록 저장에 실패했습니다.');
-                }
-            });
+        });
+        // 구독 후 스냅샷을 받아야 그 사이 변경을 놓치지 않음
+        loadWaitingRooms();
+    }, function(error) {
+        console.error('Lobby connection error:', error);
+        if (lobbyOpen && lobbyClient === client) {
+            lobbyClient = null;
+            loadWaitingRooms();
+            setTimeout(function() {
+                if (lobbyOpen && !lobbyClient) openLobby();
+            }, 3000);
+        }
+    });
+}
+
+function closeLobby() {
+    lobbyOpen = false;
+    if (lobbyClient) {
+        const client = lobbyClient;
+        lobbyClient = null;
+        try {
+            client.disconnect();
+        } catch (e) {
+            console.error('Lobby disconnect error:', e);
         }
     }
 }
 
-// 대기방 목록 조회
+// 대기방 목록 스냅샷 조회 (처음 입장, 새로고침, 이벤트 번호가 건너뛰었을 때)
 function loadWaitingRooms() {
+    lobbyVersion = -1;
     $.ajax({
-        url: '/api/rooms/waiting',
+        url: '/api/rooms/lobby',
         method: 'GET',
-        success: function(rooms) {
-            const roomsList = $('#rooms-list').empty();
-            if (rooms.length === 0) {
-                roomsList.append('<p style="text-align: center; padding: 20px;">대기 중인 방이 없습니다.</p>');
-            } else {
-                rooms.forEach(room => {
-                    let createdAtStr = '알 수 없음';
-                    if (room.createdAt) {
-                        try {
-                            const date = new Date(room.createdAt);
-                            if (!isNaN(date.getTime())) {
-                                createdAtStr = date.toLocaleString('ko-KR', {
-                                    year: 'numeric',
-                                    month: '2-digit',
-                                    day: '2-digit',
-                                    hour: '2-digit',
-                                    minute: '2-digit'
-                                });
-                            }
-                        } catch (e) {
-                            console.error('Failed to parse date:', room.createdAt, e);
-                        }
-                    }
-                    
-                    const roomElement = $(`
-                        <div style="padding: 15px; margin: 10px 0; border: 2px solid #ffcc00; border-radius: 10px; background: #fff; cursor: pointer;">
-                            <div style="font-size: 1.2rem; font-weight: bold;">${room.hostName} 대기 중...</div>
-                            <div style="font-size: 0.9rem; color: #666; margin-top: 5px;">
-                                생성 시간: ${createdAtStr}
-                            </div>
-                        </div>
-                    `);
-                    roomElement.on('click', function() {
-                        // 전체 화면 요청 (사용자 클릭 이벤트 내에서 직접 호출)
-                        try {
-                            const docEl = document.documentElement;
-                            if (docEl.requestFullscreen) {
-                                const promise = docEl.requestFullscreen();
-                                if (promise && promise.catch) {
-                                    promise.catch(err => {
-                                        console.error('전체 화면 요청 실패:', err);
-                                    });
-                                }
-                            } else if (docEl.webkitRequestFullscreen) {
-                                docEl.webkitRequestFullscreen();
-                            } else if (docEl.mozRequestFullScreen) {
-                                docEl.mozRequestFullScreen();
-                            } else if (docEl.msRequestFullscreen) {
-                                docEl.msRequestFullscreen();
-                            }
-                        } catch (err) {
-                            console.error('전체 화면 요청 중 오류:', err);
-                        }
-                        joinRoom(room.id);
-                    });
-                    roomsList.append(roomElement);
-                });
-            }
+        success: function(snapshot) {
+            lobbyRooms = snapshot.rooms || [];
+            lobbyVersion = snapshot.version;
+            const buffered = lobbyBuffer;
+            lobbyBuffer = [];
+            buffered.forEach(handleLobbyEvent);
+            renderWaitingRooms();
         },
         error: function() {
+            lobbyBuffer = [];
             alert('대기방 목록을 불러오는데 실패했습니다.');
         }
     });
 }
 
+function handleLobbyEvent(event) {
+    if (lobbyVersion < 0) {
+        lobbyBuffer.push(event);
+        return;
+    }
+    if (event.version <= lobbyVersion) return;
+    if (event.version !== lobbyVersion + 1) {
+        console.warn('Lobby event gap:', lobbyVersion, '->', event.version);
+        loadWaitingRooms();
+        return;
+    }
+    lobbyRooms = lobbyRooms.filter(room => room.id !== event.roomId);
+    if (event.type === 'added' || event.type === 'updated') {
+        lobbyRooms.push(event.room);
+        // 최신 방이 먼저 (서버 스냅샷과 같은 순서)
+        lobbyRooms.sort((a, b) => (b.createdAt || '').localeCompare(a.createdAt || '') || b.id - a.id);
+    }
+    lobbyVersion = event.version;
+    renderWaitingRooms();
+}
+
+function renderWaitingRooms() {
+    const rooms = lobbyRooms;
+    const roomsList = $('#rooms-list').empty();
+    if (rooms.length === 0) {
+        roomsList.append('<p style="text-align: center; padding: 20px;">대기 중인 방이 없습니다.</p>');
+    } else {
+        rooms.forEach(room => {
+            let createdAtStr = '알 수 없음';
+            if (room.createdAt) {
+                try {
+                    const date = new Date(room.createdAt);
+                    if (!isNaN(date.getTime())) {
+                        createdAtStr = date.toLocaleString('ko-KR', {
+                            year: 'numeric',
+                            month: '2-digit',
+                            day: '2-digit',
+                            hour: '2-digit',
+                            minute: '2-digit'
+                        });
+                    }
+                } catch (e) {
+                    console.error('Failed to parse date:', room.createdAt, e);
+                }
+            }
+            
+            const roomElement = $(`
+                <div style="padding: 15px; margin: 10px 0; border: 2px solid #ffcc00; border-radius: 10px; background: #fff; cursor: pointer;">
+                    <div style="font-size: 1.2rem; font-weight: bold;">${room.hostName} 대기 중...</div>
+                    <div style="font-size: 0.9rem; color: #666; margin-top: 5px;">
+                        생성 시간: ${createdAtStr}
+                    </div>
+                </div>
+            `);
+            roomElement.on('click', function() {
+                // 전체 화면 요청 (사용자 클릭 이벤트 내에서 직접 호출)
+                try {
+                    const docEl = document.documentElement;
+                    if (docEl.requestFullscreen) {
+                        const promise = docEl.requestFullscreen();
+                        if (promise && promise.catch) {
+                            promise.catch(err => {
+                                console.error('전체 화면 요청 실패:', err);
+                            });
+                        }
+                    } else if (docEl.webkitRequestFullscreen) {
+                        docEl.webkitRequestFullscreen();
+                    } else if (docEl.mozRequestFullScreen) {
+                        docEl.mozRequestFullScreen();
+                    } else if (docEl.msRequestFullscreen) {
+                        docEl.msRequestFullscreen();
+                    }
+                } catch (err) {
+                    console.error('전체 화면 요청 중 오류:', err);
+                }
+                joinRoom(room.id);
+            });
+            roomsList.append(roomElement);
+        });
+    }
+}
+
 // 방 생성
 function createRoom() {
     const name = $('#username').val();
@@ -591,6 +775,7 @@ function createRoom() {
                     
                     // 전체 화면은 버튼 클릭 핸들러에서 이미 요청됨
                     
+                    closeLobby();
                     $('#waiting-rooms-container').hide();
                     $('#login-container').hide();
                     $('#game-container').show();
@@ -648,6 +833,7 @@ function joinRoom(targetRoomId) {
                     
                     // 전체 화면은 버튼 클릭 핸들러에서 이미 요청됨
                     
+                    closeLobby();
                     $('#waiting-rooms-container').hide();
                     $('#login-container').hide();
                     $('#game-container').show();
@@ -686,6 +872,185 @@ function joinRoom(targetRoomId) {
     });
 }
 
+// 빠른 대전 (서버가 실력이 비슷한 상대를 찾아 방을 만들어 줌)
+let matchWaiting = false;
+
+function startQuickMatch() {
+    if (!userId) { alert('먼저 이름을 입력하고 같이하기를 선택해주세요.'); return; }
+    if (matchWaiting) return;
+    matchWaiting = true;
+    $('#btn-quick-match').text('상대 찾는 중... (취소)');
+
+    // userId 헤더로 연결해야 /user/queue/match 알림을 받음, 짝이 정해지면 이 연결로 게임을 계속함
+    const socket = new SockJS('/ws');
+    const client = Stomp.over(socket);
+    stompClient = client;
+    client.connect({ userId: userId.toString() }, function() {
+        client.subscribe('/user/queue/match', function(message) {
+            try {
+                handleMatchEvent(JSON.parse(message.body));
+            } catch (error) {
+                console.error('Error parsing match event:', error);
+            }
+        });
+        client.send('/app/match/join', {}, '{}');
+    }, function(error) {
+        console.error('Quick match connection error:', error);
+        if (matchWaiting && stompClient === client) {
+            resetQuickMatch();
+            alert('빠른 대전 연결에 실패했습니다.');
+        }
+    });
+}
+
+function cancelQuickMatch() {
+    if (!matchWaiting) return;
+    const client = stompClient;
+    resetQuickMatch();
+    // 연결을 끊으면 서버가 대기열에서 제거함
+    if (client && client.connected) {
+        client.disconnect();
+    }
+}
+
+function resetQuickMatch() {
+    matchWaiting = false;
+    stompClient = null;
+    $('#btn-quick-match').text('⚡ 빠른 대전');
+}
+
+function handleMatchEvent(event) {
+    if (event.type === 'queued') {
+        console.log('Quick match queued, rating', event.rating);
+    } else if (event.type === 'matched') {
+        matchWaiting = false;
+        $('#btn-quick-match').text('⚡ 빠른 대전');
+        roomId = event.roomId;
+        myColor = event.color;
+        isHost = event.color === 'b'; // 먼저 기다린 쪽이 방장(흑)
+        opponentName = event.opponentName || '상대방';
+
+        closeLobby();
+        $('#waiting-rooms-container').hide();
+        $('#login-container').hide();
+        $('#game-container').show();
+
+        if (typeof adjustLandscapeLayout === 'function') {
+            adjustLandscapeLayout();
+        }
+        initBoard();
+        subscribeGame(roomId);
+        requestSnapshot('quick match started');
+
+        if (typeof initSpeechRecognition === 'function') {
+            initSpeechRecognition();
+        }
+
+        setTimeout(() => {
+            const message = `${opponentName}님과의 게임이 시작되었습니다!`;
+            if (typeof updateAiMessage === 'function') {
+                updateAiMessage(message);
+            } else {
+                $('#ai-message').text(message);
+            }
+            speak(message);
+        }, 500);
+    } else if (event.type === 'cancelled' && matchWaiting) {
+        cancelQuickMatch();
+        alert('상대를 찾지 못했습니다. 다시 시도해주세요.');
+    }
+}
+
+// 관전 (/topic/spectate/{roomId}, 서버가 변경을 모아 최신 전체 상태만 보냄)
+let spectateReceived = false;
+
+function loadPlayingRooms() {
+    $.ajax({
+        url: '/api/rooms/playing',
+        method: 'GET',
+        success: function(rooms) {
+            const list = $('#playing-rooms-list').empty();
+            if (rooms.length === 0) {
+                list.append('<p style="text-align: center; padding: 20px;">진행 중인 게임이 없습니다.</p>');
+                return;
+            }
+            rooms.forEach(room => {
+                const roomElement = $(`
+                    <div style="padding: 15px; margin: 10px 0; border: 2px solid #ccc; border-radius: 10px; background: #fff; cursor: pointer;">
+                        <div style="font-size: 1.1rem; font-weight: bold;">👀 ${room.hostName}님의 게임</div>
+                    </div>
+                `);
+                roomElement.on('click', function() {
+                    spectateRoom(room.id);
+                });
+                list.append(roomElement);
+            });
+        },
+        error: function() {
+            alert('진행 중인 게임 목록을 불러오는데 실패했습니다.');
+        }
+    });
+}
+
+function spectateRoom(targetRoomId) {
+    closeLobby();
+    cancelQuickMatch();
+    gameMode = 'spectate';
+    roomId = targetRoomId;
+    spectateReceived = false;
+
+    $('#waiting-rooms-container').hide();
+    $('#login-container').hide();
+    $('#game-container').show();
+    if (typeof adjustLandscapeLayout === 'function') {
+        adjustLandscapeLayout();
+    }
+    initBoard();
+    $('#btn-new-game').hide();
+    $('#btn-nudge').hide();
+    $('#btn-voice-message').hide();
+
+    // 관전자는 userId 없이 연결 (게임 토픽은 참여자만 구독 가능)
+    const socket = new SockJS('/ws');
+    const client = Stomp.over(socket);
+    stompClient = client;
+    client.connect({}, function() {
+        client.subscribe('/topic/spectate/' + targetRoomId, function(message) {
+            try {
+                spectateReceived = true;
+                handleSpectatorState(JSON.parse(message.body));
+            } catch (error) {
+                console.error('Error parsing spectator state:', error);
+            }
+        });
+        // 구독 후 현재 상태를 받음 (그 사이 푸시가 먼저 왔으면 그쪽이 최신)
+        $.ajax({
+            url: '/api/rooms/' + targetRoomId + '/state',
+            method: 'GET',
+            success: function(state) {
+                if (!spectateReceived) handleSpectatorState(state);
+            }
+        });
+    }, function(error) {
+        console.error('Spectator connection error:', error);
+        const reason = error && error.headers && error.headers.message || '';
+        $('#ai-message').text(reason.includes('limit') ? '관전 인원이 가득 찼습니다.' : '관전 연결이 끊겼습니다.');
+    });
+}
+
+function handleSpectatorState(state) {
+    if (state.status === 'CLOSED') {
+        $('#ai-message').text(state.message || '게임 방이 닫혔습니다.');
+        return;
+    }
+    if (state.boardState) {
+        isGameOver = state.isGameOver || state.status === 'FINISHED';
+        winner = state.winner;
+        updateBoardFromState(state.boardState, state.turn);
+    }
+    $('#ai-message').text(`관전 중: ${state.hostName || '?'}(흑) vs ${state.guestName || '대기 중'}(백)`);
+}
+
 // 오류 발생 시 방 정리 함수
 function cleanupRoomOnError() {
     if (!roomId || !userId) return;
@@ -709,9 +1074,7 @@ function cleanupRoomOnError() {
 
 // 페이지 이탈 시 WebSocket 연결 종료 (서버에서 자동으로 방 정리 처리됨)
 $(window).on('beforeunload', function() {
-    // WebSocket 연결 종료 (서버의 WebSocketEventListener가 handleUserDisconnect 호출)
-    if (stompClient && stompClient.connected) {
-        stompClient.disconnect();
-    }
+    // WebSocket 연결 종료 (서버의 WebSocketEventListener/GameSocketHandler가 handleUserDisconnect 호출)
+    disconnectGame();
 });
 
@@ -0,0 +1,97 @@
+package com.omok.ai.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoundedDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection physical = mock(Connection.class);
+    private BoundedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(physical);
+        dataSource = new BoundedDataSource(target, 2, 50);
+    }
+
+    @Test
+    void doubleCloseReleasesPermitOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.getActive()).isEqualTo(2);
+
+        first.close();
+        first.close();
+
+        // 두 번째 close가 허가를 또 돌려줬다면 한도보다 많이 빌릴 수 있게 됨
+        assertThat(dataSource.getActive()).isEqualTo(1);
+        Connection third = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(physical, times(2)).close();
+
+        second.close();
+        third.close();
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    @Test
+    void releasesPermitEvenWhenCloseFails() throws SQLException {
+        doThrow(new SQLException("socket closed")).when(physical).close();
+        Connection connection = dataSource.getConnection();
+
+        assertThatThrownBy(connection::close).isInstanceOf(SQLException.class);
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    @Test
+    void timesOutWhenAllPermitsAreInUse() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("No DB permit within 50ms");
+        assertThat(dataSource.getTimeoutCount()).isEqualTo(1);
+        assertThat(dataSource.getAcquiredCount()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesPermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.getActive()).isZero();
+    }
+
+    @Test
+    void delegatesOtherCalls() throws SQLException {
+        when(physical.getAutoCommit()).thenReturn(false);
+        doThrow(new SQLException("read only")).when(physical).setReadOnly(true);
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection.getAutoCommit()).isFalse();
+        // 위임한 메서드의 예외는 감싸지 않고 그대로
+        assertThatThrownBy(() -> connection.setReadOnly(true))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("read only");
+    }
+
+    @Test
+    void rejectsNonPositiveLimit() {
+        assertThatThrownBy(() -> new BoundedDataSource(target, 0, 50)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
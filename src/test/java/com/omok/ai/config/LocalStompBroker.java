@@ -0,0 +1,40 @@
+package com.omok.ai.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * 릴레이 모드 로컬 실행/테스트용 STOMP 브로커 (ActiveMQ Artemis, 메모리 전용)
+ *
+ * - local-broker 프로필을 켠 노드 하나가 omok.broker.relay-port에서 띄우고, 모든 노드가 릴레이 모드로 여기에 붙는다.
+ * - 테스트 의존성이므로 spring-boot:test-run이나 테스트에서만 쓸 수 있다 (운영용 아님).
+ */
+@Configuration
+@Profile("local-broker")
+public class LocalStompBroker {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EmbeddedActiveMQ localStompBrokerServer(@Value("${omok.broker.relay-port:61613}") int port) throws Exception {
+        return create(port);
+    }
+
+    /**
+     * STOMP 수신기 하나만 연 브로커 (/queue/는 한 구독자에게, /topic/은 모든 구독자에게 전달)
+     */
+    public static EmbeddedActiveMQ create(int port) throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setName("omok-local-" + port);
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.setJMXManagementEnabled(false);
+        configuration.addAcceptorConfiguration("stomp", "tcp://localhost:" + port
+                + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        return broker;
+    }
+}
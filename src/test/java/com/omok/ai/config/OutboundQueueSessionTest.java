@@ -0,0 +1,165 @@
+package com.omok.ai.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundQueueSessionTest {
+
+    private final OutboundQueueManager manager = mock(OutboundQueueManager.class);
+    private final WebSocketSession delegate = mock(WebSocketSession.class);
+    // 쓰기 스레드 대신 테스트가 직접 실행
+    private final Queue<Runnable> writerTasks = new ArrayDeque<>();
+    private final List<WebSocketMessage<?>> sent = new ArrayList<>();
+    private OutboundQueueSession session;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(manager.getQueueLimit()).thenReturn(100);
+        when(manager.getBufferSizeLimit()).thenReturn(1_000_000L);
+        when(manager.getSendTimeLimitNanos()).thenReturn(TimeUnit.SECONDS.toNanos(5));
+        when(manager.getCoalescePrefixes()).thenReturn(List.of("/topic/spectate/"));
+        doAnswer(invocation -> writerTasks.add(invocation.getArgument(0))).when(manager).execute(any());
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(delegate).sendMessage(any());
+        when(delegate.getId()).thenReturn("s1");
+        session = new OutboundQueueSession(delegate, manager);
+    }
+
+    @Test
+    void sendsFramesInOrderFromWriterThread() {
+        TextMessage first = stomp("/topic/game/1", "a");
+        TextMessage second = stomp("/topic/game/1", "b");
+        session.sendMessage(first);
+        session.sendMessage(second);
+
+        assertThat(sent).isEmpty();
+        assertThat(writerTasks).hasSize(1); // 대기열이 비어 있을 때만 전송 작업을 시작
+        runWriters();
+
+        assertThat(sent).containsExactly(first, second);
+        assertThat(session.getQueuedFrames()).isZero();
+        assertThat(session.getQueuedBytes()).isZero();
+    }
+
+    @Test
+    void newSpectatorStateReplacesQueuedOne() {
+        TextMessage oldState = stomp("/topic/spectate/1", "old");
+        TextMessage move = stomp("/topic/game/1", "move");
+        TextMessage otherRoom = stomp("/topic/spectate/2", "other");
+        TextMessage newState = stomp("/topic/spectate/1", "new");
+        session.sendMessage(oldState);
+        session.sendMessage(move);
+        session.sendMessage(otherRoom);
+        session.sendMessage(newState);
+
+        assertThat(session.getQueuedFrames()).isEqualTo(3);
+        runWriters();
+
+        assertThat(sent).containsExactly(move, otherRoom, newState);
+        verify(manager, times(1)).recordCoalesced();
+        assertThat(session.stats(System.nanoTime()).coalesced()).isEqualTo(1);
+    }
+
+    @Test
+    void nonStompAndBinaryFramesAreNeverCoalesced() {
+        BinaryMessage binary = new BinaryMessage(new byte[] {1, 2});
+        TextMessage heartbeat = new TextMessage("\n");
+        session.sendMessage(binary);
+        session.sendMessage(binary);
+        session.sendMessage(heartbeat);
+        session.sendMessage(heartbeat);
+
+        runWriters();
+        assertThat(sent).hasSize(4);
+        verify(manager, never()).recordCoalesced();
+    }
+
+    @Test
+    void drainsInBatchesAndYields() {
+        for (int i = 0; i < 100; i++) {
+            session.sendMessage(stomp("/topic/game/1", String.valueOf(i)));
+        }
+
+        writerTasks.poll().run();
+        assertThat(sent).hasSize(64);
+        assertThat(writerTasks).hasSize(1); // 남은 프레임은 다시 예약
+
+        runWriters();
+        assertThat(sent).hasSize(100);
+        assertThat(((TextMessage) sent.get(99)).getPayload()).contains("\n\n99");
+    }
+
+    @Test
+    void closesSessionWhenFrameLimitIsExceeded() {
+        when(manager.getQueueLimit()).thenReturn(2);
+        session.sendMessage(stomp("/topic/game/1", "1"));
+        session.sendMessage(stomp("/topic/game/1", "2"));
+        session.sendMessage(stomp("/topic/game/1", "3"));
+
+        verify(manager).recordDisconnect("buffer-size", 3);
+        verify(manager).close(delegate, CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(session.getQueuedFrames()).isZero();
+        assertThat(session.stats(System.nanoTime()).dropped()).isEqualTo(3);
+
+        // 닫은 뒤의 전송은 무시
+        session.sendMessage(stomp("/topic/game/1", "4"));
+        runWriters();
+        assertThat(sent).isEmpty();
+        verify(manager, times(1)).recordDisconnect(anyString(), anyInt());
+    }
+
+    @Test
+    void closesSessionWhenByteLimitIsExceeded() {
+        when(manager.getBufferSizeLimit()).thenReturn(100L);
+        session.sendMessage(new TextMessage("x".repeat(60)));
+        session.sendMessage(new TextMessage("y".repeat(60)));
+
+        verify(manager).recordDisconnect("buffer-size", 2);
+        verify(manager).close(delegate, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void closesSessionWhenSendFails() throws IOException {
+        doThrow(new IOException("broken pipe")).when(delegate).sendMessage(any());
+        session.sendMessage(stomp("/topic/game/1", "1"));
+        session.sendMessage(stomp("/topic/game/1", "2"));
+
+        runWriters();
+        verify(manager).recordDisconnect("send-error", 1);
+        verify(manager).close(delegate, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void runWriters() {
+        Runnable task;
+        while ((task = writerTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static TextMessage stomp(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:sub-0\n\n" + body + "\0");
+    }
+}
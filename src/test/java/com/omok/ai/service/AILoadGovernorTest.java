@@ -0,0 +1,55 @@
+package com.omok.ai.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AILoadGovernorTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AILoadGovernor governor =
+            new AILoadGovernor(new SimpleMeterRegistry(), 0, 1000, 10_000, now::get);
+
+    @Test
+    void slowSearchDegradesHardDifficulty() {
+        governor.recordLatency(3000 * MS);
+
+        assertThat(governor.acquire(3).level()).isEqualTo(2);
+    }
+
+    @Test
+    void latencyDecaysWithoutNewSamples() {
+        governor.recordLatency(3000 * MS);
+
+        now.addAndGet(10_000 * MS);
+        assertThat(governor.currentLatencyNanos()).isEqualTo(1500 * MS);
+
+        // 반감기 두 번이 더 지나면 임계값 아래로 내려가 원래 예산으로 복귀
+        now.addAndGet(20_000 * MS);
+        assertThat(governor.acquire(3).level()).isZero();
+    }
+
+    @Test
+    void newSampleBlendsWithDecayedEstimate() {
+        governor.recordLatency(2000 * MS);
+        now.addAndGet(10_000 * MS);
+
+        governor.recordLatency(2000 * MS);
+
+        // 1000ms(감쇠) + 0.2 * (2000 - 1000)
+        assertThat(governor.currentLatencyNanos()).isEqualTo(1200 * MS);
+    }
+
+    @Test
+    void unlimitedConcurrencyDoesNotOverflow() {
+        AILoadGovernor unlimited = new AILoadGovernor(new SimpleMeterRegistry(),
+                Integer.MAX_VALUE, Integer.MAX_VALUE, 10_000, now::get);
+
+        assertThat(unlimited.acquire(3).isDegraded()).isFalse();
+    }
+}
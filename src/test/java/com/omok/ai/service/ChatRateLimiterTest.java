@@ -0,0 +1,76 @@
+package com.omok.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatRateLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    // 연달아 3개, 이후 초당 2개 (500ms마다 하나)
+    private final ChatRateLimiter limiter = new ChatRateLimiter(3, 2, now::get);
+
+    @Test
+    void allowsBurstThenLimits() {
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+        assertThat(limiter.tryAcquire(1L)).isFalse();
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        drain(1L);
+
+        now.addAndGet(499 * MS);
+        assertThat(limiter.tryAcquire(1L)).isFalse();
+
+        now.addAndGet(1 * MS);
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+        assertThat(limiter.tryAcquire(1L)).isFalse();
+
+        // 부분 토큰도 쌓임: 250ms + 250ms = 토큰 하나
+        now.addAndGet(250 * MS);
+        assertThat(limiter.tryAcquire(1L)).isFalse();
+        now.addAndGet(250 * MS);
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+    }
+
+    @Test
+    void refillIsCappedAtBurst() {
+        drain(1L);
+
+        now.addAndGet(60_000 * MS);
+        int allowed = 0;
+        while (limiter.tryAcquire(1L)) {
+            allowed++;
+        }
+        assertThat(allowed).isEqualTo(3);
+    }
+
+    @Test
+    void usersHaveSeparateBucketsAndReleaseResets() {
+        drain(1L);
+        assertThat(limiter.tryAcquire(2L)).isTrue();
+
+        limiter.release(1L);
+        assertThat(limiter.tryAcquire(1L)).isTrue();
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThatThrownBy(() -> new ChatRateLimiter(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ChatRateLimiter(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void drain(Long userId) {
+        while (limiter.tryAcquire(userId)) {
+            // 버킷 비우기
+        }
+    }
+}
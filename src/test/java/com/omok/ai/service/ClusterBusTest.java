@@ -0,0 +1,96 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omok.ai.config.LocalStompBroker;
+import com.omok.ai.dto.ClusterCommandDto;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+
+import java.net.ServerSocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 두 노드의 ClusterBus가 로컬 STOMP 브로커(Artemis)를 거쳐 명령을 주고받는지 확인
+ */
+class ClusterBusTest {
+
+    private static final long HEARTBEAT_MS = 200;
+
+    private EmbeddedActiveMQ broker;
+    private ClusterBus nodeA;
+    private ClusterBus nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        broker = LocalStompBroker.create(port);
+        // heart-beat가 끊긴 연결을 브로커가 빨리 정리하도록 (기본 2초마다 검사)
+        broker.getConfiguration().setConnectionTtlCheckInterval(50);
+        broker.start();
+        nodeA = bus("a", port);
+        nodeB = bus("b", port);
+        nodeB.register("double", command -> command.getRoomId() * 2);
+        nodeB.register("reject", command -> {
+            throw new IllegalArgumentException("Room not found");
+        });
+        nodeA.start();
+        nodeB.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.stop();
+        nodeB.stop();
+        broker.stop();
+    }
+
+    @Test
+    void callReachesOwnerNodeAndReturnsResult() throws Exception {
+        assertThat(callWhenConnected(ClusterCommandDto.of("double", 21L, null)).asLong()).isEqualTo(42);
+    }
+
+    @Test
+    void remoteExceptionKeepsItsType() throws Exception {
+        callWhenConnected(ClusterCommandDto.of("double", 1L, null));
+        assertThatThrownBy(() -> nodeA.call("b", ClusterCommandDto.of("reject", 1L, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Room not found");
+    }
+
+    @Test
+    void connectionSurvivesIdlePeriodWithHeartbeats() throws Exception {
+        callWhenConnected(ClusterCommandDto.of("double", 1L, null));
+        long connections = broker.getActiveMQServer().getTotalConnectionCount();
+        // 브로커는 약속한 heart-beat가 없으면 연결을 끊으므로, 여러 간격 동안 쉬어도 다시 연결하지 않아야 함
+        Thread.sleep(HEARTBEAT_MS * 10);
+        assertThat(nodeA.call("b", ClusterCommandDto.of("double", 5L, null)).asLong()).isEqualTo(10);
+        assertThat(broker.getActiveMQServer().getTotalConnectionCount()).isEqualTo(connections);
+    }
+
+    private static ClusterBus bus(String nodeId, int port) {
+        return new ClusterBus(new RoomOwnership(nodeId, "a,b"), new ObjectMapper(), new ExecutorSubscribableChannel(),
+                "relay", "localhost", port, "guest", "guest", "", 2000, 2, HEARTBEAT_MS);
+    }
+
+    // 두 노드가 브로커에 붙고 구독을 마칠 때까지 재시도
+    private JsonNode callWhenConnected(ClusterCommandDto command) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (true) {
+            try {
+                return nodeA.call("b", command);
+            } catch (IllegalStateException e) {
+                if (System.currentTimeMillis() > deadline) throw e;
+                Thread.sleep(100);
+            }
+        }
+    }
+}
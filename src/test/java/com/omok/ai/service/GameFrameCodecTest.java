@@ -0,0 +1,129 @@
+package com.omok.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omok.ai.dto.GameDeltaDto;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameFrameCodecTest {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void decodesClientFrames() {
+        // roomId 300은 두 바이트 varint (0xAC 0x02)
+        GameFrameCodec.ClientFrame join = GameFrameCodec.decode(HEX.parseHex("01ac02"));
+        assertThat(join.type()).isEqualTo(GameFrameCodec.JOIN);
+        assertThat(join.roomId()).isEqualTo(300);
+
+        GameFrameCodec.ClientFrame move = GameFrameCodec.decode(HEX.parseHex("02070e"));
+        assertThat(move.type()).isEqualTo(GameFrameCodec.MOVE);
+        assertThat(move.row()).isEqualTo(7);
+        assertThat(move.col()).isEqualTo(14);
+
+        GameFrameCodec.ClientFrame sync = GameFrameCodec.decode(HEX.parseHex("05c801" + "ff3206ed4b5c5c8c"));
+        assertThat(sync.type()).isEqualTo(GameFrameCodec.SYNC);
+        assertThat(sync.seq()).isEqualTo(200);
+        assertThat(sync.hash()).isEqualTo(GameFrameCodec.parseHash("ff3206ed4b5c5c8c"));
+
+        assertThat(GameFrameCodec.decode(new byte[] {GameFrameCodec.NUDGE}).type()).isEqualTo(GameFrameCodec.NUDGE);
+        assertThat(GameFrameCodec.decode(withType(GameFrameCodec.VOICE, "빨리 두세요")).text()).isEqualTo("빨리 두세요");
+        assertThat(GameFrameCodec.decode(withType(GameFrameCodec.STATUS, "PLAYING")).text()).isEqualTo("PLAYING");
+    }
+
+    @Test
+    void encodesMoveEvents() {
+        assertThat(encode("{\"type\":\"move\",\"seq\":1,\"row\":7,\"col\":7,\"player\":\"b\",\"turn\":\"w\","
+                + "\"hash\":\"003206ed4b5c5c8c\"}"))
+                .isEqualTo("8101070702003206ed4b5c5c8c");
+        // 흑 승리: flags = 다음 차례 백(0x02) | 종료(0x04) | 승자 흑(1 << 4)
+        assertThat(encode("{\"type\":\"move\",\"seq\":9,\"row\":7,\"col\":11,\"player\":\"b\",\"turn\":\"w\","
+                + "\"isGameOver\":true,\"winner\":\"b\",\"hash\":\"125e2db36cd058b6\"}"))
+                .isEqualTo("8109070b16125e2db36cd058b6");
+    }
+
+    @Test
+    void encodesRejectAndMessageEvents() {
+        assertThat(encode("{\"type\":\"reject\",\"seq\":3,\"turn\":\"w\",\"hash\":\"0a5588532509905e\","
+                + "\"message\":\"Not your turn\"}"))
+                .isEqualTo("82040a" + "0a5588532509905e" + HEX.formatHex("Not your turn".getBytes(StandardCharsets.UTF_8)));
+        // 아직 수가 없으면 seq 0, 해시 없음 플래그
+        assertThat(encode("{\"type\":\"reject\",\"turn\":\"b\",\"message\":\"x\"}"))
+                .isEqualTo("820000" + "0000000000000000" + "78");
+
+        byte[] from = "상대".getBytes(StandardCharsets.UTF_8);
+        assertThat(encode("{\"type\":\"message\",\"kind\":\"voice\",\"from\":\"상대\",\"message\":\"hi\"}"))
+                .isEqualTo("8302" + String.format("%02x", from.length) + HEX.formatHex(from) + "6869");
+    }
+
+    @Test
+    void encodesDeltaDtosLikeTheirJson() throws JsonProcessingException {
+        // 보내는 쪽에서 DTO로 바로 만든 프레임은 같은 메시지를 JSON으로 읽어 만든 프레임과 같아야 함
+        GameDeltaDto[] deltas = {
+                GameDeltaDto.move(9, "125e2db36cd058b6", 7, 11, "b", "w", true, "b"),
+                GameDeltaDto.move(2, "003206ed4b5c5c8c", 0, 14, "w", "b", false, null),
+                GameDeltaDto.reject(3, "0a5588532509905e", "w", "Not your turn"),
+                GameDeltaDto.reject(null, null, "b", "x"),
+                GameDeltaDto.message("voice", "상대", "hi"),
+                GameDeltaDto.message("nudge", "상대", "빨리 두세요"),
+        };
+        for (GameDeltaDto delta : deltas) {
+            assertThat(HEX.formatHex(GameFrameCodec.encodeDelta(delta)))
+                    .isEqualTo(encode(objectMapper.writeValueAsString(delta)));
+        }
+    }
+
+    @Test
+    void otherEventsAreSentAsState() {
+        byte[] json = "{\"status\":\"CLOSED\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] frame = GameFrameCodec.encodeEvent(objectMapper.createObjectNode().put("status", "CLOSED"), json);
+
+        assertThat(frame[0] & 0xFF).isEqualTo(GameFrameCodec.EVENT_STATE);
+        assertThat(Arrays.copyOfRange(frame, 1, frame.length)).isEqualTo(json);
+        assertThat(HEX.formatHex(GameFrameCodec.synced(300))).isEqualTo("85ac02");
+        assertThat(HEX.formatHex(GameFrameCodec.error("no"))).isEqualTo("8f6e6f");
+    }
+
+    @Test
+    void rejectsEmptyTruncatedAndMalformedFrames() {
+        assertThatThrownBy(() -> GameFrameCodec.decode(new byte[0]))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Empty frame");
+        assertThatThrownBy(() -> GameFrameCodec.decode(HEX.parseHex("0207")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Truncated frame");
+        assertThatThrownBy(() -> GameFrameCodec.decode(HEX.parseHex("05c801ff3206")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Truncated frame");
+        // 끝나지 않는 varint
+        assertThatThrownBy(() -> GameFrameCodec.decode(HEX.parseHex("01ff")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Truncated frame");
+        assertThatThrownBy(() -> GameFrameCodec.decode(HEX.parseHex("01" + "ff".repeat(10))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Malformed varint");
+        assertThatThrownBy(() -> GameFrameCodec.decode(HEX.parseHex("7f")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Unknown frame type 127");
+    }
+
+    private String encode(String json) {
+        try {
+            JsonNode event = objectMapper.readTree(json);
+            return HEX.formatHex(GameFrameCodec.encodeEvent(event, json.getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] withType(int type, String text) {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[body.length + 1];
+        frame[0] = (byte) type;
+        System.arraycopy(body, 0, frame, 1, body.length);
+        return frame;
+    }
+}
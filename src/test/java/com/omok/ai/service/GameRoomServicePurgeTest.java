@@ -0,0 +1,83 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.entity.User;
+import com.omok.ai.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class GameRoomServicePurgeTest {
+
+    @Autowired
+    private GameRoomService gameRoomService;
+    @Autowired
+    private LiveRoomRegistry liveRoomRegistry;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    @Qualifier("brokerChannel")
+    private AbstractSubscribableChannel brokerChannel;
+
+    private final List<String> gameTopicPayloads = new CopyOnWriteArrayList<>();
+    private final ChannelInterceptor capture = new ChannelInterceptor() {
+        @Override
+        public Message<?> preSend(Message<?> message, MessageChannel channel) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (destination != null && destination.startsWith("/topic/game/") && message.getPayload() instanceof byte[] body) {
+                gameTopicPayloads.add(destination + " " + new String(body, StandardCharsets.UTF_8));
+            }
+            return message;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        brokerChannel.removeInterceptor(capture);
+    }
+
+    @Test
+    void purgedPlayingRoomIsClosedAndNotified() {
+        User host = newUser("purge-host");
+        User guest = newUser("purge-guest");
+        Long roomId = gameRoomService.createRoom(host.getId()).getId();
+        gameRoomService.joinRoom(roomId, guest.getId());
+        gameRoomService.makeMove(roomId, 7, 7, host.getId());
+        assertThat(liveRoomRegistry.find(roomId)).isNotNull();
+        brokerChannel.addInterceptor(capture);
+
+        int deleted = gameRoomService.purgeRooms(List.of(roomId), GameRoom.RoomStatus.PLAYING);
+
+        assertThat(deleted).isEqualTo(1);
+        // 커밋 뒤 방 잠금 안에서 메모리 방을 내리므로 이후 수는 DB에서 방을 찾지 못함
+        assertThat(liveRoomRegistry.find(roomId)).isNull();
+        assertThatThrownBy(() -> gameRoomService.makeMove(roomId, 7, 8, guest.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(gameTopicPayloads).anySatisfy(payload -> assertThat(payload)
+                .startsWith("/topic/game/" + roomId + " ")
+                .contains("\"status\":\"CLOSED\""));
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setName(name + "-" + System.nanoTime());
+        return userRepository.save(user);
+    }
+}
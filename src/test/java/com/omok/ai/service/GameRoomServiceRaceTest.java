@@ -0,0 +1,132 @@
+package com.omok.ai.service;
+
+import com.omok.ai.dto.GameMoveDto;
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.entity.User;
+import com.omok.ai.repository.GameRoomRepository;
+import com.omok.ai.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 방에 입장과 수 두기가 동시에 몰릴 때 상태가 어긋나지 않는지 확인 (방 잠금 + write-behind)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class GameRoomServiceRaceTest {
+
+    private static final int GUESTS = 6;
+    private static final int MOVERS = 12;
+    private static final int MOVES_PER_MOVER = 60;
+
+    @Autowired
+    private GameRoomService gameRoomService;
+    @Autowired
+    private GameRoomRepository gameRoomRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(GUESTS + MOVERS);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentJoinsAndMovesStayConsistent() throws Exception {
+        for (int round = 0; round < 4; round++) {
+            raceOneRoom(round);
+        }
+    }
+
+    private void raceOneRoom(int round) throws Exception {
+        User host = newUser("host-" + round);
+        List<Long> guestIds = new ArrayList<>();
+        for (int i = 0; i < GUESTS; i++) {
+            guestIds.add(newUser("guest-" + round + "-" + i).getId());
+        }
+        Long roomId = gameRoomService.createRoom(host.getId()).getId();
+
+        AtomicInteger joins = new AtomicInteger();
+        AtomicLong joinedGuest = new AtomicLong();
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+
+        // 입장 경쟁과 동시에 호스트/후보 게스트 모두 수를 보냄 (입장 전 수와 차례가 아닌 수는 거부되어야 함)
+        for (Long guestId : guestIds) {
+            tasks.add(pool.submit(() -> {
+                start.await();
+                try {
+                    gameRoomService.joinRoom(roomId, guestId);
+                    joins.incrementAndGet();
+                    joinedGuest.set(guestId);
+                } catch (RuntimeException e) {
+                    // 이미 다른 게스트가 입장함
+                }
+                return null;
+            }));
+        }
+        for (int t = 0; t < MOVERS; t++) {
+            Random random = new Random(round * 100L + t);
+            tasks.add(pool.submit(() -> {
+                start.await();
+                for (int k = 0; k < MOVES_PER_MOVER; k++) {
+                    Long userId = random.nextBoolean() ? host.getId() : guestIds.get(random.nextInt(GUESTS));
+                    try {
+                        gameRoomService.makeMove(roomId, random.nextInt(15), random.nextInt(15), userId);
+                        accepted.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // 차례가 아님, 이미 둔 칸, 진행 중이 아님
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+
+        assertThat(joins.get()).as("exactly one guest joins").isEqualTo(1);
+        GameRoom room = gameRoomRepository.findById(roomId).orElseThrow();
+        assertThat(room.getGuest().getId()).isEqualTo(joinedGuest.get());
+
+        // 메모리 상태, 기록된 착수, 받아들여진 수가 모두 일치해야 함 (getMoves는 남은 변경을 먼저 기록)
+        List<GameMoveDto> moves = gameRoomService.getMoves(roomId);
+        assertThat(gameRoomService.getGameState(roomId).getSeq()).isEqualTo(accepted.get());
+        assertThat(moves).hasSize(accepted.get());
+
+        Set<Integer> cells = new HashSet<>();
+        for (int i = 0; i < moves.size(); i++) {
+            GameMoveDto move = moves.get(i);
+            assertThat(move.getSeq()).as("seq without gaps").isEqualTo(i + 1);
+            assertThat(move.getPlayer()).as("players alternate").isEqualTo(i % 2 == 0 ? "b" : "w");
+            assertThat(cells.add(move.getRow() * 15 + move.getCol())).as("no cell played twice").isTrue();
+        }
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setName(name + "-" + System.nanoTime());
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,92 @@
+package com.omok.ai.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedWheelTimerTest {
+
+    private static final long TICK_MS = 10;
+
+    // 4칸 * 10ms: 40ms보다 긴 예약은 휠을 여러 바퀴 돈 뒤 실행되어야 함 (작업 스레드 하나: 만료 순서대로 실행)
+    private final HashedWheelTimer timer = new HashedWheelTimer(TICK_MS, 4, 1);
+
+    @AfterEach
+    void stop() {
+        timer.stop();
+    }
+
+    @Test
+    void runsTaskNoEarlierThanItsDelay() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        long[] ranAfter = new long[1];
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(() -> {
+            ranAfter[0] = System.nanoTime() - start;
+            done.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ranAfter[0]).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    void delaysLongerThanOneRotationWaitForTheirRound() throws InterruptedException {
+        // 15/55/95ms는 모두 같은 칸(1)에 들어가고 남은 바퀴 수만 0/1/2로 다름
+        List<Long> order = new CopyOnWriteArrayList<>();
+        Map<Long, Long> ranAfter = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        for (long delay : new long[] {95, 15, 55}) {
+            timer.schedule(() -> {
+                ranAfter.put(delay, System.nanoTime() - start);
+                order.add(delay);
+                done.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(15L, 55L, 95L);
+        ranAfter.forEach((delay, elapsed) ->
+                assertThat(elapsed).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(delay)));
+    }
+
+    @Test
+    void cancelledTaskNeverRuns() throws InterruptedException {
+        CountDownLatch cancelledRan = new CountDownLatch(1);
+        CountDownLatch laterRan = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(cancelledRan::countDown, 30, TimeUnit.MILLISECONDS);
+        timer.schedule(laterRan::countDown, 80, TimeUnit.MILLISECONDS);
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+
+        // 취소된 작업보다 늦은 작업이 실행된 뒤에도 취소된 작업은 실행되지 않음
+        assertThat(laterRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledRan.getCount()).isEqualTo(1);
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(timeout.isExpired()).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidConfigurationAndStoppedTimer() {
+        assertThatThrownBy(() -> new HashedWheelTimer(0, 4, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HashedWheelTimer(TICK_MS, 6, 1)).isInstanceOf(IllegalArgumentException.class);
+
+        timer.stop();
+        assertThatThrownBy(() -> timer.schedule(() -> { }, 1, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
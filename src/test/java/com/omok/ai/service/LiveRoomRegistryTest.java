@@ -0,0 +1,89 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameRoom;
+import com.omok.ai.entity.OmokGameData;
+import com.omok.ai.entity.User;
+import com.omok.ai.repository.GameRoomRepository;
+import com.omok.ai.repository.OmokGameDataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LiveRoomRegistryTest {
+
+    private static final long ROOM_ID = 1L;
+
+    private final GameRoomRepository gameRoomRepository = mock(GameRoomRepository.class);
+    private final OmokGameDataRepository omokGameDataRepository = mock(OmokGameDataRepository.class);
+    private final MoveLogService moveLogService = mock(MoveLogService.class);
+    private LiveRoomRegistry registry;
+    private GameRoom room;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        registry = new LiveRoomRegistry(gameRoomRepository, omokGameDataRepository, mock(OmokGameService.class),
+                moveLogService, mock(GameStateCache.class), transactionManager);
+
+        User host = new User();
+        host.setId(10L);
+        host.setName("host");
+        User guest = new User();
+        guest.setId(20L);
+        guest.setName("guest");
+        room = new GameRoom();
+        room.setId(ROOM_ID);
+        room.setHost(host);
+        room.setGuest(guest);
+        room.setStatus(GameRoom.RoomStatus.PLAYING);
+        OmokGameData omokData = new OmokGameData(room, null, "b");
+        omokData.setMoveCount(0);
+        when(gameRoomRepository.findById(ROOM_ID)).thenReturn(Optional.of(room));
+        when(omokGameDataRepository.findByRoom(room)).thenReturn(Optional.of(omokData));
+        when(omokGameDataRepository.findByRoomId(ROOM_ID)).thenReturn(Optional.of(omokData));
+        when(moveLogService.loadBoard(omokData)).thenReturn(new int[15][15]);
+    }
+
+    @Test
+    void failedFlushPropagatesAndKeepsRoomLive() {
+        LiveRoom live = playOneMove();
+        when(omokGameDataRepository.findByRoomId(ROOM_ID))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> registry.flushAndEvict(ROOM_ID))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        // 기록하지 못한 수는 메모리에 남아 다음 flush에서 다시 시도
+        assertThat(registry.find(ROOM_ID)).isSameAs(live);
+        assertThat(live.hasPendingChanges()).isTrue();
+    }
+
+    @Test
+    void successfulFlushEvicts() {
+        playOneMove();
+
+        registry.flushAndEvict(ROOM_ID);
+
+        assertThat(registry.find(ROOM_ID)).isNull();
+    }
+
+    private LiveRoom playOneMove() {
+        LiveRoom live = registry.getOrLoad(ROOM_ID);
+        synchronized (live) {
+            live.applyMove(7, 7, 1, "w");
+        }
+        registry.markDirty(live);
+        return live;
+    }
+}
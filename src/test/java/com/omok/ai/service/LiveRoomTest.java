@@ -0,0 +1,27 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameRoom;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveRoomTest {
+
+    @Test
+    void incrementalHashMatchesFullHash() {
+        int[][] board = new int[15][15];
+        board[7][7] = 1;
+        board[7][8] = 2;
+        LiveRoom live = new LiveRoom(1L, 10L, "host", 20L, "guest", LocalDateTime.now(),
+                GameRoom.RoomStatus.PLAYING, 1, board, "b", null, 2);
+        assertThat(live.getHash()).isEqualTo(Zobrist.hash(board));
+
+        live.applyMove(8, 8, 1, "w");
+        live.applyMove(6, 6, 2, "b");
+        live.applyMove(0, 14, 1, "w");
+
+        assertThat(live.getHash()).isEqualTo(Zobrist.hash(live.copyBoard()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.omok.ai.service;
+
+import com.omok.ai.entity.GameHistory;
+import com.omok.ai.repository.GameHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchmakingServiceTest {
+
+    private static final long WIDEN_AFTER_MS = 10_000;
+
+    private final GameHistoryRepository gameHistoryRepository = mock(GameHistoryRepository.class);
+    // 구간 폭 100점 (기본 1000점 = 10구간, 순승리 1판마다 20점)
+    private final MatchmakingService matchmaking = new MatchmakingService(mock(GameRoomService.class),
+            gameHistoryRepository, mock(SimpMessagingTemplate.class), mock(SimpUserRegistry.class),
+            100, WIDEN_AFTER_MS, 500);
+
+    @Test
+    void pairsSameTierImmediatelyInArrivalOrder() {
+        enqueue(2L, 0);   // 1000점
+        enqueue(1L, 2);   // 1040점, 같은 구간
+        long now = System.currentTimeMillis();
+
+        List<MatchmakingService.Ticket[]> pairs = matchmaking.takePairs(now);
+
+        assertThat(pairs).hasSize(1);
+        assertThat(pairs.get(0)[0].userId()).isEqualTo(2L); // 먼저 온 쪽이 방장
+        assertThat(pairs.get(0)[1].userId()).isEqualTo(1L);
+        assertThat(matchmaking.getWaitingCount()).isZero();
+    }
+
+    @Test
+    void widensTierGapWithWaitingTime() {
+        enqueue(1L, 0);   // 10구간
+        enqueue(2L, 15);  // 1300점, 13구간
+        long now = System.currentTimeMillis();
+
+        assertThat(matchmaking.takePairs(now)).isEmpty();
+        assertThat(matchmaking.takePairs(now + 2 * WIDEN_AFTER_MS)).isEmpty();
+        assertThat(matchmaking.getWaitingCount()).isEqualTo(2);
+
+        // widen-after-ms마다 한 구간: 세 번 지나면 3구간 차이까지 허용
+        List<MatchmakingService.Ticket[]> pairs = matchmaking.takePairs(now + 3 * WIDEN_AFTER_MS);
+        assertThat(pairs).hasSize(1);
+        assertThat(pairs.get(0)).extracting(MatchmakingService.Ticket::userId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void pairsNeighboursAndLeavesOddOneWaiting() {
+        enqueue(1L, 0);   // 10구간
+        enqueue(2L, 50);  // 2000점, 20구간
+        enqueue(3L, 1);   // 10구간
+        long now = System.currentTimeMillis();
+
+        List<MatchmakingService.Ticket[]> pairs = matchmaking.takePairs(now);
+
+        assertThat(pairs).hasSize(1);
+        assertThat(pairs.get(0)).extracting(MatchmakingService.Ticket::userId).containsExactly(1L, 3L);
+        assertThat(matchmaking.getWaitingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueueIsIdempotentAndCancelRemovesTicket() {
+        assertThat(enqueue(1L, 5)).isEqualTo(1100);
+        assertThat(enqueue(1L, 5)).isEqualTo(1100);
+        assertThat(matchmaking.getWaitingCount()).isEqualTo(1);
+
+        assertThat(matchmaking.cancel(1L)).isTrue();
+        assertThat(matchmaking.cancel(1L)).isFalse();
+        enqueue(2L, 0);
+        assertThat(matchmaking.takePairs(System.currentTimeMillis())).isEmpty();
+    }
+
+    @Test
+    void stopsAtBatchSize() {
+        MatchmakingService small = new MatchmakingService(mock(GameRoomService.class), gameHistoryRepository,
+                mock(SimpMessagingTemplate.class), mock(SimpUserRegistry.class), 100, WIDEN_AFTER_MS, 1);
+        for (long userId = 1; userId <= 4; userId++) {
+            rating(userId, 0);
+            small.enqueue(userId);
+        }
+
+        assertThat(small.takePairs(System.currentTimeMillis())).hasSize(1);
+        assertThat(small.getWaitingCount()).isEqualTo(2);
+    }
+
+    private int enqueue(Long userId, long netWins) {
+        rating(userId, netWins);
+        return matchmaking.enqueue(userId);
+    }
+
+    private void rating(Long userId, long netWins) {
+        when(gameHistoryRepository.countResultsByUserId(eq(userId), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {GameHistory.GameResult.WIN, netWins}));
+    }
+}
@@ -0,0 +1,62 @@
+package com.omok.ai.service;
+
+import com.omok.ai.metrics.AISearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OmokAIServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void forcedWinIsRecordedAndReusedForMirroredPosition() {
+        SolvedPositionStore store = new SolvedPositionStore(true, dir.resolve("solved.bin").toString(), 1024);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OmokAIService aiService = newService(store, registry);
+
+        int[] move = aiService.getNextMove(openThree(false), 1, 3);
+
+        // 열린 4를 만들면 백이 어느 수를 두든 (잘린 후보 포함) 다음 수에 5목이므로 증명된 승리
+        assertThat(move[0]).isEqualTo(7);
+        assertThat(move[1]).isIn(5, 9);
+        assertThat(store.size()).isEqualTo(1);
+
+        int[] reused = aiService.getNextMove(openThree(true), 1, 3);
+
+        assertThat(reused[0]).isEqualTo(7);
+        assertThat(reused[1]).isIn(5, 9);
+        assertThat(registry.get("omok.ai.cache.hits").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void heuristicScoreIsNotRecordedAsSolved() {
+        SolvedPositionStore store = new SolvedPositionStore(true, dir.resolve("solved.bin").toString(), 1024);
+        OmokAIService aiService = newService(store, new SimpleMeterRegistry());
+
+        // 깊이 2 탐색에서는 5목까지 닿지 않아 평가 점수만 나오므로 기록하지 않음
+        aiService.getNextMove(openThree(false), 1, 2);
+
+        assertThat(store.size()).isZero();
+    }
+
+    private static int[][] openThree(boolean mirrored) {
+        int[][] board = new int[15][15];
+        // 흑 열린 3, 백은 위협 없이 흩어 둠
+        int[][] black = {{7, 6}, {7, 7}, {7, 8}};
+        int[][] white = {{5, 3}, {9, 11}, {4, 10}};
+        for (int[] cell : black) board[cell[0]][mirrored ? 14 - cell[1] : cell[1]] = 1;
+        for (int[] cell : white) board[cell[0]][mirrored ? 14 - cell[1] : cell[1]] = 2;
+        return board;
+    }
+
+    private static OmokAIService newService(SolvedPositionStore store, SimpleMeterRegistry registry) {
+        return new OmokAIService(new AISearchMetrics(registry),
+                new AILoadGovernor(registry, Integer.MAX_VALUE, Integer.MAX_VALUE, 10_000), store, false);
+    }
+}
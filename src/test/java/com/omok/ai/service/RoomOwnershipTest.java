@@ -0,0 +1,78 @@
+package com.omok.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomOwnershipTest {
+
+    @Test
+    void everyNodeComputesTheSameOwner() {
+        RoomOwnership a = new RoomOwnership("a", "a,b,c");
+        RoomOwnership b = new RoomOwnership("b", "c, b ,a");
+        RoomOwnership c = new RoomOwnership("c", "a,b,c");
+
+        for (long roomId = 1; roomId <= 1000; roomId++) {
+            String owner = a.ownerOf(roomId);
+            assertThat(b.ownerOf(roomId)).isEqualTo(owner);
+            assertThat(c.ownerOf(roomId)).isEqualTo(owner);
+            assertThat(a.ownerOf(roomId)).isEqualTo(owner);
+            // 정확히 한 노드만 로컬로 봄
+            int local = (a.isLocal(roomId) ? 1 : 0) + (b.isLocal(roomId) ? 1 : 0) + (c.isLocal(roomId) ? 1 : 0);
+            assertThat(local).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void spreadsRoomsAcrossNodes() {
+        RoomOwnership ownership = new RoomOwnership("a", "a,b,c");
+        Map<String, Integer> counts = new HashMap<>();
+        for (long roomId = 1; roomId <= 3000; roomId++) {
+            counts.merge(ownership.ownerOf(roomId), 1, Integer::sum);
+        }
+        assertThat(counts).containsOnlyKeys("a", "b", "c");
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(800, 1200));
+    }
+
+    @Test
+    void addingANodeMovesOnlyRoomsToTheNewNode() {
+        RoomOwnership before = new RoomOwnership("a", "a,b,c");
+        RoomOwnership after = new RoomOwnership("a", "a,b,c,d");
+        for (long roomId = 1; roomId <= 1000; roomId++) {
+            String owner = after.ownerOf(roomId);
+            if (!owner.equals("d")) {
+                assertThat(owner).isEqualTo(before.ownerOf(roomId));
+            }
+        }
+    }
+
+    @Test
+    void coordinatorIsFirstListedNode() {
+        RoomOwnership a = new RoomOwnership("a", "a,b");
+        RoomOwnership b = new RoomOwnership("b", "a,b");
+        assertThat(a.getCoordinator()).isEqualTo("a");
+        assertThat(b.getCoordinator()).isEqualTo("a");
+        assertThat(a.isCoordinator()).isTrue();
+        assertThat(b.isCoordinator()).isFalse();
+    }
+
+    @Test
+    void singleNodeOwnsEverything() {
+        RoomOwnership single = new RoomOwnership("", "");
+        assertThat(single.isClustered()).isFalse();
+        assertThat(single.getNodeId()).isEqualTo("local");
+        assertThat(single.ownerOf(42L)).isEqualTo("local");
+        assertThat(single.isLocal(42L)).isTrue();
+        assertThat(single.isCoordinator()).isTrue();
+    }
+
+    @Test
+    void rejectsUnlistedNodeId() {
+        assertThatThrownBy(() -> new RoomOwnership("x", "a,b"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
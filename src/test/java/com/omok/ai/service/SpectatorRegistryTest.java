@@ -0,0 +1,55 @@
+package com.omok.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpectatorRegistryTest {
+
+    private static final long ROOM = 1L;
+
+    private final SpectatorRegistry registry = new SpectatorRegistry(2);
+
+    @Test
+    void capsSpectatorsPerRoom() {
+        assertThat(registry.subscribe("s1", "sub-0", ROOM)).isTrue();
+        assertThat(registry.subscribe("s2", "sub-0", ROOM)).isTrue();
+        assertThat(registry.subscribe("s3", "sub-0", ROOM)).isFalse();
+        assertThat(registry.getSpectatorCount(ROOM)).isEqualTo(2);
+
+        // 다른 방은 따로 셈
+        assertThat(registry.subscribe("s3", "sub-0", 2L)).isTrue();
+    }
+
+    @Test
+    void unsubscribeFreesSlot() {
+        registry.subscribe("s1", "sub-0", ROOM);
+        registry.subscribe("s2", "sub-0", ROOM);
+
+        registry.unsubscribe("s1", "sub-0");
+        registry.unsubscribe("s1", "sub-0"); // 두 번 해제해도 한 번만 줄어듦
+        assertThat(registry.getSpectatorCount(ROOM)).isEqualTo(1);
+        assertThat(registry.subscribe("s3", "sub-0", ROOM)).isTrue();
+    }
+
+    @Test
+    void resubscribingSameIdDoesNotCountTwice() {
+        registry.subscribe("s1", "sub-0", ROOM);
+        registry.subscribe("s1", "sub-0", ROOM);
+
+        assertThat(registry.getSpectatorCount(ROOM)).isEqualTo(1);
+    }
+
+    @Test
+    void removeSessionReleasesAllItsSubscriptions() {
+        registry.subscribe("s1", "sub-0", ROOM);
+        registry.subscribe("s1", "sub-1", 2L);
+        assertThat(registry.hasSpectators(ROOM)).isTrue();
+
+        registry.removeSession("s1");
+
+        assertThat(registry.hasSpectators(ROOM)).isFalse();
+        assertThat(registry.hasSpectators(2L)).isFalse();
+        assertThat(registry.getSpectatorCount(ROOM)).isZero();
+    }
+}
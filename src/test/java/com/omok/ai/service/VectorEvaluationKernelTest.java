@@ -0,0 +1,40 @@
+package com.omok.ai.service;
+
+import com.omok.ai.metrics.AISearchMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 벡터 커널과 스칼라 경로의 점수 일치 확인 (mvn -Pvector test에서만 실행, 기본 빌드에는 커널이 없어 건너뜀)
+ */
+class VectorEvaluationKernelTest {
+
+    @Test
+    void matchesScalarOnRandomBoards() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OmokAIService aiService = new OmokAIService(new AISearchMetrics(registry),
+                new AILoadGovernor(registry, Integer.MAX_VALUE, Integer.MAX_VALUE, 10_000),
+                SolvedPositionStore.disabled(), false);
+        EvaluationKernel kernel = aiService.loadVectorKernel();
+        assumeTrue(kernel != null, "vector kernel not built (-Pvector) or jdk.incubator.vector not added");
+
+        Random boards = new Random(20240101L);
+        for (int n = 0; n < 200; n++) {
+            int[][] board = new int[15][15];
+            int stones = boards.nextInt(15 * 15);
+            for (int k = 0; k < stones; k++) {
+                board[boards.nextInt(15)][boards.nextInt(15)] = 1 + boards.nextInt(2);
+            }
+            for (int player = 1; player <= 2; player++) {
+                assertThat(kernel.evaluateDirections(board, player))
+                        .as("board %d, player %d", n, player)
+                        .isEqualTo(aiService.evaluateDirections(board, player));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.omok.ai.service;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * JDK Vector API(jdk.incubator.vector) 기반 평가 커널
+ *
+ * 보드를 오른쪽 4칸, 위아래 4줄의 '막힌 칸'으로 둘러싼 1차원 배열로 펼치면, 한 방향의 5칸 창에서
+ * k번째 칸은 시작 칸 + k * delta 위치가 된다. 따라서 연속된 시작 칸들의 창을 gather 없이
+ * 연속 로드 5번으로 레인 수만큼 한 번에 채점할 수 있다. 보드 밖으로 나가는 창은 막힌 칸을
+ * 포함하므로 0점이 되어 스칼라 경로와 정수 합이 비트 단위로 같다.
+ * (JVM 실행 시 --add-modules jdk.incubator.vector 필요)
+ */
+final class VectorEvaluationKernel implements EvaluationKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int BOARD_SIZE = 15;
+    private static final int PAD = 4;
+    private static final int STRIDE = BOARD_SIZE + PAD;
+    private static final int ROWS = BOARD_SIZE + PAD * 2;
+    private static final int BLOCKED = 3;
+
+    // 가로, 세로, 대각선 \, 대각선 /
+    private static final int[] DELTAS = {1, STRIDE, STRIDE + 1, -STRIDE + 1};
+    private static final int FIRST_START = PAD * STRIDE;
+    private static final int START_BOUND = FIRST_START + SPECIES.loopBound(BOARD_SIZE * STRIDE + SPECIES.length() - 1);
+    private static final int LENGTH = Math.max(ROWS * STRIDE, START_BOUND + PAD * (STRIDE + 1)) + SPECIES.length();
+
+    private final int[] scoreByCount;
+    private final ThreadLocal<int[]> cellsBuffer = ThreadLocal.withInitial(() -> {
+        int[] cells = new int[LENGTH];
+        java.util.Arrays.fill(cells, BLOCKED);
+        return cells;
+    });
+
+    /**
+     * @param scoreByCount 상대 돌이 없는 창에서 내 돌 개수(0~5)별 점수
+     */
+    VectorEvaluationKernel(int[] scoreByCount) {
+        this.scoreByCount = scoreByCount.clone();
+    }
+
+    @Override
+    public int evaluateDirections(int[][] board, int player) {
+        // 막힌 칸(패딩)은 초기화 이후 바뀌지 않으므로 보드 영역만 덮어씀
+        int[] cells = cellsBuffer.get();
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            System.arraycopy(board[i], 0, cells, (i + PAD) * STRIDE, BOARD_SIZE);
+        }
+
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+        IntVector base = IntVector.broadcast(SPECIES, scoreByCount[0]);
+        IntVector total = IntVector.zero(SPECIES);
+        for (int delta : DELTAS) {
+            for (int start = FIRST_START; start < START_BOUND; start += SPECIES.length()) {
+                IntVector count = IntVector.zero(SPECIES);
+                VectorMask<Integer> blocked = SPECIES.maskAll(false);
+                for (int k = 0; k < 5; k++) {
+                    IntVector v = IntVector.fromArray(SPECIES, cells, start + k * delta);
+                    VectorMask<Integer> mine = v.eq(player);
+                    count = count.add(one, mine);
+                    blocked = blocked.or(mine.not().and(v.eq(0).not()));
+                }
+                IntVector score = base;
+                for (int c = 1; c <= 5; c++) {
+                    score = score.blend(scoreByCount[c], count.eq(c));
+                }
+                total = total.add(score.blend(0, blocked));
+            }
+        }
+        return total.reduceLanes(VectorOperators.ADD);
+    }
+}